@@ -0,0 +1,68 @@
+package org.example.entity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic entity graphs for benchmarks.
+ */
+public final class EntityFixtures {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private EntityFixtures() {
+    }
+
+    /**
+     * Create baristas with ids from 0 to count - 1.
+     *
+     * @param count number of baristas.
+     * @return list of baristas without orders.
+     */
+    public static List<Barista> baristas(int count) {
+        List<Barista> baristaList = new ArrayList<>(count);
+        for (long id = 0; id < count; id++) {
+            baristaList.add(new Barista(id, "Barista " + id, new ArrayList<>(), 0.1));
+        }
+        return baristaList;
+    }
+
+    /**
+     * Create coffee's with ids from 0 to count - 1.
+     *
+     * @param count number of coffee's.
+     * @return list of coffee's without orders.
+     */
+    public static List<Coffee> coffees(int count) {
+        List<Coffee> coffeeList = new ArrayList<>(count);
+        for (long id = 0; id < count; id++) {
+            coffeeList.add(new Coffee(id, "Coffee " + id, 1.5 + id, new ArrayList<>()));
+        }
+        return coffeeList;
+    }
+
+    /**
+     * Create orders with ids from 0 to count - 1. Every second order is completed.
+     *
+     * @param count          number of orders.
+     * @param coffeePerOrder number of coffee's in every order.
+     * @return list of orders with baristas and coffee's.
+     */
+    public static List<Order> orders(int count, int coffeePerOrder) {
+        List<Barista> baristaList = baristas(Math.max(1, count / 10));
+        List<Coffee> coffeeList = coffees(Math.max(1, coffeePerOrder));
+        List<Order> orderList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime created = START.plusMinutes(i);
+            LocalDateTime completed = i % 2 == 0 ? created.plusMinutes(5) : null;
+            orderList.add(new Order(
+                    (long) i,
+                    baristaList.get(i % baristaList.size()),
+                    coffeeList.subList(0, coffeePerOrder),
+                    created,
+                    completed,
+                    10.0 + i));
+        }
+        return orderList;
+    }
+}
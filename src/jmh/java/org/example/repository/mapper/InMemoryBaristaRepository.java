@@ -0,0 +1,81 @@
+package org.example.repository.mapper;
+
+import org.example.entity.Barista;
+import org.example.service.gateway.BaristaRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only barista repository over prepared baristas, used to resolve order's baristas in benchmarks.
+ */
+public class InMemoryBaristaRepository implements BaristaRepository {
+    private final Map<Long, Barista> baristaMap;
+
+    public InMemoryBaristaRepository(List<Barista> baristaList) {
+        this.baristaMap = baristaList.stream()
+                .collect(Collectors.toMap(Barista::getId, Function.identity()));
+    }
+
+    @Override
+    public Barista create(Barista entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Barista update(Barista entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void delete(Long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Barista> findAll() {
+        return new ArrayList<>(baristaMap.values());
+    }
+
+    @Override
+    public List<Barista> findAllByPage(int page, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Barista> findAllAfter(Long afterId, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<Barista> findById(Long id) {
+        return Optional.ofNullable(baristaMap.get(id));
+    }
+
+    @Override
+    public List<Barista> findById(List<Long> idList) {
+        List<Barista> baristaList = new ArrayList<>(idList.size());
+        for (Long id : idList) {
+            Barista barista = baristaMap.get(id);
+            if (barista != null)
+                baristaList.add(barista);
+        }
+        return baristaList;
+    }
+
+    @Override
+    public Map<Long, Barista> findExisting(List<Long> idList) {
+        Map<Long, Barista> foundMap = new HashMap<>();
+        for (Long id : idList) {
+            Barista barista = baristaMap.get(id);
+            if (barista != null)
+                foundMap.put(id, barista);
+        }
+        return foundMap;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.repository.mapper;
+
+import org.example.entity.Barista;
+import org.example.entity.Coffee;
+import org.example.entity.EntityFixtures;
+import org.example.entity.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of synthetic result sets to entities, without database round trips.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private static final List<String> BARISTA_COLUMNS = List.of("id", "full_name", "tip_size");
+    private static final List<String> COFFEE_COLUMNS = List.of("id", "name", "price");
+    private static final List<String> ORDER_COLUMNS = List.of("id", "barista", "created", "completed", "price");
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private List<Object[]> baristaRowList;
+    private List<Object[]> coffeeRowList;
+    private List<Object[]> orderRowList;
+
+    private final BaristaMapper baristaMapper = new BaristaMapper();
+    private final CoffeeMapper coffeeMapper = new CoffeeMapper();
+    private OrderMapper orderMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Barista> baristaList = EntityFixtures.baristas(Math.max(1, rows / 10));
+        orderMapper = new OrderMapper(new InMemoryBaristaRepository(baristaList));
+
+        baristaRowList = new ArrayList<>(rows);
+        coffeeRowList = new ArrayList<>(rows);
+        orderRowList = new ArrayList<>(rows);
+        for (Barista barista : EntityFixtures.baristas(rows)) {
+            baristaRowList.add(new Object[]{barista.getId(), barista.getFullName(), barista.getTipSize()});
+        }
+        for (Coffee coffee : EntityFixtures.coffees(rows)) {
+            coffeeRowList.add(new Object[]{coffee.getId(), coffee.getName(), coffee.getPrice()});
+        }
+        for (Order order : EntityFixtures.orders(rows, 0)) {
+            orderRowList.add(new Object[]{
+                    order.getId(),
+                    order.getBarista().getId(),
+                    toTimestamp(order.getCreated()),
+                    toTimestamp(order.getCompleted()),
+                    order.getPrice()});
+        }
+    }
+
+    @Benchmark
+    public List<Barista> baristaMapToList() throws SQLException {
+        return baristaMapper.mapToList(SyntheticResultSet.of(BARISTA_COLUMNS, baristaRowList));
+    }
+
+    @Benchmark
+    public List<Coffee> coffeeMapToList() throws SQLException {
+        return coffeeMapper.mapToList(SyntheticResultSet.of(COFFEE_COLUMNS, coffeeRowList));
+    }
+
+    @Benchmark
+    public List<Order> orderMapToList() throws SQLException {
+        return orderMapper.mapToList(SyntheticResultSet.of(ORDER_COLUMNS, orderRowList));
+    }
+
+    @Benchmark
+    public int orderMapInChunks() throws SQLException {
+        ResultSet resultSet = SyntheticResultSet.of(ORDER_COLUMNS, orderRowList);
+        int[] mapped = {0};
+        orderMapper.mapInChunks(resultSet, 100, chunk -> mapped[0] += chunk.size());
+        return mapped[0];
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.valueOf(dateTime);
+    }
+}
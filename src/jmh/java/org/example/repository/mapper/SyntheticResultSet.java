@@ -0,0 +1,77 @@
+package org.example.repository.mapper;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory forward-only ResultSet over prepared rows.
+ * Supports only methods that are used by mappers, so benchmarks run without database.
+ */
+public final class SyntheticResultSet {
+
+    private SyntheticResultSet() {
+    }
+
+    /**
+     * Create result set over specified rows.
+     *
+     * @param columnList names of columns, in the same order as values in every row.
+     * @param rowList    rows of values. Values are returned as is, without conversion.
+     * @return result set positioned before the first row.
+     */
+    public static ResultSet of(List<String> columnList, List<Object[]> rowList) {
+        Map<String, Integer> columnIndexMap = new HashMap<>();
+        for (int i = 0; i < columnList.size(); i++) {
+            columnIndexMap.put(columnList.get(i), i + 1);
+        }
+        int[] cursor = {-1};
+
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor[0] < rowList.size();
+                    case "beforeFirst" -> {
+                        cursor[0] = -1;
+                        yield null;
+                    }
+                    case "findColumn" -> findColumn(columnIndexMap, (String) args[0]);
+                    case "getLong" -> {
+                        Object value = value(rowList, cursor[0], columnIndexMap, args[0]);
+                        yield value == null ? 0L : ((Number) value).longValue();
+                    }
+                    case "getDouble" -> {
+                        Object value = value(rowList, cursor[0], columnIndexMap, args[0]);
+                        yield value == null ? 0.0 : ((Number) value).doubleValue();
+                    }
+                    case "getString" -> (String) value(rowList, cursor[0], columnIndexMap, args[0]);
+                    case "getTimestamp" -> (Timestamp) value(rowList, cursor[0], columnIndexMap, args[0]);
+                    case "close" -> null;
+                    case "isClosed", "wasNull" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "SyntheticResultSet" + columnList;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static int findColumn(Map<String, Integer> columnIndexMap, String column) throws SQLException {
+        Integer index = columnIndexMap.get(column);
+        if (index == null)
+            throw new SQLException("Column '" + column + "' is not found!");
+        return index;
+    }
+
+    private static Object value(List<Object[]> rowList, int cursor, Map<String, Integer> columnIndexMap, Object column)
+            throws SQLException {
+        int index = column instanceof String name
+                ? findColumn(columnIndexMap, name)
+                : (Integer) column;
+        return rowList.get(cursor)[index - 1];
+    }
+}
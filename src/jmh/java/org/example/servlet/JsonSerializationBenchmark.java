@@ -0,0 +1,65 @@
+package org.example.servlet;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.example.entity.EntityFixtures;
+import org.example.servlet.adapter.LocalDateTimeAdapter;
+import org.example.servlet.dto.OrderPublicDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Serializing of order lists: joining of per-object strings against streaming through JsonWriter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    private final Gson mapper = new GsonBuilder()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+            .create();
+    private final SimpleServlet servlet = new SimpleServlet() {
+    };
+
+    @Param({"10", "1000"})
+    public int orders;
+
+    private List<OrderPublicDTO> orderDtoList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderDtoList = EntityFixtures.orders(orders, 3).stream()
+                .map(OrderPublicDTO::new)
+                .toList();
+    }
+
+    /**
+     * Baseline: the way list responses were built before streaming,
+     * every object is serialized to its own string and then all strings are joined.
+     */
+    @Benchmark
+    public String joinedStrings() {
+        return "[" +
+                orderDtoList.stream()
+                        .map(mapper::toJson)
+                        .collect(Collectors.joining(", ")) +
+                "]";
+    }
+
+    @Benchmark
+    public Writer streamed() throws IOException {
+        StringWriter writer = new StringWriter();
+        servlet.writeJsonArray(orderDtoList.stream(), mapper, writer);
+        return writer;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.servlet;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Matching of request paths, that is done for every request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathMatchingBenchmark {
+    private static final String SPECIFIED_ORDER_REGEX = "/\\d+/?";
+    private static final String SPECIFIED_ORDER_COMPLETE_REGEX = "/\\d+/complete/?";
+    private static final Pattern SPECIFIED_ORDER_PATTERN = Pattern.compile(SPECIFIED_ORDER_REGEX);
+    private static final Pattern SPECIFIED_ORDER_COMPLETE_PATTERN = Pattern.compile(SPECIFIED_ORDER_COMPLETE_REGEX);
+    private static final PathRouter<BenchmarkRoute> ROUTER = new PathRouter<>(BenchmarkRoute.class);
+
+    private enum BenchmarkRoute implements PathRouter.Route {
+        ORDERS("/"),
+        QUEUE("/queue"),
+        ORDER("/{id}"),
+        ORDER_COMPLETE("/{id}/complete");
+
+        private final String template;
+
+        BenchmarkRoute(String template) {
+            this.template = template;
+        }
+
+        @Override
+        public String template() {
+            return template;
+        }
+    }
+
+    @Param({"/12345", "/12345/complete/", "/queue"})
+    public String pathInfo;
+
+    /**
+     * Baseline: the way servlets matched paths before the router, the pattern is compiled on every call.
+     */
+    @Benchmark
+    public boolean stringMatches() {
+        return pathInfo.matches(SPECIFIED_ORDER_REGEX)
+                || pathInfo.matches(SPECIFIED_ORDER_COMPLETE_REGEX);
+    }
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return SPECIFIED_ORDER_PATTERN.matcher(pathInfo).matches()
+                || SPECIFIED_ORDER_COMPLETE_PATTERN.matcher(pathInfo).matches();
+    }
+
+    @Benchmark
+    public PathRouter.Match<BenchmarkRoute> router() {
+        return ROUTER.match(pathInfo);
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.servlet.adapter;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing and deserializing of dates, that are written twice for every order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalDateTimeAdapterBenchmark {
+    private final LocalDateTimeAdapter adapter = new LocalDateTimeAdapter();
+    private final LocalDateTime dateTime = LocalDateTime.of(2024, 1, 1, 8, 30, 15);
+    private final JsonElement json = new JsonPrimitive("2024-01-01 08:30:15");
+
+    @Benchmark
+    public JsonElement serialize() {
+        return adapter.serialize(dateTime, LocalDateTime.class, null);
+    }
+
+    @Benchmark
+    public LocalDateTime deserialize() {
+        return adapter.deserialize(json, LocalDateTime.class, null);
+    }
+}
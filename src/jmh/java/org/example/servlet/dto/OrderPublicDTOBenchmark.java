@@ -0,0 +1,38 @@
+package org.example.servlet.dto;
+
+import org.example.entity.EntityFixtures;
+import org.example.entity.Order;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of orders to public DTO's, that is done for every order in responses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPublicDTOBenchmark {
+
+    @Param({"1", "10"})
+    public int coffeePerOrder;
+
+    private List<Order> orderList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderList = EntityFixtures.orders(1000, coffeePerOrder);
+    }
+
+    @Benchmark
+    public void construct(Blackhole blackhole) {
+        for (Order order : orderList) {
+            blackhole.consume(new OrderPublicDTO(order));
+        }
+    }
+}
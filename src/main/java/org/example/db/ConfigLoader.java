@@ -1,18 +1,24 @@
 package org.example.db;
 
+import org.example.db.exception.NoValidPropertyException;
 import org.example.db.exception.PropertyNotPresentException;
 import org.example.entity.exception.NullParamException;
 import org.example.repository.exception.DataBaseException;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Locale;
 import java.util.Properties;
 
 /**
  * Load db's properties form file in resources folder.
+ * Property from file can be overridden by system property with the same key
+ * or by environment variable with key in upper case and dots replaced by underscores,
+ * e.g. 'db.pool.maximumPoolSize' by 'DB_POOL_MAXIMUMPOOLSIZE'.
+ * System property has the highest priority, then environment variable, then file.
  */
 public class ConfigLoader {
-    private static final Properties properties = new Properties();
+    private final Properties properties = new Properties();
 
     public ConfigLoader(String path) {
         if (path == null)
@@ -28,10 +34,111 @@ public class ConfigLoader {
         }
     }
 
+    /**
+     * Get required property.
+     *
+     * @param key property key.
+     * @return property value.
+     * @throws NullParamException          when key is null.
+     * @throws PropertyNotPresentException when property is not specified.
+     */
     public String getProperty(String key) {
-        if(!properties.contains(key))
+        String value = findProperty(key);
+        if (value == null)
             throw new PropertyNotPresentException(key);
 
+        return value;
+    }
+
+    /**
+     * Get optional property.
+     *
+     * @param key          property key.
+     * @param defaultValue value returned when property is not specified.
+     * @return property value or default value.
+     * @throws NullParamException when key is null.
+     */
+    public String getProperty(String key, String defaultValue) {
+        String value = findProperty(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Get optional int property.
+     *
+     * @param key          property key.
+     * @param defaultValue value returned when property is not specified.
+     * @return property value or default value.
+     * @throws NullParamException       when key is null.
+     * @throws NoValidPropertyException when property is not integer.
+     */
+    public int getIntProperty(String key, int defaultValue) {
+        String value = findProperty(key);
+        if (value == null)
+            return defaultValue;
+
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new NoValidPropertyException(key, value);
+        }
+    }
+
+    /**
+     * Get optional long property.
+     *
+     * @param key          property key.
+     * @param defaultValue value returned when property is not specified.
+     * @return property value or default value.
+     * @throws NullParamException       when key is null.
+     * @throws NoValidPropertyException when property is not integer.
+     */
+    public long getLongProperty(String key, long defaultValue) {
+        String value = findProperty(key);
+        if (value == null)
+            return defaultValue;
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new NoValidPropertyException(key, value);
+        }
+    }
+
+    /**
+     * Get optional boolean property.
+     *
+     * @param key          property key.
+     * @param defaultValue value returned when property is not specified.
+     * @return property value or default value.
+     * @throws NullParamException       when key is null.
+     * @throws NoValidPropertyException when property is neither 'true' nor 'false'.
+     */
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = findProperty(key);
+        if (value == null)
+            return defaultValue;
+
+        String trimmed = value.trim();
+        if (trimmed.equalsIgnoreCase("true"))
+            return true;
+        if (trimmed.equalsIgnoreCase("false"))
+            return false;
+        throw new NoValidPropertyException(key, value);
+    }
+
+    private String findProperty(String key) {
+        if (key == null)
+            throw new NullParamException();
+
+        String value = System.getProperty(key);
+        if (value != null)
+            return value;
+
+        value = System.getenv(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+        if (value != null)
+            return value;
+
         return properties.getProperty(key);
     }
 }
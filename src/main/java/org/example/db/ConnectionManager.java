@@ -2,7 +2,39 @@ package org.example.db;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.function.Supplier;
 
 public interface ConnectionManager {
+    /**
+     * Get connection to db.
+     * Inside transaction returns connection bound to it, closing of such connection does nothing.
+     *
+     * @return connection to db.
+     * @throws SQLException when connection can't be obtained.
+     */
     Connection getConnection() throws SQLException;
+
+    /**
+     * Execute work as one transaction on one connection.
+     * All connections got by getConnection inside work are the same connection.
+     * Nested calls join already started transaction.
+     * Transaction is rolled back when work throws exception.
+     *
+     * @param work executed work.
+     * @param <T>  type of work result.
+     * @return result of work.
+     */
+    <T> T inTransaction(Supplier<T> work);
+
+    /**
+     * Execute work without result as one transaction on one connection.
+     *
+     * @param work executed work.
+     */
+    default void inTransaction(Runnable work) {
+        inTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
 }
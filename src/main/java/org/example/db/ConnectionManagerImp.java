@@ -2,53 +2,295 @@ package org.example.db;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import org.example.db.exception.NoValidPropertyException;
+import org.example.db.metrics.HikariPoolMetrics;
+import org.example.db.metrics.InstrumentedConnection;
+import org.example.db.metrics.MetricsExporter;
+import org.example.db.metrics.MetricsRegistry;
+import org.example.db.exception.PropertyNotPresentException;
+import org.example.entity.exception.NullParamException;
+import org.example.repository.exception.DataBaseException;
+import org.example.repository.until.BaristaSQL;
+import org.example.repository.until.CoffeeSQL;
+import org.example.repository.until.MigrationSQL;
+import org.example.repository.until.NotificationSQL;
+import org.example.repository.until.OrderCoffeeSQL;
+import org.example.repository.until.OrderSQL;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.function.Supplier;
 
 public class ConnectionManagerImp implements ConnectionManager {
+    private static final String MAXIMUM_POOL_SIZE = "db.pool.maximumPoolSize";
+    private static final String MINIMUM_IDLE = "db.pool.minimumIdle";
+    private static final String CONNECTION_TIMEOUT = "db.pool.connectionTimeout";
+    private static final String IDLE_TIMEOUT = "db.pool.idleTimeout";
+    private static final String MAX_LIFETIME = "db.pool.maxLifetime";
+    private static final String LEAK_DETECTION_THRESHOLD = "db.pool.leakDetectionThreshold";
+    private static final String PREPARE_THRESHOLD = "db.prepareThreshold";
+    private static final String STATEMENT_CACHE_QUERIES = "db.preparedStatementCacheQueries";
+    private static final String STATEMENT_CACHE_SIZE_MIB = "db.preparedStatementCacheSizeMiB";
+    private static final String REWRITE_BATCHED_INSERTS = "db.reWriteBatchedInserts";
+    private static final String ROW_FETCH_SIZE = "db.defaultRowFetchSize";
+
+    private static final int DEFAULT_MAXIMUM_POOL_SIZE = 10;
+    private static final long DEFAULT_CONNECTION_TIMEOUT = 30000;
+    private static final long DEFAULT_IDLE_TIMEOUT = 600000;
+    private static final long DEFAULT_MAX_LIFETIME = 1800000;
+    private static final long DEFAULT_LEAK_DETECTION_THRESHOLD = 0;
+    private static final int DEFAULT_PREPARE_THRESHOLD = 5;
+    private static final int DEFAULT_STATEMENT_CACHE_QUERIES = 256;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE_MIB = 5;
+    private static final boolean DEFAULT_REWRITE_BATCHED_INSERTS = false;
+    private static final int DEFAULT_ROW_FETCH_SIZE = 0;
+
     private final HikariDataSource dataSource;
+    private final MetricsRegistry metrics = createMetricsRegistry();
+    private final HikariPoolMetrics poolMetrics;
+    private final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
 
     /**
-     * Конструктор с импортом настроек из файла
+     * Конструктор с импортом настроек из файла.
+     * Not specified pool settings have default values.
+     *
+     * @param configLoader loader of db properties.
+     * @throws NullParamException          when configLoader is null.
+     * @throws PropertyNotPresentException when url, username or password is not specified.
+     * @throws NoValidPropertyException    when some pool setting has not valid value.
      */
     public ConnectionManagerImp(ConfigLoader configLoader) {
-        HikariConfig config = new HikariConfig();
+        if (configLoader == null)
+            throw new NullParamException();
 
-        config.setJdbcUrl(configLoader.getProperty("db.url"));
-        config.setUsername(configLoader.getProperty("db.username"));
-        config.setPassword(configLoader.getProperty("db.password"));
-        config.setMaximumPoolSize(10);
+        HikariConfig config = createConfig(
+                configLoader.getProperty("db.url"),
+                configLoader.getProperty("db.username"),
+                configLoader.getProperty("db.password"));
 
-        config.setConnectionTimeout(30000);
-        config.setIdleTimeout(600000);
-        config.setMaxLifetime(1800000);
-        config.setDriverClassName("org.postgresql.Driver");
+        int maximumPoolSize = configLoader.getIntProperty(MAXIMUM_POOL_SIZE, DEFAULT_MAXIMUM_POOL_SIZE);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(configLoader.getIntProperty(MINIMUM_IDLE, maximumPoolSize));
+
+        config.setConnectionTimeout(configLoader.getLongProperty(CONNECTION_TIMEOUT, DEFAULT_CONNECTION_TIMEOUT));
+        config.setIdleTimeout(configLoader.getLongProperty(IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT));
+        config.setMaxLifetime(configLoader.getLongProperty(MAX_LIFETIME, DEFAULT_MAX_LIFETIME));
+        config.setLeakDetectionThreshold(configLoader.getLongProperty(LEAK_DETECTION_THRESHOLD, DEFAULT_LEAK_DETECTION_THRESHOLD));
+
+        config.addDataSourceProperty("prepareThreshold",
+                configLoader.getIntProperty(PREPARE_THRESHOLD, DEFAULT_PREPARE_THRESHOLD));
+        config.addDataSourceProperty("preparedStatementCacheQueries",
+                configLoader.getIntProperty(STATEMENT_CACHE_QUERIES, DEFAULT_STATEMENT_CACHE_QUERIES));
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB",
+                configLoader.getIntProperty(STATEMENT_CACHE_SIZE_MIB, DEFAULT_STATEMENT_CACHE_SIZE_MIB));
+        config.addDataSourceProperty("reWriteBatchedInserts",
+                configLoader.getBooleanProperty(REWRITE_BATCHED_INSERTS, DEFAULT_REWRITE_BATCHED_INSERTS));
+        config.addDataSourceProperty("defaultRowFetchSize",
+                configLoader.getIntProperty(ROW_FETCH_SIZE, DEFAULT_ROW_FETCH_SIZE));
 
         this.dataSource = new HikariDataSource(config);
+        this.poolMetrics = new HikariPoolMetrics(dataSource.getHikariPoolMXBean());
     }
 
     /**
-     * Конструктор с заданием настроек
+     * Конструктор с заданием настроек.
+     * Pool settings have default values.
      */
     public ConnectionManagerImp(String url, String username, String password) {
+        this.dataSource = new HikariDataSource(createConfig(url, username, password));
+        this.poolMetrics = new HikariPoolMetrics(dataSource.getHikariPoolMXBean());
+    }
+
+    /**
+     * Create pool config with specified credentials and default settings.
+     */
+    private static HikariConfig createConfig(String url, String username, String password) {
         HikariConfig config = new HikariConfig();
 
         config.setJdbcUrl(url);
         config.setUsername(username);
         config.setPassword(password);
-        config.setMaximumPoolSize(10);
+        config.setMaximumPoolSize(DEFAULT_MAXIMUM_POOL_SIZE);
 
-        config.setConnectionTimeout(30000);
-        config.setIdleTimeout(600000);
-        config.setMaxLifetime(1800000);
+        config.setConnectionTimeout(DEFAULT_CONNECTION_TIMEOUT);
+        config.setIdleTimeout(DEFAULT_IDLE_TIMEOUT);
+        config.setMaxLifetime(DEFAULT_MAX_LIFETIME);
         config.setDriverClassName("org.postgresql.Driver");
 
-        this.dataSource = new HikariDataSource(config);
+        config.addDataSourceProperty("prepareThreshold", DEFAULT_PREPARE_THRESHOLD);
+        config.addDataSourceProperty("preparedStatementCacheQueries", DEFAULT_STATEMENT_CACHE_QUERIES);
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", DEFAULT_STATEMENT_CACHE_SIZE_MIB);
+        config.addDataSourceProperty("reWriteBatchedInserts", DEFAULT_REWRITE_BATCHED_INSERTS);
+        config.addDataSourceProperty("defaultRowFetchSize", DEFAULT_ROW_FETCH_SIZE);
+
+        return config;
     }
 
+    /**
+     * Create metrics registry, which labels statements by sql enums of repositories.
+     */
+    private static MetricsRegistry createMetricsRegistry() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.registerStatements(BaristaSQL.class);
+        registry.registerStatements(CoffeeSQL.class);
+        registry.registerStatements(OrderSQL.class);
+        registry.registerStatements(OrderCoffeeSQL.class);
+        registry.registerStatements(NotificationSQL.class);
+        registry.registerStatements(MigrationSQL.class);
+        return registry;
+    }
+
+    /**
+     * Get maximum number of connections in pool.
+     *
+     * @return maximum pool size.
+     */
+    public int getMaximumPoolSize() {
+        return dataSource.getMaximumPoolSize();
+    }
+
+    /**
+     * Get maximum time waiting for connection from pool.
+     *
+     * @return connection timeout in milliseconds.
+     */
+    public long getConnectionTimeout() {
+        return dataSource.getConnectionTimeout();
+    }
+
+    /**
+     * Get exporter of pool state, connection acquiring time and statements metrics.
+     *
+     * @return metrics exporter.
+     */
+    public MetricsExporter getMetricsExporter() {
+        return writer -> {
+            poolMetrics.export(writer);
+            metrics.export(writer);
+        };
+    }
+
+    /**
+     * Get connection from pool or connection of current thread's transaction.
+     *
+     * @return connection to db.
+     * @throws SQLException when connection can't be obtained.
+     */
     @Override
     public Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+        Connection connection = transactionConnection.get();
+        if (connection != null)
+            return nonClosing(connection);
+
+        return acquire();
+    }
+
+    /**
+     * Get instrumented connection from pool, recording time spent on it.
+     */
+    private Connection acquire() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = dataSource.getConnection();
+        metrics.recordAcquire(System.nanoTime() - start);
+
+        return InstrumentedConnection.wrap(connection, metrics);
+    }
+
+    /**
+     * Open new connection with pool's credentials, but outside of pool.
+     * Used for long-lived sessions, like LISTEN, which would otherwise hold pool's connection forever
+     * and would be closed by pool at max lifetime.
+     *
+     * @return new not pooled connection. Caller has to close it.
+     * @throws SQLException when connection can't be opened.
+     */
+    public Connection openDedicatedConnection() throws SQLException {
+        return DriverManager.getConnection(dataSource.getJdbcUrl(), dataSource.getUsername(), dataSource.getPassword());
+    }
+
+    /**
+     * Execute work as one transaction on one pooled connection, bound to current thread.
+     *
+     * @param work executed work.
+     * @param <T>  type of work result.
+     * @return result of work.
+     * @throws NullParamException when work is null.
+     * @throws DataBaseException  sql exception.
+     */
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        if (work == null)
+            throw new NullParamException();
+        if (transactionConnection.get() != null)
+            return work.get();
+
+        try (Connection connection = acquire()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            transactionConnection.set(connection);
+            Throwable failure = null;
+            try {
+                T result = work.get();
+                connection.commit();
+                return result;
+
+            } catch (RuntimeException | Error | SQLException e) {
+                failure = e;
+                rollback(connection, e);
+                throw e;
+
+            } finally {
+                transactionConnection.remove();
+                restoreAutoCommit(connection, autoCommit, failure);
+            }
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
+    private void rollback(Connection connection, Throwable cause) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Restore auto-commit mode of connection. When transaction is already failed,
+     * failure of restoring is added to it as suppressed and doesn't replace it.
+     */
+    private void restoreAutoCommit(Connection connection, boolean autoCommit, Throwable failure) throws SQLException {
+        try {
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException e) {
+            if (failure == null)
+                throw e;
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Wrap transaction's connection, so repositories can close it as usual without returning it to pool.
+     *
+     * @param connection transaction's connection.
+     * @return connection which close method does nothing.
+     */
+    private static Connection nonClosing(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close"))
+                        return null;
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
     }
 }
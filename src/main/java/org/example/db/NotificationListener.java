@@ -0,0 +1,192 @@
+package org.example.db;
+
+import org.example.db.metrics.MetricsExporter;
+import org.example.entity.exception.NullParamException;
+import org.example.repository.until.NotificationSQL;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Listener of one db notification channel.
+ * Uses one dedicated connection and one background thread for the whole application,
+ * passing payload of every notification to consumer in order they are received.
+ * When connection is lost, listener reconnects with growing delay. Notifications sent while
+ * it was disconnected are lost, so onListen is called after every successful LISTEN
+ * to let consumer reload its state.
+ */
+public class NotificationListener implements MetricsExporter, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(NotificationListener.class.getName());
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long MIN_RECONNECT_DELAY_MILLIS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30000;
+
+    private final ConnectionSource connectionSource;
+    private final String channel;
+    private final Consumer<String> consumer;
+    private final Runnable onListen;
+    private final Thread thread;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private volatile boolean running = true;
+    private volatile boolean listening;
+
+    /**
+     * Source of dedicated connections.
+     */
+    @FunctionalInterface
+    public interface ConnectionSource {
+
+        /**
+         * Open new connection, which is owned by listener.
+         *
+         * @return new connection.
+         * @throws SQLException when connection can't be opened.
+         */
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * Create not started listener.
+     *
+     * @param connectionSource source of dedicated connections.
+     * @param channel          listened channel, lowercase sql identifier.
+     * @param consumer         consumer of notifications' payloads, called by listener's thread.
+     * @param onListen         called by listener's thread after every successful LISTEN, before first notification.
+     * @throws NullParamException       when some param is null.
+     * @throws IllegalArgumentException when channel is not valid identifier.
+     */
+    public NotificationListener(ConnectionSource connectionSource, String channel, Consumer<String> consumer, Runnable onListen) {
+        if (connectionSource == null || channel == null || consumer == null || onListen == null)
+            throw new NullParamException();
+        if (!CHANNEL_PATTERN.matcher(channel).matches())
+            throw new IllegalArgumentException("Channel '" + channel + "' is not valid identifier!");
+
+        this.connectionSource = connectionSource;
+        this.channel = channel;
+        this.consumer = consumer;
+        this.onListen = onListen;
+        this.thread = Thread.ofPlatform()
+                .name("notification-listener-" + channel)
+                .daemon()
+                .unstarted(this::run);
+    }
+
+    /**
+     * Start listener's thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Check that channel is listened now, so no notification is lost.
+     *
+     * @return true after successful LISTEN and onListen, until connection fails or listener is closed.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * Listen channel until listener is closed, reconnecting after failures.
+     */
+    private void run() {
+        long reconnectDelay = MIN_RECONNECT_DELAY_MILLIS;
+        while (running) {
+            try (Connection connection = connectionSource.open()) {
+                listen(connection);
+                listening = true;
+                reconnectDelay = MIN_RECONNECT_DELAY_MILLIS;
+                poll(connection.unwrap(PGConnection.class));
+
+            } catch (SQLException | RuntimeException e) {
+                if (!running)
+                    return;
+                LOGGER.severe(String.format("Listening of '%s' is failed: %s", channel, e.getMessage()));
+            } finally {
+                listening = false;
+            }
+
+            if (!sleep(reconnectDelay))
+                return;
+            reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MILLIS);
+            reconnects.increment();
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(String.format(NotificationSQL.LISTEN.toString(), channel));
+        }
+        onListen.run();
+    }
+
+    /**
+     * Receive notifications, while listener is running.
+     * Waiting is limited by timeout, so closing of listener is noticed.
+     */
+    private void poll(PGConnection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications == null)
+                continue;
+
+            for (PGNotification notification : notifications) {
+                received.increment();
+                try {
+                    consumer.accept(notification.getParameter());
+                } catch (RuntimeException e) {
+                    LOGGER.severe(String.format("Notification '%s' is not processed: %s", notification.getParameter(), e.getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false when listener is closed while sleeping.
+     */
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return running;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void export(Writer writer) throws IOException {
+        writer.write("# HELP db_notifications_received_total Notifications received by listener.\n"
+                + "# TYPE db_notifications_received_total counter\n"
+                + "db_notifications_received_total{channel=\"" + channel + "\"} " + received.sum() + "\n"
+                + "# HELP db_notification_reconnects_total Reconnects of listener after failures.\n"
+                + "# TYPE db_notification_reconnects_total counter\n"
+                + "db_notification_reconnects_total{channel=\"" + channel + "\"} " + reconnects.sum() + "\n");
+    }
+
+    /**
+     * Stop listener and wait for its thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(POLL_TIMEOUT_MILLIS * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.db.exception;
+
+public class MigrationException extends RuntimeException {
+    public MigrationException(int version, String description) {
+        super(String.format("Migration %d '%s' was changed after it had been applied!", version, description));
+    }
+}
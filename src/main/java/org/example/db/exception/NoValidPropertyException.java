@@ -0,0 +1,7 @@
+package org.example.db.exception;
+
+public class NoValidPropertyException extends RuntimeException {
+    public NoValidPropertyException(String key, String value) {
+        super(String.format("Property '%s' has not valid value: '%s'!", key, value));
+    }
+}
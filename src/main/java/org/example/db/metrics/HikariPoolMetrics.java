@@ -0,0 +1,37 @@
+package org.example.db.metrics;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.example.entity.exception.NullParamException;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Gauges of Hikari connection pool state.
+ */
+public class HikariPoolMetrics implements MetricsExporter {
+    private final HikariPoolMXBean pool;
+
+    public HikariPoolMetrics(HikariPoolMXBean pool) {
+        if (pool == null)
+            throw new NullParamException();
+
+        this.pool = pool;
+    }
+
+    @Override
+    public void export(Writer writer) throws IOException {
+        StringBuilder out = new StringBuilder();
+        appendGauge(out, "db_pool_active_connections", "Connections in use.", pool.getActiveConnections());
+        appendGauge(out, "db_pool_idle_connections", "Connections waiting in pool.", pool.getIdleConnections());
+        appendGauge(out, "db_pool_total_connections", "All connections of pool.", pool.getTotalConnections());
+        appendGauge(out, "db_pool_pending_threads", "Threads waiting for connection.", pool.getThreadsAwaitingConnection());
+        writer.write(out.toString());
+    }
+
+    private static void appendGauge(StringBuilder out, String name, String help, long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" gauge\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.db.metrics;
+
+import org.postgresql.PGStatement;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps connection, so executions of its statements are recorded to metrics registry.
+ * Statements are timed on 'execute*' methods, rows are counted by update counts and by ResultSet.next.
+ * Result sets are wrapped without reflection, so reading of columns is not slowed down.
+ * Executions of prepared statements are also counted by usage of server-side prepared statement.
+ */
+public final class InstrumentedConnection {
+    private InstrumentedConnection() {
+    }
+
+    /**
+     * Wrap connection.
+     *
+     * @param connection wrapped connection.
+     * @param registry   registry to which metrics are recorded.
+     * @return connection with the same behaviour, which statements are instrumented.
+     */
+    public static Connection wrap(Connection connection, MetricsRegistry registry) {
+        return proxy(Connection.class, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> wrapStatement(PreparedStatement.class, (PreparedStatement) result,
+                        registry, registry.labelOf((String) args[0]));
+                case "prepareCall" -> wrapStatement(CallableStatement.class, (CallableStatement) result,
+                        registry, registry.labelOf((String) args[0]));
+                case "createStatement" -> wrapStatement(Statement.class, (Statement) result, registry, null);
+                default -> result;
+            };
+        });
+    }
+
+    /**
+     * Wrap statement.
+     *
+     * @param label label of prepared statement. Null - statement is labeled by sql of every execution.
+     */
+    private static <S extends Statement> S wrapStatement(Class<S> type, S statement, MetricsRegistry registry, String label) {
+        String[] lastLabel = {label};
+
+        return proxy(type, (method, args) -> {
+            String name = method.getName();
+
+            if (name.startsWith("execute")) {
+                if (label == null)
+                    lastLabel[0] = registry.labelOf(args != null && args.length > 0 && args[0] instanceof String sql ? sql : null);
+                StatementMetrics metrics = registry.statement(lastLabel[0]);
+                if (statement instanceof PreparedStatement)
+                    recordServerPrepare(statement, metrics);
+
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = invoke(statement, method, args);
+                } catch (Throwable e) {
+                    metrics.recordError();
+                    throw e;
+                } finally {
+                    metrics.recordExecution(System.nanoTime() - start);
+                }
+                return recordResult(result, metrics);
+            }
+
+            Object result = invoke(statement, method, args);
+            if (name.equals("getResultSet") && result instanceof ResultSet resultSet && lastLabel[0] != null)
+                return wrapResultSet(resultSet, registry.statement(lastLabel[0]));
+            return result;
+        });
+    }
+
+    /**
+     * Record, whether the execution uses statement prepared on server. Statements of other drivers are skipped.
+     */
+    private static void recordServerPrepare(Statement statement, StatementMetrics metrics) {
+        try {
+            if (statement.isWrapperFor(PGStatement.class))
+                metrics.recordServerPrepare(statement.unwrap(PGStatement.class).isUseServerPrepare());
+        } catch (SQLException e) {
+            // closed statement: execution fails itself
+        }
+    }
+
+    private static Object recordResult(Object result, StatementMetrics metrics) {
+        if (result instanceof ResultSet resultSet)
+            return wrapResultSet(resultSet, metrics);
+        if (result instanceof Integer count)
+            metrics.recordRows(count);
+        else if (result instanceof Long count)
+            metrics.recordRows(count);
+        else if (result instanceof int[] counts) {
+            for (int count : counts) {
+                metrics.recordRows(count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                metrics.recordRows(count);
+            }
+        }
+        return result;
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet, StatementMetrics metrics) {
+        return new CountingResultSet(resultSet, metrics);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args)));
+    }
+}
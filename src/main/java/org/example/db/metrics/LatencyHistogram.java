@@ -0,0 +1,69 @@
+package org.example.db.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations with fixed buckets.
+ * Recording is lock-free: every bucket, sum and count are separate LongAdder's.
+ */
+public class LatencyHistogram {
+    private static final long[] BOUNDS_MICROS = {
+            500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000
+    };
+
+    private final long[] boundsNanos = new long[BOUNDS_MICROS.length];
+    private final String[] boundLabels = new String[BOUNDS_MICROS.length];
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MICROS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            boundsNanos[i] = TimeUnit.MICROSECONDS.toNanos(BOUNDS_MICROS[i]);
+            boundLabels[i] = BigDecimal.valueOf(BOUNDS_MICROS[i], 6).stripTrailingZeros().toPlainString();
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record one duration.
+     *
+     * @param nanos duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        int i = 0;
+        while (i < boundsNanos.length && nanos > boundsNanos[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Write histogram as Prometheus histogram series.
+     *
+     * @param out    builder to which series are appended.
+     * @param name   metric name without suffixes.
+     * @param labels labels in Prometheus format without braces, e.g. 'statement="X"'. Can be empty.
+     */
+    void appendTo(StringBuilder out, String name, String labels) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < boundsNanos.length; i++) {
+            cumulative += buckets[i].sum();
+            out.append(name).append("_bucket{").append(prefix)
+                    .append("le=\"").append(boundLabels[i]).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        cumulative += buckets[boundsNanos.length].sum();
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(cumulative).append('\n');
+
+        String braces = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(braces).append(' ').append(sumNanos.sum() / 1e9).append('\n');
+        out.append(name).append("_count").append(braces).append(' ').append(cumulative).append('\n');
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.db.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Source of metrics, that can be written in Prometheus text format.
+ */
+public interface MetricsExporter {
+
+    /**
+     * Write current values of metrics.
+     *
+     * @param writer writer to which metrics are written in Prometheus text format.
+     * @throws IOException when writing is failed.
+     */
+    void export(Writer writer) throws IOException;
+}
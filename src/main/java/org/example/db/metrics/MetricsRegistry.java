@@ -0,0 +1,137 @@
+package org.example.db.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Metrics of connection acquiring and sql statements executing.
+ * Statements are labeled by sql enum constants, e.g. 'OrderSQL.CREATE'.
+ * Statements that are not registered are labeled as 'other'.
+ */
+public class MetricsRegistry implements MetricsExporter {
+    public static final String OTHER_STATEMENT = "other";
+    private static final String FORMAT_PLACEHOLDER = "%s";
+
+    private final Map<String, String> statementLabels = new ConcurrentHashMap<>();
+    private final List<Map.Entry<String, String>> templateLabels = new CopyOnWriteArrayList<>();
+    private final Map<String, StatementMetrics> statements = new ConcurrentHashMap<>();
+    private final LatencyHistogram acquireTime = new LatencyHistogram();
+
+    /**
+     * Register all sql of enum, so their executions are labeled by enum constant.
+     * Sql with '%s' placeholder is matched by part before placeholder.
+     *
+     * @param sqlEnum enum, which constants return sql by toString.
+     * @param <E>     type of enum.
+     */
+    public <E extends Enum<E>> void registerStatements(Class<E> sqlEnum) {
+        for (E constant : sqlEnum.getEnumConstants()) {
+            String sql = constant.toString();
+            String label = sqlEnum.getSimpleName() + "." + constant.name();
+
+            int placeholder = sql.indexOf(FORMAT_PLACEHOLDER);
+            if (placeholder < 0)
+                statementLabels.put(sql, label);
+            else templateLabels.add(Map.entry(sql.substring(0, placeholder), label));
+        }
+    }
+
+    /**
+     * Find label of specified sql.
+     *
+     * @param sql executed sql.
+     * @return label of registered statement, or 'other'.
+     */
+    public String labelOf(String sql) {
+        if (sql == null)
+            return OTHER_STATEMENT;
+
+        String label = statementLabels.get(sql);
+        if (label != null)
+            return label;
+
+        for (Map.Entry<String, String> template : templateLabels) {
+            if (sql.startsWith(template.getKey()))
+                return template.getValue();
+        }
+        return OTHER_STATEMENT;
+    }
+
+    /**
+     * Get metrics of statement with specified label.
+     *
+     * @param label statement label.
+     * @return metrics of statement.
+     */
+    public StatementMetrics statement(String label) {
+        StatementMetrics metrics = statements.get(label);
+        if (metrics != null)
+            return metrics;
+
+        return statements.computeIfAbsent(label, key -> new StatementMetrics());
+    }
+
+    /**
+     * Record time spent to get connection from pool.
+     *
+     * @param nanos duration in nanoseconds.
+     */
+    public void recordAcquire(long nanos) {
+        acquireTime.record(nanos);
+    }
+
+    @Override
+    public void export(Writer writer) throws IOException {
+        StringBuilder out = new StringBuilder();
+
+        out.append("# HELP db_pool_acquire_seconds Time spent to get connection from pool.\n");
+        out.append("# TYPE db_pool_acquire_seconds histogram\n");
+        acquireTime.appendTo(out, "db_pool_acquire_seconds", "");
+
+        Map<String, StatementMetrics> sorted = new TreeMap<>(statements);
+
+        out.append("# HELP db_query_seconds Execution time of sql statement.\n");
+        out.append("# TYPE db_query_seconds histogram\n");
+        sorted.forEach((label, metrics) ->
+                metrics.getLatency().appendTo(out, "db_query_seconds", statementLabel(label)));
+
+        out.append("# HELP db_query_rows_total Rows read or changed by sql statement.\n");
+        out.append("# TYPE db_query_rows_total counter\n");
+        sorted.forEach((label, metrics) ->
+                out.append("db_query_rows_total{").append(statementLabel(label)).append("} ")
+                        .append(metrics.getRows()).append('\n'));
+
+        out.append("# HELP db_query_errors_total Failed executions of sql statement.\n");
+        out.append("# TYPE db_query_errors_total counter\n");
+        sorted.forEach((label, metrics) ->
+                out.append("db_query_errors_total{").append(statementLabel(label)).append("} ")
+                        .append(metrics.getErrors()).append('\n'));
+
+        out.append("# HELP db_statement_cache_hits_total Executions by statement prepared on server and cached by connection.\n");
+        out.append("# TYPE db_statement_cache_hits_total counter\n");
+        sorted.forEach((label, metrics) -> {
+            if (metrics.getServerPrepared() + metrics.getNotServerPrepared() > 0)
+                out.append("db_statement_cache_hits_total{").append(statementLabel(label)).append("} ")
+                        .append(metrics.getServerPrepared()).append('\n');
+        });
+
+        out.append("# HELP db_statement_cache_misses_total Executions of prepared statement, that was parsed and planned again.\n");
+        out.append("# TYPE db_statement_cache_misses_total counter\n");
+        sorted.forEach((label, metrics) -> {
+            if (metrics.getServerPrepared() + metrics.getNotServerPrepared() > 0)
+                out.append("db_statement_cache_misses_total{").append(statementLabel(label)).append("} ")
+                        .append(metrics.getNotServerPrepared()).append('\n');
+        });
+
+        writer.write(out.toString());
+    }
+
+    private static String statementLabel(String label) {
+        return "statement=\"" + label + "\"";
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.db.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, row count, error count and server-side prepare usage of one sql statement.
+ */
+public class StatementMetrics {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder serverPrepared = new LongAdder();
+    private final LongAdder notServerPrepared = new LongAdder();
+
+    /**
+     * Record one execution.
+     *
+     * @param nanos execution duration in nanoseconds.
+     */
+    public void recordExecution(long nanos) {
+        latency.record(nanos);
+    }
+
+    /**
+     * Record rows that was read or changed by statement.
+     *
+     * @param count number of rows.
+     */
+    public void recordRows(long count) {
+        if (count > 0)
+            rows.add(count);
+    }
+
+    /**
+     * Record failed execution.
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Record, whether execution of prepared statement used statement prepared on server.
+     * Such statement is kept in connection's statement cache, so it's neither parsed nor planned again.
+     *
+     * @param prepared true when server-side prepared statement is used.
+     */
+    public void recordServerPrepare(boolean prepared) {
+        if (prepared)
+            serverPrepared.increment();
+        else notServerPrepared.increment();
+    }
+
+    LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    long getRows() {
+        return rows.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getServerPrepared() {
+        return serverPrepared.sum();
+    }
+
+    long getNotServerPrepared() {
+        return notServerPrepared.sum();
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.db.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned schema changes, applied in order of declaration.
+ * Applied migration must never be changed: its checksum is stored and verified on every start.
+ * Every migration creates index concurrently, so it is executed outside of transaction.
+ */
+public enum Migration {
+    ORDER_QUEUE_INDEX(1, "order_queue_idx", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS order_queue_idx ON "order" (created) WHERE completed IS NULL
+            """),
+    ORDER_BARISTA_INDEX(2, "order_barista_idx", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS order_barista_idx ON "order" (barista)
+            """),
+    ORDER_COFFEE_COFFEE_INDEX(3, "order_coffee_coffee_idx", """
+            CREATE INDEX CONCURRENTLY IF NOT EXISTS order_coffee_coffee_idx ON order_coffee (coffee_id)
+            """);
+
+
+    private final int version;
+    private final String index;
+    private final String sql;
+
+    /**
+     * Migration that concurrently creates specified index.
+     */
+    Migration(int version, String index, String sql) {
+        this.version = version;
+        this.index = index;
+        this.sql = sql;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Get name of index created concurrently.
+     *
+     * @return index name.
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * Get checksum of migration's sql.
+     *
+     * @return CRC32 of sql.
+     */
+    public long getChecksum() {
+        CRC32 crc = new CRC32();
+        crc.update(sql.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    public String getDescription() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+}
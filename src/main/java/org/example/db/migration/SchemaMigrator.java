@@ -0,0 +1,180 @@
+package org.example.db.migration;
+
+import org.example.db.ConnectionManager;
+import org.example.db.exception.MigrationException;
+import org.example.entity.exception.NullParamException;
+import org.example.repository.exception.DataBaseException;
+import org.example.repository.until.MigrationSQL;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Applies pending migrations at startup.
+ * Applied migrations are recorded in schema_migrations with their checksums.
+ * Instances started together are serialized by advisory lock, so every migration is applied once.
+ * Lock is polled, not waited for: waiting statement would hold a snapshot, and concurrent index build
+ * of instance holding the lock would wait for it, which is a deadlock.
+ */
+public class SchemaMigrator {
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrator.class.getName());
+    private static final long LOCK_KEY = "schema_migrations".hashCode();
+    private static final long DEFAULT_LOCK_POLL_MILLIS = 500;
+
+    private final ConnectionManager connectionManager;
+    private final List<Migration> migrationList;
+    private final long lockPollMillis;
+
+    /**
+     * Create migrator of all declared migrations.
+     *
+     * @param connectionManager manager of connections to db.
+     * @throws NullParamException when connectionManager is null.
+     */
+    public SchemaMigrator(ConnectionManager connectionManager) {
+        this(connectionManager, List.of(Migration.values()));
+    }
+
+    /**
+     * Create migrator of specified migrations.
+     *
+     * @param connectionManager manager of connections to db.
+     * @param migrationList     migrations in order of applying.
+     * @throws NullParamException when some param is null.
+     */
+    public SchemaMigrator(ConnectionManager connectionManager, List<Migration> migrationList) {
+        this(connectionManager, migrationList, DEFAULT_LOCK_POLL_MILLIS);
+    }
+
+    SchemaMigrator(ConnectionManager connectionManager, List<Migration> migrationList, long lockPollMillis) {
+        if (connectionManager == null || migrationList == null)
+            throw new NullParamException();
+
+        this.connectionManager = connectionManager;
+        this.migrationList = List.copyOf(migrationList);
+        this.lockPollMillis = lockPollMillis;
+    }
+
+    /**
+     * Apply migrations that are not applied yet.
+     *
+     * @return number of applied migrations.
+     * @throws MigrationException when applied migration was changed.
+     * @throws DataBaseException  sql exception, or interruption while waiting for lock.
+     */
+    public int migrate() {
+        try (Connection connection = connectionManager.getConnection()) {
+            lock(connection);
+            try {
+                return migrate(connection);
+            } finally {
+                unlock(connection);
+            }
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
+    private int migrate(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(MigrationSQL.CREATE_TABLE.toString());
+        }
+        Map<Integer, Long> applied = findApplied(connection);
+
+        int count = 0;
+        for (Migration migration : migrationList) {
+            Long checksum = applied.get(migration.getVersion());
+            if (checksum != null) {
+                if (checksum != migration.getChecksum())
+                    throw new MigrationException(migration.getVersion(), migration.getDescription());
+                continue;
+            }
+
+            LOGGER.info(() -> "Applying migration " + migration.getVersion() + " " + migration.getDescription());
+            applyConcurrently(connection, migration);
+            count++;
+        }
+        return count;
+    }
+
+    private static Map<Integer, Long> findApplied(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(MigrationSQL.FIND_ALL.toString());
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                applied.put(resultSet.getInt("version"), resultSet.getLong("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Create index without locking writes to table. Concurrent build can't be executed in transaction,
+     * and failed build leaves invalid index behind, which is dropped before the next try.
+     */
+    private static void applyConcurrently(Connection connection, Migration migration) throws SQLException {
+        if (isInvalidIndex(connection, migration.getIndex())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(String.format(MigrationSQL.DROP_INDEX.toString(), migration.getIndex()));
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(migration.toString());
+        }
+        record(connection, migration);
+    }
+
+    private static boolean isInvalidIndex(Connection connection, String index) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(MigrationSQL.IS_INVALID_INDEX.toString())) {
+            statement.setString(1, index);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private static void record(Connection connection, Migration migration) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(MigrationSQL.CREATE.toString())) {
+            statement.setInt(1, migration.getVersion());
+            statement.setString(2, migration.getDescription());
+            statement.setLong(3, migration.getChecksum());
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Take advisory lock, polling it until other instance releases it. No statement is open between tries.
+     */
+    private void lock(Connection connection) throws SQLException {
+        while (true) {
+            try (PreparedStatement statement = connection.prepareStatement(MigrationSQL.TRY_LOCK.toString())) {
+                statement.setLong(1, LOCK_KEY);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next() && resultSet.getBoolean(1))
+                        return;
+                }
+            }
+            LOGGER.info("Schema migrations are applied by other instance, waiting");
+            try {
+                Thread.sleep(lockPollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataBaseException("Interrupted while waiting for schema migrations lock");
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(MigrationSQL.UNLOCK.toString())) {
+            statement.setLong(1, LOCK_KEY);
+            statement.execute();
+        }
+    }
+}
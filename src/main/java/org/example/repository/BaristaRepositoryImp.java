@@ -9,7 +9,9 @@ import org.example.entity.exception.NullParamException;
 import org.example.repository.exception.DataBaseException;
 import org.example.repository.mapper.BaristaMapper;
 import org.example.repository.until.BaristaSQL;
+import org.example.repository.until.IdBatch;
 import org.example.repository.until.QueryUntil;
+import org.example.service.dto.EntityEvent;
 import org.example.service.exception.NoValidLimitException;
 import org.example.service.exception.NoValidPageException;
 import org.example.service.gateway.BaristaRepository;
@@ -63,6 +65,7 @@ public class BaristaRepositoryImp implements BaristaRepository {
             if (resultSet.next())
                 newBarista.setId(resultSet.getLong(1));
 
+            publish(connection, newBarista.getId());
             return newBarista;
 
         } catch (SQLException e) {
@@ -97,6 +100,7 @@ public class BaristaRepositoryImp implements BaristaRepository {
             if (preparedStatement.getUpdateCount() == 0)
                 throw new BaristaNotFoundException(barista.getId());
 
+            publish(connection, newBarista.getId());
             return newBarista;
 
         } catch (SQLException e) {
@@ -128,11 +132,19 @@ public class BaristaRepositoryImp implements BaristaRepository {
             if (preparedStatement.getUpdateCount() <= 0)
                 throw new BaristaNotFoundException(id);
 
+            publish(connection, id);
         } catch (SQLException e) {
             throw new DataBaseException(e.getMessage());
         }
     }
 
+    /**
+     * Send notification about changed barista to other application instances.
+     */
+    private static void publish(Connection connection, long id) throws SQLException {
+        QueryUntil.notify(connection, EntityEvent.CHANNEL, new EntityEvent(EntityEvent.Type.BARISTA, id).toPayload());
+    }
+
     /**
      * Find all barista entities from db.
      *
@@ -164,38 +176,42 @@ public class BaristaRepositoryImp implements BaristaRepository {
      */
     @Override
     public List<Barista> findById(List<Long> idList) {
-        if (idList == null)
-            throw new NullParamException();
-        if (idList.isEmpty())
-            return new ArrayList<>();
-
-        Map<Long, Barista> containedBaristaMap = new HashMap<>();
-        List<Barista> resultBaristaList = new ArrayList<>();
-        String sql = String.format(BaristaSQL.FIND_ALL_BY_ID.toString(), QueryUntil.generatePlaceholders(idList.size()));
-
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            for (int i = 0; i < idList.size(); i++) {
-                preparedStatement.setLong(1 + i, idList.get(i));
-            }
-
-            ResultSet resultSet = preparedStatement.executeQuery();
-
-            while (resultSet.next()) {
-                Barista barista = mapper.map(resultSet);
-                containedBaristaMap.put(barista.getId(), barista);
-            }
+        return lookup(idList).toList(idList, BaristaNotFoundException::new);
+    }
 
-            for (Long id : idList) {
-                Barista barista = containedBaristaMap.get(id);
+    /**
+     * Find barista objects, that exist in db, by specified ids by one query per chunk of ids.
+     *
+     * @param idList barista id list.
+     * @return map from id to Barista object. Missing ids are absent.
+     * @throws NullParamException when idList is null.
+     * @throws DataBaseException  sql exception.
+     */
+    @Override
+    public Map<Long, Barista> findExisting(List<Long> idList) {
+        return lookup(idList).toMap();
+    }
 
-                if (barista == null)
-                    throw new BaristaNotFoundException(id);
+    /**
+     * Find barista objects by ids chunk by chunk, every chunk is bound as one array.
+     */
+    private IdBatch<Barista> lookup(List<Long> idList) {
+        IdBatch<Barista> batch = IdBatch.of(idList);
+        if (batch.getChunkCount() == 0)
+            return batch;
 
-                resultBaristaList.add(barista);
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(BaristaSQL.FIND_ALL_BY_ID.toString())) {
+            for (int chunk = 0; chunk < batch.getChunkCount(); chunk++) {
+                preparedStatement.setArray(1, batch.createArray(connection, chunk));
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Barista barista = mapper.map(resultSet);
+                        batch.put(barista.getId(), barista);
+                    }
+                }
             }
-
-            return resultBaristaList;
+            return batch;
         } catch (SQLException e) {
             throw new DataBaseException(e.getMessage());
         }
@@ -231,6 +247,35 @@ public class BaristaRepositoryImp implements BaristaRepository {
         }
     }
 
+    /**
+     * Find baristas with id greater than specified one, ordered by id and limited.
+     *
+     * @param afterId id after which baristas are found. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of barista objects.
+     * @throws NoValidIdException    when afterId is less than zero.
+     * @throws NoValidLimitException when limit is less than one.
+     * @throws DataBaseException     sql exception.
+     */
+    @Override
+    public List<Barista> findAllAfter(Long afterId, int limit) {
+        if (afterId != null && afterId < 0)
+            throw new NoValidIdException(afterId);
+        if (limit <= 0)
+            throw new NoValidLimitException(limit);
+
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(BaristaSQL.FIND_ALL_AFTER.toString())) {
+            preparedStatement.setLong(1, afterId == null ? -1L : afterId);
+            preparedStatement.setLong(2, limit);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return mapper.mapToList(resultSet);
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
     /**
      * Find barista by specified id.
      *
@@ -9,7 +9,9 @@ import org.example.entity.exception.NullParamException;
 import org.example.repository.exception.DataBaseException;
 import org.example.repository.mapper.CoffeeMapper;
 import org.example.repository.until.CoffeeSQL;
+import org.example.repository.until.IdBatch;
 import org.example.repository.until.QueryUntil;
+import org.example.service.dto.EntityEvent;
 import org.example.service.exception.NoValidLimitException;
 import org.example.service.exception.NoValidPageException;
 import org.example.service.gateway.CoffeeRepository;
@@ -40,26 +42,29 @@ public class CoffeeRepositoryImp extends ReferredRepository implements CoffeeRep
 
         Coffee newCoffee = new Coffee(coffee.getName(), coffee.getPrice(), coffee.getOrderList());
 
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(CoffeeSQL.CREATE.toString(), Statement.RETURN_GENERATED_KEYS)) {
-            preparedStatement.setString(1, newCoffee.getName());
-            preparedStatement.setDouble(2, newCoffee.getPrice());
-            preparedStatement.executeUpdate();
-
-            ResultSet resultSet = preparedStatement.getGeneratedKeys();
-            if (resultSet.next())
-                newCoffee.setId(resultSet.getLong(1));
-
-            //add references
-            List<Long> orderIdList = newCoffee.getOrderList().stream()
-                    .map(Order::getId)
-                    .toList();
-            addAllReference(newCoffee.getId(), orderIdList);
-
-            return newCoffee;
-        } catch (SQLException e) {
-            throw new DataBaseException(e.getMessage());
-        }
+        return connectionManager.inTransaction(() -> {
+            try (Connection connection = connectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(CoffeeSQL.CREATE.toString(), Statement.RETURN_GENERATED_KEYS)) {
+                preparedStatement.setString(1, newCoffee.getName());
+                preparedStatement.setDouble(2, newCoffee.getPrice());
+                preparedStatement.executeUpdate();
+
+                ResultSet resultSet = preparedStatement.getGeneratedKeys();
+                if (resultSet.next())
+                    newCoffee.setId(resultSet.getLong(1));
+
+                //add references
+                List<Long> orderIdList = newCoffee.getOrderList().stream()
+                        .map(Order::getId)
+                        .toList();
+                addAllReference(newCoffee.getId(), orderIdList);
+
+                publish(connection, newCoffee.getId());
+                return newCoffee;
+            } catch (SQLException e) {
+                throw new DataBaseException(e.getMessage());
+            }
+        });
     }
 
     /**
@@ -78,27 +83,30 @@ public class CoffeeRepositoryImp extends ReferredRepository implements CoffeeRep
 
         Coffee newCoffee = new Coffee(coffee.getId(), coffee.getName(), coffee.getPrice(), coffee.getOrderList());
 
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(CoffeeSQL.UPDATE.toString())) {
-            preparedStatement.setString(1, newCoffee.getName());
-            preparedStatement.setDouble(2, newCoffee.getPrice());
-            preparedStatement.setLong(3, newCoffee.getId());
-            preparedStatement.executeUpdate();
-
-            if (preparedStatement.getUpdateCount() == 0)
-                throw new CoffeeNotFoundException(coffee.getId());
-
-            //add references
-            deleteReferencesByCoffeeId(newCoffee.getId());
-            List<Long> orderIdList = newCoffee.getOrderList().stream()
-                    .map(Order::getId)
-                    .toList();
-            addAllReference(orderIdList, newCoffee.getId());
-
-            return newCoffee;
-        } catch (SQLException e) {
-            throw new DataBaseException(e.getMessage());
-        }
+        return connectionManager.inTransaction(() -> {
+            try (Connection connection = connectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(CoffeeSQL.UPDATE.toString())) {
+                preparedStatement.setString(1, newCoffee.getName());
+                preparedStatement.setDouble(2, newCoffee.getPrice());
+                preparedStatement.setLong(3, newCoffee.getId());
+                preparedStatement.executeUpdate();
+
+                if (preparedStatement.getUpdateCount() == 0)
+                    throw new CoffeeNotFoundException(coffee.getId());
+
+                //add references
+                deleteReferencesByCoffeeId(newCoffee.getId());
+                List<Long> orderIdList = newCoffee.getOrderList().stream()
+                        .map(Order::getId)
+                        .toList();
+                addAllReference(orderIdList, newCoffee.getId());
+
+                publish(connection, newCoffee.getId());
+                return newCoffee;
+            } catch (SQLException e) {
+                throw new DataBaseException(e.getMessage());
+            }
+        });
     }
 
     /**
@@ -117,19 +125,29 @@ public class CoffeeRepositoryImp extends ReferredRepository implements CoffeeRep
         if (id < 0)
             throw new NoValidIdException(id);
 
-        deleteReferencesByCoffeeId(id);
+        connectionManager.inTransaction(() -> {
+            deleteReferencesByCoffeeId(id);
 
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement coffeePreparedStatement = connection.prepareStatement(CoffeeSQL.DELETE.toString())) {
-            coffeePreparedStatement.setLong(1, id);
-            coffeePreparedStatement.executeUpdate();
+            try (Connection connection = connectionManager.getConnection();
+                 PreparedStatement coffeePreparedStatement = connection.prepareStatement(CoffeeSQL.DELETE.toString())) {
+                coffeePreparedStatement.setLong(1, id);
+                coffeePreparedStatement.executeUpdate();
 
-            if (coffeePreparedStatement.getUpdateCount() <= 0)
-                throw new CoffeeNotFoundException(id);
+                if (coffeePreparedStatement.getUpdateCount() <= 0)
+                    throw new CoffeeNotFoundException(id);
 
-        } catch (SQLException e) {
-            throw new DataBaseException(e.getMessage());
-        }
+                publish(connection, id);
+            } catch (SQLException e) {
+                throw new DataBaseException(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Send notification about changed coffee to other application instances. Delivered on commit.
+     */
+    private static void publish(Connection connection, long id) throws SQLException {
+        QueryUntil.notify(connection, EntityEvent.CHANNEL, new EntityEvent(EntityEvent.Type.COFFEE, id).toPayload());
     }
 
     /**
@@ -182,37 +200,42 @@ public class CoffeeRepositoryImp extends ReferredRepository implements CoffeeRep
 
     @Override
     public List<Coffee> findById(List<Long> idList) {
-        if (idList == null)
-            throw new NullParamException();
-        if (idList.isEmpty())
-            return new ArrayList<>();
-
-        Map<Long, Coffee> containedCoffeeMap = new HashMap<>();
-        List<Coffee> resultCoffeeList = new ArrayList<>();
-        String sql = String.format(CoffeeSQL.FIND_ALL_BY_ID.toString(), QueryUntil.generatePlaceholders(idList.size()));
-
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            for (int i = 0; i < idList.size(); i++) {
-                preparedStatement.setLong(1 + i, idList.get(i));
-            }
-
-            ResultSet resultSet = preparedStatement.executeQuery();
+        return lookup(idList).toList(idList, CoffeeNotFoundException::new);
+    }
 
-            while (resultSet.next()) {
-                Coffee coffee = mapper.map(resultSet);
-                containedCoffeeMap.put(coffee.getId(), coffee);
-            }
+    /**
+     * Find coffee objects, that exist in db, by specified ids by one query per chunk of ids.
+     *
+     * @param idList coffee id list.
+     * @return map from id to Coffee object. Missing ids are absent.
+     * @throws NullParamException when idList is null.
+     * @throws DataBaseException  sql exception.
+     */
+    @Override
+    public Map<Long, Coffee> findExisting(List<Long> idList) {
+        return lookup(idList).toMap();
+    }
 
-            for (Long id : idList) {
-                Coffee coffee = containedCoffeeMap.get(id);
-                if (coffee == null)
-                    throw new CoffeeNotFoundException(id);
+    /**
+     * Find coffee objects by ids chunk by chunk, every chunk is bound as one array.
+     */
+    private IdBatch<Coffee> lookup(List<Long> idList) {
+        IdBatch<Coffee> batch = IdBatch.of(idList);
+        if (batch.getChunkCount() == 0)
+            return batch;
 
-                resultCoffeeList.add(coffee);
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(CoffeeSQL.FIND_ALL_BY_ID.toString())) {
+            for (int chunk = 0; chunk < batch.getChunkCount(); chunk++) {
+                preparedStatement.setArray(1, batch.createArray(connection, chunk));
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Coffee coffee = mapper.map(resultSet);
+                        batch.put(coffee.getId(), coffee);
+                    }
+                }
             }
-
-            return resultCoffeeList;
+            return batch;
         } catch (SQLException e) {
             throw new DataBaseException(e.getMessage());
         }
@@ -249,6 +272,35 @@ public class CoffeeRepositoryImp extends ReferredRepository implements CoffeeRep
         }
     }
 
+    /**
+     * Find coffee's with id greater than specified one, ordered by id and limited.
+     *
+     * @param afterId id after which coffee's are found. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of coffee objects.
+     * @throws NoValidIdException    when afterId is less than zero.
+     * @throws NoValidLimitException when limit is less than one.
+     * @throws DataBaseException     sql exception.
+     */
+    @Override
+    public List<Coffee> findAllAfter(Long afterId, int limit) {
+        if (afterId != null && afterId < 0)
+            throw new NoValidIdException(afterId);
+        if (limit <= 0)
+            throw new NoValidLimitException(limit);
+
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(CoffeeSQL.FIND_ALL_AFTER.toString())) {
+            preparedStatement.setLong(1, afterId == null ? -1L : afterId);
+            preparedStatement.setLong(2, limit);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return mapper.mapToList(resultSet);
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
     /**
      * Find all coffee object's coupled with specified order id.
      *
@@ -272,10 +324,43 @@ public class CoffeeRepositoryImp extends ReferredRepository implements CoffeeRep
             preparedStatement.executeQuery();
 
             ResultSet resultSet = preparedStatement.getResultSet();
-            List<Long> coffeeIdList = mapper.mapIds(resultSet);
-            return coffeeIdList.stream().map(coffeeId -> findById(coffeeId)
-                            .orElseThrow(() -> new CoffeeNotFoundException(coffeeId)))
-                    .toList();
+            return mapper.mapToList(resultSet);
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
+    /**
+     * Find coffee's of all orders with specified ids by one query.
+     *
+     * @param orderIdList order id list.
+     * @return map from order id to list of its coffee objects. Orders without coffee are absent.
+     * @throws NullParamException when orderIdList param is null.
+     * @throws DataBaseException  sql exception.
+     */
+    @Override
+    public Map<Long, List<Coffee>> findByOrderIds(List<Long> orderIdList) {
+        if (orderIdList == null)
+            throw new NullParamException();
+
+        Map<Long, List<Coffee>> coffeeMap = new HashMap<>();
+        if (orderIdList.isEmpty())
+            return coffeeMap;
+
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(CoffeeSQL.FIND_ALL_BY_ORDER_ID.toString())) {
+            preparedStatement.setArray(1, QueryUntil.createIdArray(connection, orderIdList));
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            int orderIdColumn = resultSet.findColumn("order_id");
+
+            while (resultSet.next()) {
+                Long orderId = resultSet.getLong(orderIdColumn);
+                coffeeMap.computeIfAbsent(orderId, id -> new ArrayList<>())
+                        .add(mapper.map(resultSet));
+            }
+
+            return coffeeMap;
         } catch (SQLException e) {
             throw new DataBaseException(e.getMessage());
         }
@@ -0,0 +1,123 @@
+package org.example.repository;
+
+import org.example.db.ConnectionManager;
+import org.example.entity.exception.NullParamException;
+import org.example.repository.exception.DataBaseException;
+import org.example.repository.until.OrderCoffeeSQL;
+import org.example.repository.until.OrderSQL;
+import org.example.repository.until.QueryUntil;
+import org.example.service.gateway.CopyFormat;
+import org.example.service.gateway.CopyTable;
+import org.example.service.dto.OrderEvent;
+import org.example.service.gateway.OrderCopyRepository;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Class to bulk export and import of order tables by postgres COPY.
+ * Data is streamed between stream and db by CopyManager, rows are never held in memory.
+ */
+public class OrderCopyRepositoryImp implements OrderCopyRepository {
+    private static final int COPY_IN_BUFFER_SIZE = 64 * 1024;
+    private final ConnectionManager connectionManager;
+
+    public OrderCopyRepositoryImp(ConnectionManager connectionManager) {
+        if (connectionManager == null)
+            throw new NullParamException();
+
+        this.connectionManager = connectionManager;
+    }
+
+    /**
+     * Write all rows of table to stream by COPY TO STDOUT.
+     *
+     * @param table        exported table.
+     * @param format       format of written data.
+     * @param outputStream stream, rows are written to.
+     * @return number of written rows.
+     * @throws NullParamException when some param is null.
+     * @throws IOException        when writing to stream is failed.
+     * @throws DataBaseException  sql exception.
+     */
+    @Override
+    public long copyOut(CopyTable table, CopyFormat format, OutputStream outputStream) throws IOException {
+        if (table == null || format == null || outputStream == null)
+            throw new NullParamException();
+
+        String sql = String.format(copyOutSql(table), format.options());
+        try (Connection connection = connectionManager.getConnection()) {
+            return copyManager(connection).copyOut(sql, outputStream);
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
+    /**
+     * Read rows from stream and insert them to table by COPY FROM STDIN in one transaction.
+     * Orders are imported with their ids, so id sequence is moved after the greatest id.
+     * Imported rows are not known one by one, so single RELOADED OrderEvent is sent instead,
+     * which is delivered on commit.
+     *
+     * @param table       imported table.
+     * @param format      format of read data.
+     * @param inputStream stream, rows are read from.
+     * @return number of inserted rows.
+     * @throws NullParamException when some param is null.
+     * @throws IOException        when reading from stream is failed.
+     * @throws DataBaseException  sql exception, including duplicated ids and not present references.
+     */
+    @Override
+    public long copyIn(CopyTable table, CopyFormat format, InputStream inputStream) throws IOException {
+        if (table == null || format == null || inputStream == null)
+            throw new NullParamException();
+
+        String sql = String.format(copyInSql(table), format.options());
+        try {
+            return connectionManager.inTransaction(() -> {
+                try (Connection connection = connectionManager.getConnection()) {
+                    long rowCount = copyManager(connection).copyIn(sql, inputStream, COPY_IN_BUFFER_SIZE);
+
+                    if (table == CopyTable.ORDER) {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute(OrderSQL.RESET_ID_SEQUENCE.toString());
+                        }
+                    }
+                    QueryUntil.notify(connection, OrderEvent.CHANNEL, OrderEvent.reloaded().toPayload());
+                    return rowCount;
+                } catch (SQLException e) {
+                    throw new DataBaseException(e.getMessage());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static CopyManager copyManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    private static String copyOutSql(CopyTable table) {
+        return switch (table) {
+            case ORDER -> OrderSQL.COPY_OUT.toString();
+            case ORDER_COFFEE -> OrderCoffeeSQL.COPY_OUT.toString();
+        };
+    }
+
+    private static String copyInSql(CopyTable table) {
+        return switch (table) {
+            case ORDER -> OrderSQL.COPY_IN.toString();
+            case ORDER_COFFEE -> OrderCoffeeSQL.COPY_IN.toString();
+        };
+    }
+}
@@ -8,24 +8,48 @@ import org.example.entity.exception.NullParamException;
 import org.example.entity.exception.OrderNotFoundException;
 import org.example.repository.exception.DataBaseException;
 import org.example.repository.mapper.OrderMapper;
+import org.example.repository.until.IdBatch;
+import org.example.repository.until.NotificationSQL;
 import org.example.repository.until.OrderSQL;
 import org.example.repository.until.QueryUntil;
+import org.example.service.dto.OrderCompletion;
+import org.example.service.dto.OrderEvent;
 import org.example.service.exception.NoValidLimitException;
 import org.example.service.exception.NoValidPageException;
+import org.example.service.exception.OrderAlreadyCompletedException;
+import org.example.service.gateway.BaristaRepository;
 import org.example.service.gateway.OrderRepository;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Class to interact with order entity in db.
+ * Order and its references to coffee are written in one transaction.
+ * Every write also sends OrderEvent notification, which is delivered to listeners on commit.
  */
 public class OrderRepositoryImp extends ReferredRepository implements OrderRepository {
     private final OrderMapper mapper;
 
     public OrderRepositoryImp(ConnectionManager connectionManager) {
+        this(connectionManager, new BaristaRepositoryImp(connectionManager));
+    }
+
+    /**
+     * Create repository, which resolves orders' baristas by specified barista repository.
+     *
+     * @param connectionManager manager of db connections.
+     * @param baristaRepository repository used to find baristas of read orders.
+     * @throws NullParamException when some param is null.
+     */
+    public OrderRepositoryImp(ConnectionManager connectionManager, BaristaRepository baristaRepository) {
         super(connectionManager);
-        this.mapper = new OrderMapper(new BaristaRepositoryImp(connectionManager));
+        if (baristaRepository == null)
+            throw new NullParamException();
+
+        this.mapper = new OrderMapper(baristaRepository);
     }
 
 
@@ -44,34 +68,123 @@ public class OrderRepositoryImp extends ReferredRepository implements OrderRepos
 
         Order newOrder = new Order(order.getBarista(), order.getCoffeeList(), order.getCreated(), order.getCompleted(), order.getPrice());
 
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.CREATE.toString(), Statement.RETURN_GENERATED_KEYS)) {
-            preparedStatement.setLong(1, newOrder.getBarista().getId());
+        return connectionManager.inTransaction(() -> {
+            try (Connection connection = connectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.CREATE.toString(), Statement.RETURN_GENERATED_KEYS)) {
+                preparedStatement.setLong(1, newOrder.getBarista().getId());
 
-            if (newOrder.getCreated() == null)
-                throw new NullParamException();
+                if (newOrder.getCreated() == null)
+                    throw new NullParamException();
 
-            preparedStatement.setTimestamp(2, Timestamp.valueOf(newOrder.getCreated()));
+                preparedStatement.setTimestamp(2, Timestamp.valueOf(newOrder.getCreated()));
 
-            if (newOrder.getCompleted() != null)
-                preparedStatement.setTimestamp(3, Timestamp.valueOf(newOrder.getCompleted()));
-            else preparedStatement.setTimestamp(3, null);
+                if (newOrder.getCompleted() != null)
+                    preparedStatement.setTimestamp(3, Timestamp.valueOf(newOrder.getCompleted()));
+                else preparedStatement.setTimestamp(3, null);
 
-            preparedStatement.setDouble(4, newOrder.getPrice());
-            preparedStatement.executeUpdate();
+                preparedStatement.setDouble(4, newOrder.getPrice());
+                preparedStatement.executeUpdate();
 
-            ResultSet resultSet = preparedStatement.getGeneratedKeys();
-            if (resultSet.next())
-                newOrder.setId(resultSet.getLong(1));
+                ResultSet resultSet = preparedStatement.getGeneratedKeys();
+                if (resultSet.next())
+                    newOrder.setId(resultSet.getLong(1));
+
+                //add relations
+                List<Long> coffeeIdList = newOrder.getCoffeeList().stream()
+                        .map(Coffee::getId)
+                        .toList();
+                addAllReference(newOrder.getId(), coffeeIdList);
+                publish(List.of(new OrderEvent(OrderEvent.Type.CREATED, newOrder.getId())));
+
+                return newOrder;
+            } catch (SQLException e) {
+                throw new DataBaseException(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Create all orders by one insert of arrays and their references to coffee by one batch.
+     * Everything is written in one transaction: either all orders are created or none.
+     *
+     * @param orderList created orders.
+     * @return list of new order objects with specified ids, in the same order.
+     * @throws NullParamException when orderList is null, contains null or order without created field.
+     * @throws DataBaseException  sql exception.
+     */
+    @Override
+    public List<Order> createAll(List<Order> orderList) {
+        if (orderList == null)
+            throw new NullParamException();
+        if (orderList.isEmpty())
+            return new ArrayList<>();
+
+        List<Order> newOrderList = new ArrayList<>(orderList.size());
+        for (Order order : orderList) {
+            if (order == null || order.getCreated() == null)
+                throw new NullParamException();
+
+            newOrderList.add(new Order(order.getBarista(), order.getCoffeeList(), order.getCreated(), order.getCompleted(), order.getPrice()));
+        }
+
+        return connectionManager.inTransaction(() -> {
+            insertAll(newOrderList);
 
             //add relations
-            List<Long> coffeeIdList = newOrder.getCoffeeList().stream()
-                    .map(Coffee::getId)
-                    .toList();
-            addAllReference(newOrder.getId(), coffeeIdList);
+            Map<Long, List<Long>> coffeeIdListByOrderId = new LinkedHashMap<>();
+            for (Order newOrder : newOrderList) {
+                coffeeIdListByOrderId.put(newOrder.getId(), newOrder.getCoffeeList().stream()
+                        .map(Coffee::getId)
+                        .toList());
+            }
+            addAllReference(coffeeIdListByOrderId);
+            publish(newOrderList.stream()
+                    .map(newOrder -> new OrderEvent(OrderEvent.Type.CREATED, newOrder.getId()))
+                    .toList());
+
+            return newOrderList;
+        });
+    }
+
+    /**
+     * Insert orders by one statement and set returned ids to them.
+     * Columns are bound as four arrays, so statement text is the same for any number of orders
+     * and prepared statement is reused. Rows are inserted in order of list, so ids are ascending in it.
+     *
+     * @param orderList inserted orders.
+     * @throws DataBaseException sql exception.
+     */
+    private void insertAll(List<Order> orderList) {
+        long[] baristaIds = new long[orderList.size()];
+        Timestamp[] createdArray = new Timestamp[orderList.size()];
+        Timestamp[] completedArray = new Timestamp[orderList.size()];
+        Double[] priceArray = new Double[orderList.size()];
+        for (int i = 0; i < orderList.size(); i++) {
+            Order order = orderList.get(i);
+            baristaIds[i] = order.getBarista().getId();
+            createdArray[i] = Timestamp.valueOf(order.getCreated());
+            completedArray[i] = order.getCompleted() != null ? Timestamp.valueOf(order.getCompleted()) : null;
+            priceArray[i] = order.getPrice();
+        }
 
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.CREATE_ALL.toString())) {
+            preparedStatement.setArray(1, QueryUntil.createIdArray(connection, baristaIds));
+            preparedStatement.setArray(2, connection.createArrayOf("timestamp", createdArray));
+            preparedStatement.setArray(3, connection.createArrayOf("timestamp", completedArray));
+            preparedStatement.setArray(4, connection.createArrayOf("float8", priceArray));
 
-            return newOrder;
+            ResultSet resultSet = preparedStatement.executeQuery();
+            long[] ids = new long[orderList.size()];
+            for (int i = 0; i < ids.length; i++) {
+                if (!resultSet.next())
+                    throw new DataBaseException("Not all orders are inserted!");
+                ids[i] = resultSet.getLong(1);
+            }
+            Arrays.sort(ids);
+            for (int i = 0; i < ids.length; i++) {
+                orderList.get(i).setId(ids[i]);
+            }
         } catch (SQLException e) {
             throw new DataBaseException(e.getMessage());
         }
@@ -93,35 +206,37 @@ public class OrderRepositoryImp extends ReferredRepository implements OrderRepos
 
         Order newOrder = new Order(order.getId(), order.getBarista(), order.getCoffeeList(), order.getCreated(), order.getCompleted(), order.getPrice());
 
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.UPDATE.toString())) {
-            preparedStatement.setLong(1, newOrder.getBarista().getId());
-            if (newOrder.getCreated() == null)
-                throw new NullParamException();
-
-            preparedStatement.setTimestamp(2, Timestamp.valueOf(newOrder.getCreated()));
-
-            if (newOrder.getCompleted() != null)
-                preparedStatement.setTimestamp(3, Timestamp.valueOf(newOrder.getCompleted()));
-            else preparedStatement.setTimestamp(3, null);
-
-            preparedStatement.setDouble(4, newOrder.getPrice());
-            preparedStatement.setLong(5, newOrder.getId());
-            preparedStatement.executeUpdate();
-            if (preparedStatement.getUpdateCount() == 0)
-                throw new OrderNotFoundException(order.getId());
-
-            //update relations
-            deleteReferencesByOrderId(newOrder.getId());
-            List<Long> coffeeIdList = newOrder.getCoffeeList().stream()
-                    .map(Coffee::getId)
-                    .toList();
-            addAllReference(newOrder.getId(), coffeeIdList);
-
-            return newOrder;
-        } catch (SQLException e) {
-            throw new DataBaseException(e.getMessage());
-        }
+        return connectionManager.inTransaction(() -> {
+            try (Connection connection = connectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.UPDATE.toString())) {
+                preparedStatement.setLong(1, newOrder.getBarista().getId());
+                if (newOrder.getCreated() == null)
+                    throw new NullParamException();
+
+                preparedStatement.setTimestamp(2, Timestamp.valueOf(newOrder.getCreated()));
+
+                if (newOrder.getCompleted() != null)
+                    preparedStatement.setTimestamp(3, Timestamp.valueOf(newOrder.getCompleted()));
+                else preparedStatement.setTimestamp(3, null);
+
+                preparedStatement.setDouble(4, newOrder.getPrice());
+                preparedStatement.setLong(5, newOrder.getId());
+                preparedStatement.executeUpdate();
+                if (preparedStatement.getUpdateCount() == 0)
+                    throw new OrderNotFoundException(order.getId());
+
+                //update relations
+                List<Long> coffeeIdList = newOrder.getCoffeeList().stream()
+                        .map(Coffee::getId)
+                        .toList();
+                replaceReferences(newOrder.getId(), coffeeIdList);
+                publish(List.of(new OrderEvent(OrderEvent.Type.UPDATED, newOrder.getId())));
+
+                return newOrder;
+            } catch (SQLException e) {
+                throw new DataBaseException(e.getMessage());
+            }
+        });
     }
 
     /**
@@ -140,15 +255,83 @@ public class OrderRepositoryImp extends ReferredRepository implements OrderRepos
         if (id < 0)
             throw new NoValidIdException(id);
 
-        deleteReferencesByOrderId(id);
+        connectionManager.inTransaction(() -> {
+            deleteReferencesByOrderId(id);
+
+            try (Connection connection = connectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.DELETE.toString())) {
+                preparedStatement.setLong(1, id);
+                preparedStatement.executeUpdate();
+                if (preparedStatement.getUpdateCount() == 0)
+                    throw new OrderNotFoundException(id);
+
+            } catch (SQLException e) {
+                throw new DataBaseException(e.getMessage());
+            }
+            publish(List.of(new OrderEvent(OrderEvent.Type.DELETED, id)));
+        });
+    }
 
+    /**
+     * Send notifications about order changes by one statement.
+     * Inside transaction notifications are delivered to listeners only after commit, and never after rollback.
+     *
+     * @param eventList sent events.
+     * @throws DataBaseException sql exception.
+     */
+    private void publish(List<OrderEvent> eventList) {
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.DELETE.toString())) {
-            preparedStatement.setLong(1, id);
-            preparedStatement.executeUpdate();
-            if (preparedStatement.getUpdateCount() == 0)
-                throw new OrderNotFoundException(id);
+             PreparedStatement preparedStatement = connection.prepareStatement(NotificationSQL.NOTIFY_ALL.toString())) {
+            preparedStatement.setString(1, OrderEvent.CHANNEL);
+            preparedStatement.setArray(2, connection.createArrayOf("text", eventList.stream()
+                    .map(OrderEvent::toPayload)
+                    .toArray()));
+            preparedStatement.executeQuery();
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
 
+    /**
+     * Complete order by one conditional update, which also reads ids of order's coffee
+     * and sends OrderEvent notification. When nothing is updated, the same statement reads
+     * the order as is, so already completed order is distinguished from absent one.
+     *
+     * @param id        completing order's id.
+     * @param completed time of completion.
+     * @return completed order and ids of its coffee.
+     * @throws NullParamException             when some param is null.
+     * @throws NoValidIdException             when id is less than zero.
+     * @throws OrderNotFoundException         when order with specified id is not found in db.
+     * @throws OrderAlreadyCompletedException when order is already completed.
+     * @throws DataBaseException              sql exception.
+     */
+    @Override
+    public OrderCompletion complete(Long id, LocalDateTime completed) {
+        if (id == null || completed == null)
+            throw new NullParamException();
+        if (id < 0)
+            throw new NoValidIdException(id);
+
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.COMPLETE.toString())) {
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(completed));
+            preparedStatement.setLong(2, id);
+            preparedStatement.setString(3, OrderEvent.CHANNEL);
+            preparedStatement.setString(4, new OrderEvent(OrderEvent.Type.UPDATED, id).toPayload());
+            preparedStatement.setLong(5, id);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next())
+                    throw new OrderNotFoundException(id);
+
+                Order order = mapper.map(resultSet);
+                if (!resultSet.getBoolean("updated"))
+                    throw new OrderAlreadyCompletedException(order);
+
+                Long[] coffeeIds = (Long[]) resultSet.getArray("coffee_ids").getArray();
+                return new OrderCompletion(order, List.of(coffeeIds));
+            }
         } catch (SQLException e) {
             throw new DataBaseException(e.getMessage());
         }
@@ -173,6 +356,37 @@ public class OrderRepositoryImp extends ReferredRepository implements OrderRepos
         }
     }
 
+    /**
+     * Read all orders by server-side cursor and pass them to consumer chunk by chunk.
+     * Rows are fetched from db by chunkSize inside one transaction,
+     * so the whole table is never held in memory.
+     *
+     * @param chunkSize     maximum number of orders in one chunk.
+     * @param chunkConsumer consumer of chunks, called in order of orders' ids.
+     * @throws NullParamException    when chunkConsumer is null.
+     * @throws NoValidLimitException when chunkSize is less than one.
+     * @throws DataBaseException     sql exception.
+     */
+    @Override
+    public void findAll(int chunkSize, Consumer<List<Order>> chunkConsumer) {
+        if (chunkConsumer == null)
+            throw new NullParamException();
+        if (chunkSize <= 0)
+            throw new NoValidLimitException(chunkSize);
+
+        connectionManager.inTransaction(() -> {
+            try (Connection connection = connectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.FIND_ALL_ORDERED.toString())) {
+                preparedStatement.setFetchSize(chunkSize);
+
+                ResultSet resultSet = preparedStatement.executeQuery();
+                mapper.mapInChunks(resultSet, chunkSize, chunkConsumer);
+            } catch (SQLException e) {
+                throw new DataBaseException(e.getMessage());
+            }
+        });
+    }
+
     /**
      * Find all order grouped by page and limited.
      *
@@ -203,6 +417,83 @@ public class OrderRepositoryImp extends ReferredRepository implements OrderRepos
         }
     }
 
+    /**
+     * Find orders with id greater than specified one, ordered by id and limited.
+     *
+     * @param afterId id after which orders are found. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of order objects.
+     * @throws NoValidIdException    when afterId is less than zero.
+     * @throws NoValidLimitException when limit is less than one.
+     * @throws DataBaseException     sql exception.
+     */
+    @Override
+    public List<Order> findAllAfter(Long afterId, int limit) {
+        if (afterId != null && afterId < 0)
+            throw new NoValidIdException(afterId);
+        if (limit <= 0)
+            throw new NoValidLimitException(limit);
+
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.FIND_ALL_AFTER.toString())) {
+            preparedStatement.setLong(1, afterId == null ? -1L : afterId);
+            preparedStatement.setLong(2, limit);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return mapper.mapToList(resultSet);
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
+    /**
+     * Find not completed orders, oldest created - first.
+     *
+     * @return list of not completed orders.
+     * @throws DataBaseException sql exception.
+     */
+    @Override
+    public List<Order> findQueue() {
+        return findQueue(null);
+    }
+
+    /**
+     * Find not completed orders, oldest created - first, limited.
+     *
+     * @param limit number of maximum objects in list.
+     * @return list of not completed orders.
+     * @throws NoValidLimitException when limit is less than one.
+     * @throws DataBaseException     sql exception.
+     */
+    @Override
+    public List<Order> findQueue(int limit) {
+        if (limit <= 0)
+            throw new NoValidLimitException(limit);
+
+        return findQueue(Integer.valueOf(limit));
+    }
+
+    /**
+     * Find not completed orders by queue query.
+     *
+     * @param limit number of maximum objects in list, null - without limit.
+     * @return list of not completed orders.
+     * @throws DataBaseException sql exception.
+     */
+    private List<Order> findQueue(Integer limit) {
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.FIND_QUEUE.toString())) {
+            if (limit != null)
+                preparedStatement.setLong(1, limit);
+            else preparedStatement.setNull(1, Types.BIGINT);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return mapper.mapToList(resultSet);
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
     /**
      * Find order with specified id.
      *
@@ -232,40 +523,33 @@ public class OrderRepositoryImp extends ReferredRepository implements OrderRepos
         }
     }
 
+    /**
+     * Find orders by specified ids chunk by chunk, every chunk is bound as one array.
+     * Baristas of every chunk are resolved by one query.
+     *
+     * @param idList order id list, can contain duplicates.
+     * @return list of orders in order of ids.
+     * @throws NullParamException     when idList is null or contains null.
+     * @throws OrderNotFoundException when some order is not found in db.
+     * @throws DataBaseException      sql exception.
+     */
     @Override
     public List<Order> findById(List<Long> idList) {
-        if (idList == null)
-            throw new NullParamException();
-        if (idList.isEmpty())
+        IdBatch<Order> batch = IdBatch.of(idList);
+        if (batch.getChunkCount() == 0)
             return new ArrayList<>();
 
-
-        Map<Long, Order> containedOrderMap = new HashMap<>();
-        List<Order> resultOrderList = new ArrayList<>();
-        String sql = String.format(OrderSQL.FIND_ALL_BY_ID.toString(), QueryUntil.generatePlaceholders(idList.size()));
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            for (int i = 0; i < idList.size(); i++) {
-                preparedStatement.setLong(1 + i, idList.get(i));
+             PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.FIND_ALL_BY_ID.toString())) {
+            for (int chunk = 0; chunk < batch.getChunkCount(); chunk++) {
+                preparedStatement.setArray(1, batch.createArray(connection, chunk));
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    for (Order order : mapper.mapToList(resultSet)) {
+                        batch.put(order.getId(), order);
+                    }
+                }
             }
-
-            ResultSet resultSet = preparedStatement.executeQuery();
-
-            while (resultSet.next()) {
-                Order order = mapper.map(resultSet);
-                containedOrderMap.put(order.getId(), order);
-            }
-
-            for (Long id : idList) {
-                Order order = containedOrderMap.get(id);
-                if (order == null)
-                    throw new OrderNotFoundException(id);
-
-                resultOrderList.add(order);
-            }
-
-            return resultOrderList;
+            return batch.toList(idList, OrderNotFoundException::new);
 
         } catch (SQLException e) {
             throw new DataBaseException(e.getMessage());
@@ -309,7 +593,6 @@ public class OrderRepositoryImp extends ReferredRepository implements OrderRepos
      * @return list of order object's that contains specified coffee.
      * @throws NullParamException     when id is null.
      * @throws NoValidIdException     when id is less than zero.
-     * @throws OrderNotFoundException when order with specified id is not found in db.
      * @throws DataBaseException      sql exception.
      */
     @Override
@@ -325,11 +608,34 @@ public class OrderRepositoryImp extends ReferredRepository implements OrderRepos
             preparedStatement.executeQuery();
 
             ResultSet resultSet = preparedStatement.getResultSet();
-            List<Long> orderIdList = mapper.mapIds(resultSet);
-            return orderIdList.stream()
-                    .map(orderId -> findById(orderId)
-                            .orElseThrow(() -> new OrderNotFoundException(orderId)))
-                    .toList();
+            return mapper.mapToList(resultSet);
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
+    /**
+     * Find orders of all coffee with specified ids.
+     * Orders are found by one query, their baristas - by another one.
+     *
+     * @param coffeeIdList coffee id list.
+     * @return map from coffee id to list of orders that contains it. Coffee without orders are absent.
+     * @throws NullParamException when coffeeIdList is null.
+     * @throws DataBaseException  sql exception.
+     */
+    @Override
+    public Map<Long, List<Order>> findByCoffeeIds(List<Long> coffeeIdList) {
+        if (coffeeIdList == null)
+            throw new NullParamException();
+        if (coffeeIdList.isEmpty())
+            return new HashMap<>();
+
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.FIND_ALL_BY_COFFEE_ID.toString())) {
+            preparedStatement.setArray(1, QueryUntil.createIdArray(connection, coffeeIdList));
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return mapper.mapToGroupedList(resultSet, "coffee_id");
         } catch (SQLException e) {
             throw new DataBaseException(e.getMessage());
         }
@@ -350,13 +656,16 @@ public class OrderRepositoryImp extends ReferredRepository implements OrderRepos
         if (orderId < 0)
             throw new NoValidIdException(orderId);
 
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.SET_BARISTA_DEFAULT.toString())) {
-            preparedStatement.setLong(1, orderId);
-            preparedStatement.executeQuery();
+        connectionManager.inTransaction(() -> {
+            try (Connection connection = connectionManager.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(OrderSQL.SET_BARISTA_DEFAULT.toString())) {
+                preparedStatement.setLong(1, orderId);
+                preparedStatement.executeUpdate();
 
-        } catch (SQLException e) {
-            throw new DataBaseException(e.getMessage());
-        }
+            } catch (SQLException e) {
+                throw new DataBaseException(e.getMessage());
+            }
+            publish(List.of(new OrderEvent(OrderEvent.Type.UPDATED, orderId)));
+        });
     }
 }
@@ -6,12 +6,15 @@ import org.example.entity.exception.NullParamException;
 import org.example.repository.exception.DataBaseException;
 import org.example.repository.exception.KeyNotPresentException;
 import org.example.repository.until.OrderCoffeeSQL;
+import org.example.repository.until.QueryUntil;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.List;
+import java.util.Map;
 
 public abstract class ReferredRepository {
     protected final ConnectionManager connectionManager;
@@ -65,6 +68,44 @@ public abstract class ReferredRepository {
         }
     }
 
+    /**
+     * Make references of order equal to specified coffee ids by one statement.
+     * Only missing references are inserted and only excess ones are deleted,
+     * so references of order with unchanged coffee list are not written at all.
+     *
+     * @param orderId      id of order.
+     * @param coffeeIdList ids of all order's coffee.
+     * @return number of inserted and deleted references.
+     * @throws NullParamException     when some param is null.
+     * @throws NoValidIdException     when orderId is less than zero.
+     * @throws KeyNotPresentException when some coffee is not present in db.
+     * @throws DataBaseException      sql exception.
+     */
+    protected int replaceReferences(Long orderId, List<Long> coffeeIdList) {
+        if (orderId == null || coffeeIdList == null)
+            throw new NullParamException();
+        if (orderId < 0)
+            throw new NoValidIdException(orderId);
+
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(OrderCoffeeSQL.REPLACE_BY_ORDER_ID.toString())) {
+            preparedStatement.setArray(1, QueryUntil.createIdArray(connection, coffeeIdList));
+            preparedStatement.setLong(2, orderId);
+            preparedStatement.setLong(3, orderId);
+            preparedStatement.setLong(4, orderId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+
+        } catch (SQLIntegrityConstraintViolationException e) {
+            throw new KeyNotPresentException(e.getMessage());
+
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
     protected void addReference(Long orderId, Long coffeeId) {
 
         try (Connection connection = connectionManager.getConnection();
@@ -119,6 +160,34 @@ public abstract class ReferredRepository {
         }
     }
 
+    /**
+     * Add references of many orders to their coffee by one batch.
+     *
+     * @param coffeeIdListByOrderId map from order id to ids of its coffee.
+     * @throws KeyNotPresentException when some order or coffee is not present in db.
+     * @throws DataBaseException      sql exception.
+     */
+    protected void addAllReference(Map<Long, List<Long>> coffeeIdListByOrderId) {
+
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(OrderCoffeeSQL.UPDATE_PAIRS.toString())) {
+            for (Map.Entry<Long, List<Long>> entry : coffeeIdListByOrderId.entrySet()) {
+                preparedStatement.setLong(1, entry.getKey());
+                for (Long coffeeId : entry.getValue()) {
+                    preparedStatement.setLong(2, coffeeId);
+                    preparedStatement.addBatch();
+                }
+            }
+            preparedStatement.executeBatch();
+
+        } catch (SQLIntegrityConstraintViolationException e) {
+            throw new KeyNotPresentException(e.getMessage());
+
+        } catch (SQLException e) {
+            throw new DataBaseException(e.getMessage());
+        }
+    }
+
     protected void deleteReference(Long coffeeId, Long orderId) {
 
         try (Connection connection = connectionManager.getConnection();
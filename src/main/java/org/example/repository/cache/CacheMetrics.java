@@ -0,0 +1,42 @@
+package org.example.repository.cache;
+
+import org.example.db.metrics.MetricsExporter;
+import org.example.entity.exception.NullParamException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hit, miss and eviction counters of entity caches.
+ */
+public class CacheMetrics implements MetricsExporter {
+    private final List<EntityCache<?>> caches;
+
+    public CacheMetrics(List<EntityCache<?>> caches) {
+        if (caches == null || caches.contains(null))
+            throw new NullParamException();
+
+        this.caches = List.copyOf(caches);
+    }
+
+    @Override
+    public void export(Writer writer) throws IOException {
+        StringBuilder out = new StringBuilder();
+        appendFamily(out, "cache_hits_total", "Lookups served from cache.", "counter", EntityCache::getHits);
+        appendFamily(out, "cache_misses_total", "Lookups not found in cache.", "counter", EntityCache::getMisses);
+        appendFamily(out, "cache_evictions_total", "Entities evicted by size limit.", "counter", EntityCache::getEvictions);
+        appendFamily(out, "cache_size", "Entities in cache.", "gauge", EntityCache::size);
+        writer.write(out.toString());
+    }
+
+    private void appendFamily(StringBuilder out, String name, String help, String type, ToLongFunction<EntityCache<?>> value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (EntityCache<?> cache : caches) {
+            out.append(name).append("{cache=\"").append(cache.getName()).append("\"} ")
+                    .append(value.applyAsLong(cache)).append('\n');
+        }
+    }
+}
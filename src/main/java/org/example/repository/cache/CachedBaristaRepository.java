@@ -0,0 +1,110 @@
+package org.example.repository.cache;
+
+import org.example.entity.Barista;
+import org.example.entity.exception.BaristaNotFoundException;
+import org.example.entity.exception.NullParamException;
+import org.example.service.gateway.BaristaRepository;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Read-through cache of barista lookups by id around barista repository.
+ * Update and delete through this repository invalidate cached barista.
+ */
+public class CachedBaristaRepository implements BaristaRepository {
+    private final BaristaRepository delegate;
+    private final EntityCache<Barista> cache;
+
+    /**
+     * Create caching decorator.
+     *
+     * @param delegate    repository, which lookups are cached.
+     * @param maximumSize maximum number of cached barista.
+     * @param ttl         time after which barista is loaded from db again.
+     * @throws NullParamException when delegate or ttl is null.
+     */
+    public CachedBaristaRepository(BaristaRepository delegate, int maximumSize, Duration ttl) {
+        if (delegate == null)
+            throw new NullParamException();
+
+        this.delegate = delegate;
+        this.cache = new EntityCache<>("barista", maximumSize, ttl, CachedBaristaRepository::copy);
+    }
+
+    public EntityCache<Barista> getCache() {
+        return cache;
+    }
+
+    @Override
+    public Barista create(Barista barista) {
+        return delegate.create(barista);
+    }
+
+    @Override
+    public Barista update(Barista barista) {
+        Barista updated = delegate.update(barista);
+        cache.invalidate(updated.getId());
+        return updated;
+    }
+
+    @Override
+    public void delete(Long id) {
+        delegate.delete(id);
+        cache.invalidate(id);
+    }
+
+    @Override
+    public List<Barista> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Barista> findAllByPage(int page, int limit) {
+        return delegate.findAllByPage(page, limit);
+    }
+
+    @Override
+    public List<Barista> findAllAfter(Long afterId, int limit) {
+        return delegate.findAllAfter(afterId, limit);
+    }
+
+    /**
+     * Find barista in cache, or in db when it is not cached.
+     *
+     * @param id barista's id.
+     * @return Optional barista object.
+     */
+    @Override
+    public Optional<Barista> findById(Long id) {
+        return cache.getOrLoad(id, delegate::findById);
+    }
+
+    /**
+     * Find barista objects in cache, not cached ones are found in db by one query.
+     *
+     * @param idList barista id list.
+     * @return list of barista objects in the same order as ids.
+     * @throws NullParamException       when idList is null.
+     * @throws BaristaNotFoundException when some of barista is not found in db.
+     */
+    @Override
+    public List<Barista> findById(List<Long> idList) {
+        Map<Long, Barista> foundMap = cache.getAll(idList, delegate::findById, Barista::getId);
+
+        List<Barista> resultList = new ArrayList<>(idList.size());
+        for (Long id : idList) {
+            resultList.add(foundMap.get(id));
+        }
+        return resultList;
+    }
+
+    @Override
+    public Map<Long, Barista> findExisting(List<Long> idList) {
+        return cache.getAll(idList, missedIdList -> delegate.findExisting(missedIdList).values(), Barista::getId);
+    }
+
+    private static Barista copy(Barista barista) {
+        return new Barista(barista.getId(), barista.getFullName(), new ArrayList<>(), barista.getTipSize());
+    }
+}
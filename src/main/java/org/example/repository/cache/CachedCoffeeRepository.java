@@ -0,0 +1,120 @@
+package org.example.repository.cache;
+
+import org.example.entity.Coffee;
+import org.example.entity.exception.CoffeeNotFoundException;
+import org.example.entity.exception.NullParamException;
+import org.example.service.gateway.CoffeeRepository;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Read-through cache of coffee lookups by id around coffee repository.
+ * Update and delete through this repository invalidate cached coffee.
+ */
+public class CachedCoffeeRepository implements CoffeeRepository {
+    private final CoffeeRepository delegate;
+    private final EntityCache<Coffee> cache;
+
+    /**
+     * Create caching decorator.
+     *
+     * @param delegate    repository, which lookups are cached.
+     * @param maximumSize maximum number of cached coffee.
+     * @param ttl         time after which coffee is loaded from db again.
+     * @throws NullParamException when delegate or ttl is null.
+     */
+    public CachedCoffeeRepository(CoffeeRepository delegate, int maximumSize, Duration ttl) {
+        if (delegate == null)
+            throw new NullParamException();
+
+        this.delegate = delegate;
+        this.cache = new EntityCache<>("coffee", maximumSize, ttl, CachedCoffeeRepository::copy);
+    }
+
+    public EntityCache<Coffee> getCache() {
+        return cache;
+    }
+
+    @Override
+    public Coffee create(Coffee coffee) {
+        return delegate.create(coffee);
+    }
+
+    @Override
+    public Coffee update(Coffee coffee) {
+        Coffee updated = delegate.update(coffee);
+        cache.invalidate(updated.getId());
+        return updated;
+    }
+
+    @Override
+    public void delete(Long id) {
+        delegate.delete(id);
+        cache.invalidate(id);
+    }
+
+    @Override
+    public List<Coffee> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Coffee> findAllByPage(int page, int limit) {
+        return delegate.findAllByPage(page, limit);
+    }
+
+    @Override
+    public List<Coffee> findAllAfter(Long afterId, int limit) {
+        return delegate.findAllAfter(afterId, limit);
+    }
+
+    /**
+     * Find coffee in cache, or in db when it is not cached.
+     *
+     * @param id coffee's id.
+     * @return Optional coffee object.
+     */
+    @Override
+    public Optional<Coffee> findById(Long id) {
+        return cache.getOrLoad(id, delegate::findById);
+    }
+
+    /**
+     * Find coffee objects in cache, not cached ones are found in db by one query.
+     *
+     * @param idList coffee id list.
+     * @return list of coffee objects in the same order as ids.
+     * @throws NullParamException      when idList is null.
+     * @throws CoffeeNotFoundException when some of coffee is not found in db.
+     */
+    @Override
+    public List<Coffee> findById(List<Long> idList) {
+        Map<Long, Coffee> foundMap = cache.getAll(idList, delegate::findById, Coffee::getId);
+
+        List<Coffee> resultList = new ArrayList<>(idList.size());
+        for (Long id : idList) {
+            resultList.add(foundMap.get(id));
+        }
+        return resultList;
+    }
+
+    @Override
+    public Map<Long, Coffee> findExisting(List<Long> idList) {
+        return cache.getAll(idList, missedIdList -> delegate.findExisting(missedIdList).values(), Coffee::getId);
+    }
+
+    @Override
+    public List<Coffee> findByOrderId(Long id) {
+        return delegate.findByOrderId(id);
+    }
+
+    @Override
+    public Map<Long, List<Coffee>> findByOrderIds(List<Long> orderIdList) {
+        return delegate.findByOrderIds(orderIdList);
+    }
+
+    private static Coffee copy(Coffee coffee) {
+        return new Coffee(coffee.getId(), coffee.getName(), coffee.getPrice(), new ArrayList<>());
+    }
+}
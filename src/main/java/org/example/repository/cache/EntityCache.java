@@ -0,0 +1,200 @@
+package org.example.repository.cache;
+
+import org.example.entity.exception.NullParamException;
+import org.example.service.exception.NoValidLimitException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded cache of entities by id with time to live and least recently used eviction.
+ * Entities are mutable, so cache stores and returns copies made by specified copier.
+ *
+ * @param <V> type of cached entity.
+ */
+public class EntityCache<V> {
+    private final String name;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final UnaryOperator<V> copier;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<Long, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create cache.
+     *
+     * @param name        cache name, used as metrics label.
+     * @param maximumSize maximum number of entities, least recently used is evicted.
+     * @param ttl         time after which entity is loaded from db again.
+     * @param copier      function making independent copy of entity.
+     * @throws NullParamException    when some param is null.
+     * @throws NoValidLimitException when maximumSize is less than one.
+     */
+    public EntityCache(String name, int maximumSize, Duration ttl, UnaryOperator<V> copier) {
+        this(name, maximumSize, ttl, copier, System::nanoTime);
+    }
+
+    EntityCache(String name, int maximumSize, Duration ttl, UnaryOperator<V> copier, LongSupplier clock) {
+        if (name == null || ttl == null || copier == null || clock == null)
+            throw new NullParamException();
+        if (maximumSize <= 0)
+            throw new NoValidLimitException(maximumSize);
+
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.copier = copier;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<V>> eldest) {
+                boolean evict = size() > EntityCache.this.maximumSize;
+                if (evict)
+                    evictions.increment();
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Get copy of cached entity.
+     *
+     * @param id entity id.
+     * @return copy of entity, or null when it is not cached or expired.
+     */
+    public V get(Long id) {
+        V value;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(id);
+            if (entry != null && clock.getAsLong() - entry.loaded() >= ttlNanos) {
+                entries.remove(id);
+                entry = null;
+            }
+            value = entry == null ? null : entry.value();
+        }
+
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copier.apply(value);
+    }
+
+    /**
+     * Put copy of entity to cache.
+     *
+     * @param id     entity id.
+     * @param entity cached entity.
+     */
+    public void put(Long id, V entity) {
+        Entry<V> entry = new Entry<>(copier.apply(entity), clock.getAsLong());
+        synchronized (entries) {
+            entries.put(id, entry);
+        }
+    }
+
+    /**
+     * Get copy of cached entity, or load it, when it is not cached. Found entity is cached.
+     *
+     * @param id     entity id.
+     * @param loader loader of entity by id.
+     * @return Optional copy of entity.
+     */
+    public Optional<V> getOrLoad(Long id, Function<Long, Optional<V>> loader) {
+        V cached = get(id);
+        if (cached != null)
+            return Optional.of(cached);
+
+        Optional<V> found = loader.apply(id);
+        found.ifPresent(entity -> put(id, entity));
+        return found;
+    }
+
+    /**
+     * Get copies of cached entities and load only missed ones by one call of loader. Loaded entities are cached.
+     *
+     * @param idList   id list, can contain duplicates.
+     * @param loader   loader of missed ids.
+     * @param idGetter getter of loaded entity's id.
+     * @return map from id to found entity.
+     * @throws NullParamException when idList is null.
+     */
+    public Map<Long, V> getAll(List<Long> idList, Function<List<Long>, Collection<V>> loader, Function<V, Long> idGetter) {
+        if (idList == null)
+            throw new NullParamException();
+
+        Map<Long, V> foundMap = new HashMap<>();
+        Set<Long> missedIdSet = new LinkedHashSet<>();
+        for (Long id : idList) {
+            if (foundMap.containsKey(id) || missedIdSet.contains(id))
+                continue;
+
+            V cached = get(id);
+            if (cached != null)
+                foundMap.put(id, cached);
+            else missedIdSet.add(id);
+        }
+
+        if (!missedIdSet.isEmpty()) {
+            for (V loaded : loader.apply(new ArrayList<>(missedIdSet))) {
+                put(idGetter.apply(loaded), loaded);
+                foundMap.put(idGetter.apply(loaded), loaded);
+            }
+        }
+        return foundMap;
+    }
+
+    /**
+     * Remove entity from cache.
+     *
+     * @param id entity id.
+     */
+    public void invalidate(Long id) {
+        synchronized (entries) {
+            entries.remove(id);
+        }
+    }
+
+    /**
+     * Remove all entities from cache.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry<V>(V value, long loaded) {
+    }
+}
@@ -10,7 +10,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.*;
+import java.util.function.Consumer;
 
 public class OrderMapper implements SimpleMapper<Order> {
     private final BaristaRepository baristaRepository;
@@ -29,6 +30,122 @@ public class OrderMapper implements SimpleMapper<Order> {
      */
     @Override
     public Order map(ResultSet resultSet) {
+        OrderRow row = readRow(resultSet);
+
+        Barista barista = baristaRepository.findById(row.baristaId())
+                .orElseThrow(() -> new BaristaNotFoundException(row.baristaId()));
+
+        return row.toOrder(barista);
+    }
+
+    /**
+     * Mapping result set to list of Order objects.
+     * All rows are read first, then baristas of all rows are resolved by one query.
+     *
+     * @param resultSet result data from sql query.
+     * @return list of Order objects.
+     * @throws NullParamException       when required params is not defined.
+     * @throws BaristaNotFoundException when some of specified baristas is not found in db.
+     */
+    @Override
+    public List<Order> mapToList(ResultSet resultSet) throws SQLException {
+        List<OrderRow> rowList = new ArrayList<>();
+        while (resultSet.next()) {
+            rowList.add(readRow(resultSet));
+        }
+        return resolve(rowList);
+    }
+
+    /**
+     * Mapping result set to Order objects chunk by chunk.
+     * Only one chunk is kept in memory, baristas of every chunk are resolved by one query.
+     *
+     * @param resultSet     result data from sql query.
+     * @param chunkSize     maximum number of orders in one chunk.
+     * @param chunkConsumer consumer of mapped chunks.
+     * @throws NullParamException       when required params is not defined.
+     * @throws BaristaNotFoundException when some of specified baristas is not found in db.
+     */
+    public void mapInChunks(ResultSet resultSet, int chunkSize, Consumer<List<Order>> chunkConsumer) throws SQLException {
+        List<OrderRow> rowList = new ArrayList<>(chunkSize);
+        while (resultSet.next()) {
+            rowList.add(readRow(resultSet));
+            if (rowList.size() == chunkSize) {
+                chunkConsumer.accept(resolve(rowList));
+                rowList.clear();
+            }
+        }
+        if (!rowList.isEmpty())
+            chunkConsumer.accept(resolve(rowList));
+    }
+
+    /**
+     * Mapping result set to Order objects grouped by value of specified key column.
+     * All rows are read first, then baristas of all rows are resolved by one query.
+     *
+     * @param resultSet result data from sql query.
+     * @param keyColumn name of column, which value is used as group key.
+     * @return map from key to list of Order objects.
+     * @throws NullParamException       when required params is not defined.
+     * @throws BaristaNotFoundException when some of specified baristas is not found in db.
+     */
+    public Map<Long, List<Order>> mapToGroupedList(ResultSet resultSet, String keyColumn) throws SQLException {
+        int keyColumnIndex = resultSet.findColumn(keyColumn);
+        List<Long> keyList = new ArrayList<>();
+        List<OrderRow> rowList = new ArrayList<>();
+        while (resultSet.next()) {
+            keyList.add(resultSet.getLong(keyColumnIndex));
+            rowList.add(readRow(resultSet));
+        }
+
+        List<Order> orderList = resolve(rowList);
+        Map<Long, List<Order>> orderMap = new HashMap<>();
+        for (int i = 0; i < orderList.size(); i++) {
+            orderMap.computeIfAbsent(keyList.get(i), key -> new ArrayList<>())
+                    .add(orderList.get(i));
+        }
+        return orderMap;
+    }
+
+    /**
+     * Stitching read rows with their baristas, that are found by one query.
+     *
+     * @param rowList read order rows.
+     * @return list of Order objects in the same order as rows.
+     */
+    private List<Order> resolve(List<OrderRow> rowList) {
+        if (rowList.isEmpty())
+            return new ArrayList<>();
+
+        List<Long> baristaIdList = rowList.stream()
+                .map(OrderRow::baristaId)
+                .distinct()
+                .toList();
+
+        Map<Long, Barista> baristaMap = new HashMap<>();
+        for (Barista barista : baristaRepository.findById(baristaIdList)) {
+            baristaMap.put(barista.getId(), barista);
+        }
+
+        List<Order> orderList = new ArrayList<>(rowList.size());
+        for (OrderRow row : rowList) {
+            Barista barista = baristaMap.get(row.baristaId());
+            if (barista == null)
+                throw new BaristaNotFoundException(row.baristaId());
+
+            orderList.add(row.toOrder(barista));
+        }
+        return orderList;
+    }
+
+    /**
+     * Reading order's columns from current row of result set.
+     *
+     * @param resultSet result data from sql query.
+     * @return read row.
+     * @throws NullParamException when required params is not defined.
+     */
+    private OrderRow readRow(ResultSet resultSet) {
         try {
             int idColumn = resultSet.findColumn("id");
             int priceColumn = resultSet.findColumn("price");
@@ -49,19 +166,25 @@ public class OrderMapper implements SimpleMapper<Order> {
             else completed = null;
 
             Double price = resultSet.getDouble(priceColumn);
+            Long baristaId = resultSet.getLong(baristaColumn);
 
+            return new OrderRow(id, baristaId, created, completed, price);
+        } catch (SQLException e) {
+            throw new NullParamException();
+        }
+    }
 
-            Long baristaId = resultSet.getLong(baristaColumn);
-            Barista barista = baristaRepository.findById(baristaId)
-                    .orElseThrow(() -> new BaristaNotFoundException(baristaId));
+    /**
+     * Order's columns, read from result set, without resolved barista.
+     */
+    private record OrderRow(Long id, Long baristaId, LocalDateTime created, LocalDateTime completed, Double price) {
 
+        Order toOrder(Barista barista) {
             Order order = new Order(id, barista, new ArrayList<>(), created, completed, price);
 
             order.setCoffeeList(new ArrayList<>());//lazy load
 
             return order;
-        } catch (SQLException e) {
-            throw new NullParamException();
         }
     }
 }
@@ -26,12 +26,20 @@ public enum BaristaSQL {
     FIND_ALL_BY_ID("""
             SELECT "id", full_name, tip_size
             FROM barista
-            WHERE "id" IN (%s)
+            WHERE "id" = ANY(?)
             """),
     FIND_ALL_BY_PAGE("""
             SELECT "id", full_name, tip_size
             FROM barista
+            ORDER BY "id"
             OFFSET ? LIMIT ?
+            """),
+    FIND_ALL_AFTER("""
+            SELECT "id", full_name, tip_size
+            FROM barista
+            WHERE "id" > ?
+            ORDER BY "id"
+            LIMIT ?
             """);
 
 
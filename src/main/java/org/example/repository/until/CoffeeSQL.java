@@ -11,6 +11,13 @@ public enum CoffeeSQL {
                 ON coffee."id"=order_coffee.coffee_id
             WHERE order_coffee.order_id=?
             """),
+    FIND_ALL_BY_ORDER_ID("""
+            SELECT order_coffee.order_id, coffee."id", coffee."name", coffee.price
+            FROM order_coffee
+            JOIN coffee
+                ON coffee."id"=order_coffee.coffee_id
+            WHERE order_coffee.order_id = ANY(?)
+            """),
     UPDATE("""
             UPDATE coffee
             SET "name"=?, price=?
@@ -27,8 +34,16 @@ public enum CoffeeSQL {
     FIND_ALL_BY_PAGE("""
             SELECT "id","name", price
             FROM coffee
+            ORDER BY "id"
             OFFSET ? LIMIT ?
             """),
+    FIND_ALL_AFTER("""
+            SELECT "id","name", price
+            FROM coffee
+            WHERE "id" > ?
+            ORDER BY "id"
+            LIMIT ?
+            """),
     FIND_BY_ID("""
             SELECT "id","name", price
             FROM coffee
@@ -37,7 +52,7 @@ public enum CoffeeSQL {
     FIND_ALL_BY_ID("""
             SELECT "id","name", price
             FROM coffee
-            WHERE "id" IN (%s)
+            WHERE "id" = ANY(?)
             """);
 
 
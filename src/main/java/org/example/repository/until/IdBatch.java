@@ -0,0 +1,140 @@
+package org.example.repository.until;
+
+import org.example.entity.exception.NullParamException;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * Lookup of objects by list of ids, bound to single "= ANY(?)" placeholder.
+ * Requested ids are kept distinct and sorted in primitive array, which is bound chunk by chunk,
+ * so list of any size is found by constant number of statement shapes.
+ * Found objects are placed by binary search of their ids and stitched in order of request without boxed keys.
+ *
+ * @param <T> type of found objects.
+ */
+public final class IdBatch<T> {
+    public static final int CHUNK_SIZE = 10_000;
+
+    private final long[] ids;
+    private final Object[] found;
+
+    private IdBatch(long[] ids) {
+        this.ids = ids;
+        this.found = new Object[ids.length];
+    }
+
+    /**
+     * Create lookup of specified ids.
+     *
+     * @param idList requested ids, can contain duplicates.
+     * @param <T>    type of found objects.
+     * @return lookup without found objects.
+     * @throws NullParamException when idList is null or contains null.
+     */
+    public static <T> IdBatch<T> of(List<Long> idList) {
+        if (idList == null)
+            throw new NullParamException();
+
+        long[] ids = new long[idList.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Long id = idList.get(i);
+            if (id == null)
+                throw new NullParamException();
+            ids[i] = id;
+        }
+        Arrays.sort(ids);
+
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[distinct - 1])
+                ids[distinct++] = ids[i];
+        }
+        return new IdBatch<>(Arrays.copyOf(ids, distinct));
+    }
+
+    /**
+     * Get number of chunks, ids are bound by.
+     *
+     * @return number of chunks. Zero when no id is requested.
+     */
+    public int getChunkCount() {
+        return (ids.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * Create sql bigint array of ids of specified chunk.
+     *
+     * @param connection connection used to create array.
+     * @param chunk      index of chunk.
+     * @return sql array to bind.
+     * @throws SQLException when array can't be created.
+     */
+    public Array createArray(Connection connection, int chunk) throws SQLException {
+        int from = chunk * CHUNK_SIZE;
+        return QueryUntil.createIdArray(connection, Arrays.copyOfRange(ids, from, Math.min(from + CHUNK_SIZE, ids.length)));
+    }
+
+    /**
+     * Put found object. Objects with not requested ids are ignored.
+     *
+     * @param id    id of found object.
+     * @param value found object.
+     */
+    public void put(long id, T value) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0)
+            found[index] = value;
+    }
+
+    /**
+     * Get found objects in order of requested ids.
+     *
+     * @param idList   requested ids, the same as lookup is created by.
+     * @param notFound creates exception thrown for id of not found object.
+     * @return list of found objects, one for every requested id.
+     */
+    public List<T> toList(List<Long> idList, LongFunction<RuntimeException> notFound) {
+        List<T> resultList = new ArrayList<>(idList.size());
+        for (Long id : idList) {
+            T value = find(id);
+            if (value == null)
+                throw notFound.apply(id);
+
+            resultList.add(value);
+        }
+        return resultList;
+    }
+
+    /**
+     * Get found objects by their ids.
+     *
+     * @return map from id to found object. Ids of not found objects are absent.
+     */
+    public Map<Long, T> toMap() {
+        Map<Long, T> foundMap = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            T value = valueAt(i);
+            if (value != null)
+                foundMap.put(ids[i], value);
+        }
+        return foundMap;
+    }
+
+    private T find(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T valueAt(int index) {
+        return (T) found[index];
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.repository.until;
+
+public enum MigrationSQL {
+    CREATE_TABLE("""
+            CREATE TABLE IF NOT EXISTS schema_migrations(
+            	"version" int not null primary key,
+            	description varchar(100) not null,
+            	checksum bigint not null,
+            	applied_at timestamp not null default now()
+            )
+            """),
+    TRY_LOCK("""
+            SELECT pg_try_advisory_lock(?)
+            """),
+    UNLOCK("""
+            SELECT pg_advisory_unlock(?)
+            """),
+    FIND_ALL("""
+            SELECT "version", checksum
+            FROM schema_migrations
+            """),
+    CREATE("""
+            INSERT INTO schema_migrations ("version", description, checksum)
+            VALUES (?, ?, ?)
+            """),
+    IS_INVALID_INDEX("""
+            SELECT NOT i.indisvalid
+            FROM pg_index i
+            JOIN pg_class c ON c.oid = i.indexrelid
+            WHERE c.relname = ?
+            """),
+    DROP_INDEX("""
+            DROP INDEX CONCURRENTLY IF EXISTS %s
+            """);
+
+
+    private final String sql;
+
+    MigrationSQL(String sql) {
+        this.sql = sql;
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+}
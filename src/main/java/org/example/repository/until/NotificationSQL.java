@@ -0,0 +1,26 @@
+package org.example.repository.until;
+
+public enum NotificationSQL {
+    LISTEN("""
+            LISTEN %s
+            """),
+    NOTIFY("""
+            SELECT pg_notify(?, ?)
+            """),
+    NOTIFY_ALL("""
+            SELECT pg_notify(?, payload)
+            FROM unnest(?) AS payload
+            """);
+
+
+    private final String sql;
+
+    NotificationSQL(String sql) {
+        this.sql = sql;
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+}
@@ -10,6 +10,24 @@ public enum OrderCoffeeSQL {
             DELETE FROM order_coffee
             WHERE order_id=? AND coffee_id=?
             """),
+    REPLACE_BY_ORDER_ID("""
+            WITH target AS (
+                SELECT DISTINCT unnest(?::bigint[]) AS coffee_id
+            ), removed AS (
+                DELETE FROM order_coffee oc
+                WHERE oc.order_id=?
+                AND NOT EXISTS (SELECT 1 FROM target t WHERE t.coffee_id=oc.coffee_id)
+                RETURNING oc.coffee_id
+            ), added AS (
+                INSERT INTO order_coffee (order_id, coffee_id)
+                SELECT ?, t.coffee_id
+                FROM target t
+                WHERE NOT EXISTS (SELECT 1 FROM order_coffee oc WHERE oc.order_id=? AND oc.coffee_id=t.coffee_id)
+                ON CONFLICT DO NOTHING
+                RETURNING coffee_id
+            )
+            SELECT (SELECT count(*) FROM removed) + (SELECT count(*) FROM added)
+            """),
     DELETE_BY_ORDER_ID("""
             DELETE FROM order_coffee
             WHERE order_id=?
@@ -17,6 +35,14 @@ public enum OrderCoffeeSQL {
     DELETE_BY_COFFEE_ID("""
             DELETE FROM order_coffee
             WHERE coffee_id=?
+            """),
+    COPY_OUT("""
+            COPY order_coffee (order_id, coffee_id)
+            TO STDOUT WITH (%s)
+            """),
+    COPY_IN("""
+            COPY order_coffee (order_id, coffee_id)
+            FROM STDIN WITH (%s)
             """);
 
     private final String sql;
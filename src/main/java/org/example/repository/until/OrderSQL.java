@@ -5,6 +5,14 @@ public enum OrderSQL {
             INSERT INTO "order" (barista, created, completed, price)
             VALUES (?,?,?,?)
             """),
+    CREATE_ALL("""
+            INSERT INTO "order" (barista, created, completed, price)
+            SELECT barista, created, completed, price
+            FROM unnest(?::bigint[], ?::timestamp[], ?::timestamp[], ?::float8[])
+                WITH ORDINALITY AS input(barista, created, completed, price, row_index)
+            ORDER BY row_index
+            RETURNING "id"
+            """),
     UPDATE("""
             UPDATE "order"
             SET barista=?, created=?, completed=?, price=?
@@ -18,11 +26,43 @@ public enum OrderSQL {
             SELECT "id", barista, created, completed, price
             FROM "order"
             """),
+    FIND_ALL_ORDERED("""
+            SELECT "id", barista, created, completed, price
+            FROM "order"
+            ORDER BY "id"
+            """),
     FIND_ALL_BY_PAGE("""
             SELECT "id", barista, created, completed, price
             FROM "order"
+            ORDER BY "id"
             OFFSET ? LIMIT ?
             """),
+    FIND_ALL_AFTER("""
+            SELECT "id", barista, created, completed, price
+            FROM "order"
+            WHERE "id" > ?
+            ORDER BY "id"
+            LIMIT ?
+            """),
+    COMPLETE("""
+            WITH completed_order AS (
+                UPDATE "order"
+                SET completed=?
+                WHERE "id"=? AND completed IS NULL
+                RETURNING "id", barista, created, completed, price
+            ), notified AS (
+                SELECT pg_notify(?, ?)
+                FROM completed_order
+            )
+            SELECT o."id", o.barista, o.created, o.completed, o.price, true AS updated,
+                ARRAY(SELECT oc.coffee_id FROM order_coffee oc WHERE oc.order_id=o."id") AS coffee_ids
+            FROM completed_order o
+            CROSS JOIN notified
+            UNION ALL
+            SELECT "id", barista, created, completed, price, false, NULL::bigint[]
+            FROM "order"
+            WHERE "id"=? AND NOT EXISTS (SELECT 1 FROM completed_order)
+            """),
     FIND_BY_ID("""
             SELECT "id", barista, created, completed, price
             FROM "order"
@@ -35,20 +75,46 @@ public enum OrderSQL {
                 ON "order"."id"=order_coffee.order_id
             WHERE order_coffee.coffee_id=?
             """),
+    FIND_ALL_BY_COFFEE_ID("""
+            SELECT order_coffee.coffee_id, "order"."id", "order".barista, "order".created, "order".completed, "order".price
+            FROM order_coffee
+            JOIN "order"
+                ON "order"."id"=order_coffee.order_id
+            WHERE order_coffee.coffee_id = ANY(?)
+            """),
     FIND_BY_BARISTA("""
             SELECT "id", barista, created, completed, price
             FROM "order"
             WHERE barista=?
             """),
+    FIND_QUEUE("""
+            SELECT "id", barista, created, completed, price
+            FROM "order"
+            WHERE completed IS NULL
+            ORDER BY created
+            LIMIT ?
+            """),
     SET_BARISTA_DEFAULT("""
             UPDATE "order"
             SET barista=0
             WHERE "id"=?
             """),
+    COPY_OUT("""
+            COPY "order" ("id", barista, created, completed, price)
+            TO STDOUT WITH (%s)
+            """),
+    COPY_IN("""
+            COPY "order" ("id", barista, created, completed, price)
+            FROM STDIN WITH (%s)
+            """),
+    RESET_ID_SEQUENCE("""
+            SELECT setval(pg_get_serial_sequence('"order"', 'id'), COALESCE(MAX("id"), 0) + 1, false)
+            FROM "order"
+            """),
     FIND_ALL_BY_ID("""
             SELECT "id", barista, created, completed, price
             FROM "order"
-            WHERE "id" IN (%s)
+            WHERE "id" = ANY(?)
             """);
 
 
@@ -1,5 +1,12 @@
 package org.example.repository.until;
 
+import org.postgresql.PGConnection;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Collections;
 
 
@@ -10,4 +17,45 @@ public class QueryUntil {
     public static String generatePlaceholders(int count) {
         return String.join(", ", Collections.nCopies(count, "?"));
     }
+
+    /**
+     * Create sql array of ids, that can be bound to single "= ANY(?)" placeholder.
+     *
+     * @param connection connection used to create array.
+     * @param idList     ids to bind.
+     * @return sql bigint array.
+     * @throws SQLException when array can't be created.
+     */
+    public static Array createIdArray(Connection connection, Collection<Long> idList) throws SQLException {
+        return connection.createArrayOf("bigint", idList.toArray());
+    }
+
+    /**
+     * Create sql array of primitive ids, that can be bound to single "= ANY(?)" placeholder.
+     * Array is created by driver directly from long[], without boxing of every id.
+     *
+     * @param connection connection to postgres used to create array.
+     * @param ids        ids to bind.
+     * @return sql bigint array.
+     * @throws SQLException when array can't be created.
+     */
+    public static Array createIdArray(Connection connection, long[] ids) throws SQLException {
+        return connection.unwrap(PGConnection.class).createArrayOf("bigint", ids);
+    }
+
+    /**
+     * Send db notification. Inside transaction it is delivered to listeners only after commit.
+     *
+     * @param connection connection, which transaction sends notification.
+     * @param channel    notification channel.
+     * @param payload    notification payload.
+     * @throws SQLException when notification can't be sent.
+     */
+    public static void notify(Connection connection, String channel, String payload) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(NotificationSQL.NOTIFY.toString())) {
+            preparedStatement.setString(1, channel);
+            preparedStatement.setString(2, payload);
+            preparedStatement.executeQuery();
+        }
+    }
 }
@@ -59,4 +59,14 @@ public interface IBaristaService {
      * @return list of barista's objects
      */
     List<Barista> findAllByPage(int page, int limit);
+
+    /**
+     * Find baristas with id greater than specified one, ordered by id and limited.
+     * Used for keyset pagination: next page starts after the last id of previous one.
+     *
+     * @param afterId id of the last object of previous page. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of barista objects. Maximum number object in list equals limit.
+     */
+    List<Barista> findAllAfter(Long afterId, int limit);
 }
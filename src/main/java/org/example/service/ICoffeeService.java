@@ -59,4 +59,14 @@ public interface ICoffeeService {
      * @return list of object from specified page. Maximum number object in list equals limit.
      */
     List<Coffee> findAllByPage(int page, int limit);
+
+    /**
+     * Find coffee's with id greater than specified one, ordered by id and limited.
+     * Used for keyset pagination: next page starts after the last id of previous one.
+     *
+     * @param afterId id of the last object of previous page. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of coffee objects. Maximum number object in list equals limit.
+     */
+    List<Coffee> findAllAfter(Long afterId, int limit);
 }
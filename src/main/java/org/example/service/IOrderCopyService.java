@@ -0,0 +1,36 @@
+package org.example.service;
+
+import org.example.service.gateway.CopyFormat;
+import org.example.service.gateway.CopyTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Interface to bulk export and import of orders and their references to coffee.
+ */
+public interface IOrderCopyService {
+
+    /**
+     * Export all rows of table to stream.
+     *
+     * @param table        exported table.
+     * @param format       format of written data.
+     * @param outputStream stream, rows are written to.
+     * @return number of exported rows.
+     * @throws IOException when writing to stream is failed.
+     */
+    long exportTable(CopyTable table, CopyFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Import rows from stream to table.
+     *
+     * @param table       imported table.
+     * @param format      format of read data.
+     * @param inputStream stream, rows are read from.
+     * @return number of imported rows.
+     * @throws IOException when reading from stream is failed.
+     */
+    long importTable(CopyTable table, CopyFormat format, InputStream inputStream) throws IOException;
+}
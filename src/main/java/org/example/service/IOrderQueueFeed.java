@@ -0,0 +1,32 @@
+package org.example.service;
+
+import org.example.service.dto.OrderQueueDelta;
+
+import java.util.function.Consumer;
+
+/**
+ * Interface to live feed of 'order' queue changes.
+ */
+public interface IOrderQueueFeed {
+
+    /**
+     * Subscribe to queue changes. Subscriber gets snapshot of queue first and then every change of it.
+     * Subscriber is called by feed's thread, so it must not block.
+     *
+     * @param subscriber consumer of queue changes.
+     * @return subscription, closing of which stops delivering changes.
+     */
+    Subscription subscribe(Consumer<OrderQueueDelta> subscriber);
+
+    /**
+     * Subscription to queue changes.
+     */
+    interface Subscription extends AutoCloseable {
+
+        /**
+         * Stop delivering changes to subscriber.
+         */
+        @Override
+        void close();
+    }
+}
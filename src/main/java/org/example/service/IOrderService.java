@@ -1,10 +1,12 @@
 package org.example.service;
 
 import org.example.entity.Order;
+import org.example.service.dto.BatchResult;
 import org.example.service.dto.IOrderCreateDTO;
 import org.example.service.dto.IOrderUpdateDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface to interacting with order's in db.
@@ -19,6 +21,15 @@ public interface IOrderService {
      */
     Order create(IOrderCreateDTO orderDTO);
 
+    /**
+     * Create many 'order's in db by one transaction.
+     * Every item is validated separately, not valid items are rejected without failing others.
+     *
+     * @param orderDTOList list of IOrderCreateDTO objects.
+     * @return results in the same order as items.
+     */
+    List<BatchResult<Order>> createAll(List<? extends IOrderCreateDTO> orderDTOList);
+
     /**
      * Update 'order' in db by IOrderUpdateDTO.
      *
@@ -42,6 +53,23 @@ public interface IOrderService {
      */
     List<Order> getOrderQueue();
 
+    /**
+     * Get 'order' queue limited. Oldest created, but not completed
+     * order - first, youngest - last.
+     *
+     * @param limit number maximum represented objects.
+     * @return list of filtered and sorted orders. Maximum number object in list equals limit.
+     */
+    List<Order> getOrderQueue(int limit);
+
+    /**
+     * Load 'order' queue from db, bypassing any in-memory copy of it.
+     * Used to catch up with changes, that could be missed.
+     *
+     * @return list of filtered and sorted orders.
+     */
+    List<Order> loadOrderQueue();
+
     /**
      * Complete 'order' with specified 'id'.
      * Specifying 'completed' field in 'order'.
@@ -58,6 +86,15 @@ public interface IOrderService {
      */
     List<Order> findAll();
 
+    /**
+     * Find all 'order' in db and pass them to consumer chunk by chunk, with loaded coffee lists.
+     * Only one chunk is kept in memory at once.
+     *
+     * @param chunkSize     maximum number of 'order' in one chunk.
+     * @param chunkConsumer consumer of chunks.
+     */
+    void findAll(int chunkSize, Consumer<List<Order>> chunkConsumer);
+
     /**
      * Find 'order' by specified id.
      *
@@ -75,4 +112,14 @@ public interface IOrderService {
      */
     List<Order> findAllByPage(int page, int limit);
 
+    /**
+     * Find orders with id greater than specified one, ordered by id and limited.
+     * Used for keyset pagination: next page starts after the last id of previous one.
+     *
+     * @param afterId id of the last object of previous page. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of order objects. Maximum number object in list equals limit.
+     */
+    List<Order> findAllAfter(Long afterId, int limit);
+
 }
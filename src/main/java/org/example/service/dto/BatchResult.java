@@ -0,0 +1,23 @@
+package org.example.service.dto;
+
+/**
+ * Result of one item of batch operation: either created value or error, why item is rejected.
+ *
+ * @param value created value. Null when item is rejected.
+ * @param error error of rejected item. Null when item is created.
+ * @param <T>   type of created value.
+ */
+public record BatchResult<T>(T value, RuntimeException error) {
+
+    public static <T> BatchResult<T> success(T value) {
+        return new BatchResult<>(value, null);
+    }
+
+    public static <T> BatchResult<T> failure(RuntimeException error) {
+        return new BatchResult<>(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.service.dto;
+
+import org.example.entity.exception.NoValidIdException;
+import org.example.entity.exception.NullParamException;
+
+import java.util.Locale;
+
+/**
+ * Change of 'barista' or 'coffee', sent by db notification on commit of transaction, that made it.
+ * Payload of notification is "type:id", like "coffee:42".
+ *
+ * @param type kind of changed entity.
+ * @param id   id of changed entity.
+ */
+public record EntityEvent(Type type, long id) {
+    /**
+     * Channel of db notifications about baristas and coffee.
+     */
+    public static final String CHANNEL = "entity_events";
+
+    public enum Type {
+        BARISTA,
+        COFFEE
+    }
+
+    /**
+     * @throws NullParamException when type is null.
+     * @throws NoValidIdException when id is less than zero.
+     */
+    public EntityEvent {
+        if (type == null)
+            throw new NullParamException();
+        if (id < 0)
+            throw new NoValidIdException(id);
+    }
+
+    /**
+     * Parse event from notification payload.
+     *
+     * @param payload payload like "coffee:42".
+     * @return parsed event.
+     * @throws NullParamException       when payload is null.
+     * @throws IllegalArgumentException when payload has not valid format.
+     */
+    public static EntityEvent parse(String payload) {
+        if (payload == null)
+            throw new NullParamException();
+
+        int separator = payload.indexOf(':');
+        if (separator == -1)
+            throw new IllegalArgumentException("Entity event '" + payload + "' has no type!");
+
+        try {
+            Type type = Type.valueOf(payload.substring(0, separator).toUpperCase(Locale.ROOT));
+            return new EntityEvent(type, Long.parseLong(payload, separator + 1, payload.length(), 10));
+        } catch (IllegalArgumentException | NoValidIdException e) {
+            throw new IllegalArgumentException("Entity event '" + payload + "' is not valid!");
+        }
+    }
+
+    /**
+     * Format event to notification payload.
+     *
+     * @return payload like "coffee:42".
+     */
+    public String toPayload() {
+        return type.name().toLowerCase(Locale.ROOT) + ':' + id;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.service.dto;
+
+import org.example.entity.Order;
+
+import java.util.List;
+
+/**
+ * Result of completing order by repository.
+ *
+ * @param order        completed order with barista. Its coffee list is not loaded.
+ * @param coffeeIdList ids of order's coffee, read by the same statement.
+ */
+public record OrderCompletion(Order order, List<Long> coffeeIdList) {
+}
@@ -0,0 +1,81 @@
+package org.example.service.dto;
+
+import org.example.entity.exception.NoValidIdException;
+import org.example.entity.exception.NullParamException;
+
+import java.util.Locale;
+
+/**
+ * Change of 'order', sent by db notification on commit of transaction, that made it.
+ * Payload of notification is "type:id", like "created:42".
+ * RELOADED event is sent by bulk changes of unknown orders, its orderId is zero.
+ *
+ * @param type    kind of change.
+ * @param orderId id of changed order.
+ */
+public record OrderEvent(Type type, long orderId) {
+    /**
+     * Channel of db notifications about orders.
+     */
+    public static final String CHANNEL = "order_events";
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RELOADED
+    }
+
+    /**
+     * @throws NullParamException when type is null.
+     * @throws NoValidIdException when orderId is less than zero.
+     */
+    public OrderEvent {
+        if (type == null)
+            throw new NullParamException();
+        if (orderId < 0)
+            throw new NoValidIdException(orderId);
+    }
+
+    /**
+     * Create event, which requires whole queue to be loaded again.
+     *
+     * @return RELOADED event.
+     */
+    public static OrderEvent reloaded() {
+        return new OrderEvent(Type.RELOADED, 0);
+    }
+
+    /**
+     * Parse event from notification payload.
+     *
+     * @param payload payload like "created:42".
+     * @return parsed event.
+     * @throws NullParamException       when payload is null.
+     * @throws IllegalArgumentException when payload has not valid format.
+     */
+    public static OrderEvent parse(String payload) {
+        if (payload == null)
+            throw new NullParamException();
+
+        int separator = payload.indexOf(':');
+        if (separator == -1)
+            throw new IllegalArgumentException("Order event '" + payload + "' has no type!");
+
+        try {
+            Type type = Type.valueOf(payload.substring(0, separator).toUpperCase(Locale.ROOT));
+            return new OrderEvent(type, Long.parseLong(payload, separator + 1, payload.length(), 10));
+        } catch (IllegalArgumentException | NoValidIdException e) {
+            throw new IllegalArgumentException("Order event '" + payload + "' is not valid!");
+        }
+    }
+
+    /**
+     * Format event to notification payload.
+     *
+     * @return payload like "created:42".
+     */
+    public String toPayload() {
+        return type.name().toLowerCase(Locale.ROOT) + ':' + orderId;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.service.dto;
+
+import org.example.entity.Order;
+import org.example.entity.exception.NullParamException;
+
+import java.util.List;
+
+/**
+ * Change of 'order' queue, sent to queue's subscribers.
+ * SNAPSHOT contains the whole queue, oldest created order - first. Other types contain one changed order.
+ *
+ * @param type      kind of change.
+ * @param orderList orders of change.
+ */
+public record OrderQueueDelta(Type type, List<Order> orderList) {
+
+    public enum Type {
+        /**
+         * Whole queue, sent to new subscriber and after reload of queue.
+         */
+        SNAPSHOT,
+        /**
+         * Order is added to queue.
+         */
+        ADDED,
+        /**
+         * Order in queue is changed, but is not completed.
+         */
+        UPDATED,
+        /**
+         * Order is completed and left queue.
+         */
+        COMPLETED,
+        /**
+         * Order is deleted and left queue.
+         */
+        REMOVED
+    }
+
+    /**
+     * @throws NullParamException when some param is null.
+     */
+    public OrderQueueDelta {
+        if (type == null || orderList == null)
+            throw new NullParamException();
+
+        orderList = List.copyOf(orderList);
+    }
+
+    public static OrderQueueDelta snapshot(List<Order> queue) {
+        return new OrderQueueDelta(Type.SNAPSHOT, queue);
+    }
+
+    public static OrderQueueDelta of(Type type, Order order) {
+        return new OrderQueueDelta(type, List.of(order));
+    }
+}
@@ -3,6 +3,7 @@ package org.example.service.gateway;
 import org.example.entity.Barista;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -48,6 +49,15 @@ public interface BaristaRepository {
      */
     List<Barista> findAllByPage(int page, int limit);
 
+    /**
+     * Find baristas with id greater than specified one, ordered by id and limited.
+     *
+     * @param afterId id after which baristas are found. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of barista objects.
+     */
+    List<Barista> findAllAfter(Long afterId, int limit);
+
     /**
      * Found barista from db by id.
      *
@@ -63,4 +73,13 @@ public interface BaristaRepository {
      * @return List of Barista object.
      */
     List<Barista> findById(List<Long> idList);
+
+    /**
+     * Find barista objects, that exist in db, by specified ids by one query.
+     * Unlike findById, missing ids are not an error.
+     *
+     * @param idList barista id list.
+     * @return map from id to Barista object. Missing ids are absent.
+     */
+    Map<Long, Barista> findExisting(List<Long> idList);
 }
@@ -3,6 +3,7 @@ package org.example.service.gateway;
 import org.example.entity.Coffee;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -50,6 +51,15 @@ public interface CoffeeRepository {
      */
     List<Coffee> findAllByPage(int page, int limit);
 
+    /**
+     * Find coffee's with id greater than specified one, ordered by id and limited.
+     *
+     * @param afterId id after which coffee's are found. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of coffee objects.
+     */
+    List<Coffee> findAllAfter(Long afterId, int limit);
+
     /**
      * Find coffee object in db by specified id.
      *
@@ -66,6 +76,15 @@ public interface CoffeeRepository {
      */
     List<Coffee> findById(List<Long> idList);
 
+    /**
+     * Find coffee objects, that exist in db, by specified ids by one query.
+     * Unlike findById, missing ids are not an error.
+     *
+     * @param idList coffee id list.
+     * @return map from id to Coffee object. Missing ids are absent.
+     */
+    Map<Long, Coffee> findExisting(List<Long> idList);
+
     /**
      * Find all coffee's that contains order with specified id.
      *
@@ -74,6 +93,14 @@ public interface CoffeeRepository {
      */
     List<Coffee> findByOrderId(Long id);
 
+    /**
+     * Find coffee's of all orders with specified ids by one query.
+     *
+     * @param orderIdList order id list.
+     * @return map from order id to list of its coffee objects. Orders without coffee are absent.
+     */
+    Map<Long, List<Coffee>> findByOrderIds(List<Long> orderIdList);
+
     /**
      * Delete all references between Orders and coffee's by specified coffee id.
      *
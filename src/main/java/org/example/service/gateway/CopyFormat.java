@@ -0,0 +1,35 @@
+package org.example.service.gateway;
+
+/**
+ * Data format of postgres COPY.
+ */
+public enum CopyFormat {
+    CSV("FORMAT csv, HEADER true", "text/csv"),
+    BINARY("FORMAT binary", "application/octet-stream");
+
+    private final String options;
+    private final String contentType;
+
+    CopyFormat(String options, String contentType) {
+        this.options = options;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Options of COPY statement, that select this format.
+     *
+     * @return COPY options.
+     */
+    public String options() {
+        return options;
+    }
+
+    /**
+     * Content type of http body in this format.
+     *
+     * @return media type.
+     */
+    public String contentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.service.gateway;
+
+/**
+ * Table, that can be exported and imported by postgres COPY.
+ */
+public enum CopyTable {
+    ORDER,
+    ORDER_COFFEE
+}
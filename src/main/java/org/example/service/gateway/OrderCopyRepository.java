@@ -0,0 +1,33 @@
+package org.example.service.gateway;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Interface to bulk export and import of orders and their references to coffee.
+ */
+public interface OrderCopyRepository {
+
+    /**
+     * Write all rows of table to stream.
+     *
+     * @param table        exported table.
+     * @param format       format of written data.
+     * @param outputStream stream, rows are written to.
+     * @return number of written rows.
+     * @throws IOException when writing to stream is failed.
+     */
+    long copyOut(CopyTable table, CopyFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * Read rows from stream and insert them to table.
+     *
+     * @param table       imported table.
+     * @param format      format of read data.
+     * @param inputStream stream, rows are read from.
+     * @return number of inserted rows.
+     * @throws IOException when reading from stream is failed.
+     */
+    long copyIn(CopyTable table, CopyFormat format, InputStream inputStream) throws IOException;
+}
@@ -1,9 +1,13 @@
 package org.example.service.gateway;
 
 import org.example.entity.Order;
+import org.example.service.dto.OrderCompletion;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface to interact with order in db.
@@ -26,6 +30,14 @@ public interface OrderRepository {
      */
     Order create(Order order);
 
+    /**
+     * Create all orders and their references to coffee in one transaction.
+     *
+     * @param orderList created orders.
+     * @return list of orders with defined ids, in the same order.
+     */
+    List<Order> createAll(List<Order> orderList);
+
     /**
      * Update Order in db by specified entity.
      *
@@ -48,6 +60,15 @@ public interface OrderRepository {
      */
     List<Order> findAll();
 
+    /**
+     * Read all orders in db by server-side cursor and pass them to consumer chunk by chunk.
+     * Only one chunk is kept in memory at once.
+     *
+     * @param chunkSize     maximum number of orders in one chunk.
+     * @param chunkConsumer consumer of chunks, called in order of orders' ids.
+     */
+    void findAll(int chunkSize, Consumer<List<Order>> chunkConsumer);
+
     /**
      * Find all order grouped by page and limited.
      *
@@ -57,6 +78,39 @@ public interface OrderRepository {
      */
     List<Order> findAllByPage(int page, int limit);
 
+    /**
+     * Find orders with id greater than specified one, ordered by id and limited.
+     *
+     * @param afterId id after which orders are found. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of order objects.
+     */
+    List<Order> findAllAfter(Long afterId, int limit);
+
+    /**
+     * Find not completed orders, oldest created - first.
+     *
+     * @return list of not completed orders.
+     */
+    List<Order> findQueue();
+
+    /**
+     * Find not completed orders, oldest created - first, limited.
+     *
+     * @param limit number of maximum objects in list.
+     * @return list of not completed orders.
+     */
+    List<Order> findQueue(int limit);
+
+    /**
+     * Set completed time of not completed order by one statement.
+     *
+     * @param id        completing order's id.
+     * @param completed time of completion.
+     * @return completed order and ids of its coffee.
+     */
+    OrderCompletion complete(Long id, LocalDateTime completed);
+
     /**
      * Find order by specified id.
      *
@@ -88,4 +142,12 @@ public interface OrderRepository {
      * @return list of order object's that contains specified coffee.
      */
     List<Order> findByCoffeeId(Long id);
+
+    /**
+     * Find orders of all coffee with specified ids by constant number of queries.
+     *
+     * @param coffeeIdList coffee id list.
+     * @return map from coffee id to list of orders that contains it. Coffee without orders are absent.
+     */
+    Map<Long, List<Order>> findByCoffeeIds(List<Long> coffeeIdList);
 }
@@ -183,4 +183,27 @@ public class BaristaService implements IBaristaService {
         return baristaList;
     }
 
+    /**
+     * Found baristas with id greater than specified one, ordered by id and limited.
+     *
+     * @param afterId id of the last object of previous page. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of barista objects.
+     * @throws NoValidIdException    when afterId is less than zero.
+     * @throws NoValidLimitException when limit is less than one.
+     */
+    @Override
+    public List<Barista> findAllAfter(Long afterId, int limit) {
+        if (afterId != null && afterId < 0)
+            throw new NoValidIdException(afterId);
+        if (limit <= 0)
+            throw new NoValidLimitException(limit);
+
+        List<Barista> baristaList = this.baristaRepository.findAllAfter(afterId, limit);
+        for (Barista barista : baristaList) {
+            barista.setOrderList(orderRepository.findByBaristaId(barista.getId()));
+        }
+        return baristaList;
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.example.service.implementation;
 
 import org.example.entity.Coffee;
+import org.example.entity.Order;
 import org.example.entity.exception.*;
 import org.example.repository.exception.KeyNotPresentException;
 import org.example.service.ICoffeeService;
@@ -13,7 +14,9 @@ import org.example.service.gateway.CoffeeRepository;
 import org.example.service.gateway.OrderRepository;
 import org.example.service.mapper.CoffeeDtoToCoffeeMapper;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service to processing coffee entity.
@@ -126,7 +129,7 @@ public class CoffeeService implements ICoffeeService {
         Coffee coffee = this.coffeeRepository.findById(id)
                 .orElseThrow(() -> new CoffeeNotFoundException(id));
 
-        coffee.setOrderList(orderRepository.findByCoffeeId(coffee.getId()));
+        loadOrderLists(List.of(coffee));
 
         return coffee;
     }
@@ -140,9 +143,7 @@ public class CoffeeService implements ICoffeeService {
     public List<Coffee> findAll() {
         List<Coffee> coffeeList = this.coffeeRepository.findAll();
 
-        for (Coffee coffee : coffeeList) {
-            coffee.setOrderList(orderRepository.findByCoffeeId(coffee.getId()));
-        }
+        loadOrderLists(coffeeList);
         return coffeeList;
     }
 
@@ -164,9 +165,48 @@ public class CoffeeService implements ICoffeeService {
 
         List<Coffee> coffeeList = this.coffeeRepository.findAllByPage(page, limit);
 
+        loadOrderLists(coffeeList);
+        return coffeeList;
+    }
+
+    /**
+     * Found coffee's with id greater than specified one, ordered by id and limited.
+     *
+     * @param afterId id of the last object of previous page. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of coffee objects.
+     * @throws NoValidIdException    when afterId is less than zero.
+     * @throws NoValidLimitException when limit is less than one.
+     */
+    @Override
+    public List<Coffee> findAllAfter(Long afterId, int limit) {
+        if (afterId != null && afterId < 0)
+            throw new NoValidIdException(afterId);
+        if (limit <= 0)
+            throw new NoValidLimitException(limit);
+
+        List<Coffee> coffeeList = this.coffeeRepository.findAllAfter(afterId, limit);
+        loadOrderLists(coffeeList);
+        return coffeeList;
+    }
+
+    /**
+     * Set order lists to all specified coffee.
+     * Orders of all coffee are found by constant number of queries.
+     *
+     * @param coffeeList coffee to fill.
+     */
+    private void loadOrderLists(List<Coffee> coffeeList) {
+        if (coffeeList.isEmpty())
+            return;
+
+        List<Long> coffeeIdList = coffeeList.stream()
+                .map(Coffee::getId)
+                .toList();
+        Map<Long, List<Order>> orderMap = orderRepository.findByCoffeeIds(coffeeIdList);
+
         for (Coffee coffee : coffeeList) {
-            coffee.setOrderList(orderRepository.findByCoffeeId(coffee.getId()));
+            coffee.setOrderList(orderMap.getOrDefault(coffee.getId(), new ArrayList<>()));
         }
-        return coffeeList;
     }
 }
@@ -0,0 +1,61 @@
+package org.example.service.implementation;
+
+import org.example.entity.exception.NullParamException;
+import org.example.service.IOrderCopyService;
+import org.example.service.gateway.CopyFormat;
+import org.example.service.gateway.CopyTable;
+import org.example.service.gateway.OrderCopyRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service for bulk export and import of orders and their references to coffee.
+ */
+public class OrderCopyService implements IOrderCopyService {
+    private final OrderCopyRepository orderCopyRepository;
+
+    public OrderCopyService(OrderCopyRepository orderCopyRepository) {
+        if (orderCopyRepository == null)
+            throw new NullParamException();
+
+        this.orderCopyRepository = orderCopyRepository;
+    }
+
+    /**
+     * Export all rows of table to stream.
+     *
+     * @param table        exported table.
+     * @param format       format of written data.
+     * @param outputStream stream, rows are written to.
+     * @return number of exported rows.
+     * @throws NullParamException when some param is null.
+     * @throws IOException        when writing to stream is failed.
+     */
+    @Override
+    public long exportTable(CopyTable table, CopyFormat format, OutputStream outputStream) throws IOException {
+        if (table == null || format == null || outputStream == null)
+            throw new NullParamException();
+
+        return orderCopyRepository.copyOut(table, format, outputStream);
+    }
+
+    /**
+     * Import rows from stream to table. Either all rows are imported or none.
+     *
+     * @param table       imported table.
+     * @param format      format of read data.
+     * @param inputStream stream, rows are read from.
+     * @return number of imported rows.
+     * @throws NullParamException when some param is null.
+     * @throws IOException        when reading from stream is failed.
+     */
+    @Override
+    public long importTable(CopyTable table, CopyFormat format, InputStream inputStream) throws IOException {
+        if (table == null || format == null || inputStream == null)
+            throw new NullParamException();
+
+        return orderCopyRepository.copyIn(table, format, inputStream);
+    }
+}
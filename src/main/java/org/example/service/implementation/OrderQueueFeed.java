@@ -0,0 +1,147 @@
+package org.example.service.implementation;
+
+import org.example.entity.Order;
+import org.example.entity.exception.NullParamException;
+import org.example.entity.exception.OrderNotFoundException;
+import org.example.service.IOrderQueueFeed;
+import org.example.service.IOrderService;
+import org.example.service.dto.OrderEvent;
+import org.example.service.dto.OrderQueueDelta;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Live feed of 'order' queue, shared by all subscribers.
+ * Feed holds in-memory snapshot of queue and applies order events to it,
+ * so every change is loaded from db once, whatever the number of subscribers is.
+ * Events are expected to be passed by one thread, like notification listener's one.
+ */
+public class OrderQueueFeed implements IOrderQueueFeed {
+    private static final Logger LOGGER = Logger.getLogger(OrderQueueFeed.class.getName());
+    private static final Comparator<Order> QUEUE_ORDER = Comparator.comparing(Order::getCreated)
+            .thenComparing(Order::getId);
+
+    private final IOrderService orderService;
+    private final Map<Long, Order> queue = new HashMap<>();
+    private final List<Consumer<OrderQueueDelta>> subscribers = new CopyOnWriteArrayList<>();
+
+    public OrderQueueFeed(IOrderService orderService) {
+        if (orderService == null)
+            throw new NullParamException();
+
+        this.orderService = orderService;
+    }
+
+    /**
+     * Replace snapshot by queue loaded from db and send it to all subscribers.
+     * Has to be called before first event and every time events could be lost.
+     * Queue is always read from db, not from service's index, so changes missed by this instance are seen.
+     */
+    public void reload() {
+        List<Order> orderList = orderService.loadOrderQueue();
+        synchronized (this) {
+            queue.clear();
+            for (Order order : orderList) {
+                queue.put(order.getId(), order);
+            }
+            publish(OrderQueueDelta.snapshot(snapshot()));
+        }
+    }
+
+    /**
+     * Apply order event to snapshot and send resulting change, if any, to all subscribers.
+     * Changed order is loaded from db, so event reflects its committed state.
+     * RELOADED event reloads whole queue.
+     *
+     * @param event order event.
+     * @throws NullParamException when event is null.
+     */
+    public void onEvent(OrderEvent event) {
+        if (event == null)
+            throw new NullParamException();
+        if (event.type() == OrderEvent.Type.RELOADED) {
+            reload();
+            return;
+        }
+
+        Order order = null;
+        if (event.type() != OrderEvent.Type.DELETED) {
+            try {
+                order = orderService.findById(event.orderId());
+            } catch (OrderNotFoundException e) {
+                // deleted after event is sent, DELETED event follows
+            }
+        }
+        apply(event.orderId(), order);
+    }
+
+    /**
+     * @param orderId changed order's id.
+     * @param order   current state of order. Null when it is deleted.
+     */
+    private synchronized void apply(long orderId, Order order) {
+        if (order != null && order.getCompleted() == null) {
+            Order previous = queue.put(orderId, order);
+            publish(OrderQueueDelta.of(previous == null ? OrderQueueDelta.Type.ADDED : OrderQueueDelta.Type.UPDATED, order));
+            return;
+        }
+
+        Order previous = queue.remove(orderId);
+        if (previous == null)
+            return;
+
+        if (order == null)
+            publish(OrderQueueDelta.of(OrderQueueDelta.Type.REMOVED, previous));
+        else publish(OrderQueueDelta.of(OrderQueueDelta.Type.COMPLETED, order));
+    }
+
+    /**
+     * Subscribe to queue changes. Snapshot is sent to subscriber under the same lock as changes,
+     * so subscriber misses nothing between snapshot and following changes.
+     *
+     * @param subscriber consumer of queue changes.
+     * @return subscription.
+     * @throws NullParamException when subscriber is null.
+     */
+    @Override
+    public synchronized Subscription subscribe(Consumer<OrderQueueDelta> subscriber) {
+        if (subscriber == null)
+            throw new NullParamException();
+
+        subscriber.accept(OrderQueueDelta.snapshot(snapshot()));
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * Get number of current subscribers.
+     *
+     * @return number of subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private List<Order> snapshot() {
+        List<Order> orderList = new ArrayList<>(queue.values());
+        orderList.sort(QUEUE_ORDER);
+        return orderList;
+    }
+
+    /**
+     * Send change to all subscribers. Failed subscriber is unsubscribed, others still get change.
+     */
+    private void publish(OrderQueueDelta delta) {
+        for (Consumer<OrderQueueDelta> subscriber : subscribers) {
+            try {
+                subscriber.accept(delta);
+            } catch (RuntimeException e) {
+                LOGGER.severe(e.getMessage());
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.service.implementation;
+
+import org.example.entity.Order;
+import org.example.entity.exception.NullParamException;
+import org.example.service.exception.NoValidLimitException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of not completed orders, ordered like queue: oldest created - first.
+ * Reads are lock-free and never touch db. Writes are serialized and refresh and reload read db
+ * while holding the lock, so state read later is always applied later: two writes of the same order
+ * can't reach index in wrong order, and reload can't be overwritten by state read before it.
+ * Index is empty and not loaded until the first reload.
+ */
+public class OrderQueueIndex {
+    private final ConcurrentSkipListMap<QueueKey, Order> queue = new ConcurrentSkipListMap<>();
+    private final Map<Long, QueueKey> keyById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Position of order in queue.
+     */
+    private record QueueKey(LocalDateTime created, long id) implements Comparable<QueueKey> {
+        private static final Comparator<QueueKey> ORDER = Comparator.comparing(QueueKey::created)
+                .thenComparingLong(QueueKey::id);
+
+        static QueueKey of(Order order) {
+            return new QueueKey(order.getCreated(), order.getId());
+        }
+
+        @Override
+        public int compareTo(QueueKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Add, move or remove order according to its current state:
+     * not completed order is placed by its created time, completed one is removed.
+     *
+     * @param order saved order with id and created time.
+     * @throws NullParamException when order, its id or created time is null.
+     */
+    public synchronized void put(Order order) {
+        if (order == null || order.getId() == null || order.getCreated() == null)
+            throw new NullParamException();
+
+        removeKey(order.getId());
+        if (order.getCompleted() == null) {
+            QueueKey key = QueueKey.of(order);
+            queue.put(key, order);
+            keyById.put(order.getId(), key);
+        }
+    }
+
+    /**
+     * Remove order from queue, if it's there.
+     *
+     * @param id removed order's id.
+     */
+    public synchronized void remove(long id) {
+        removeKey(id);
+    }
+
+    private void removeKey(long id) {
+        QueueKey key = keyById.remove(id);
+        if (key != null)
+            queue.remove(key);
+    }
+
+    /**
+     * Load current state of orders and apply it: found orders are put, not found ones are removed.
+     * Orders are loaded while index is locked, so they can't be overwritten by state loaded before.
+     * Not loaded index is not refreshed, reload will bring these orders.
+     *
+     * @param idList ids of changed orders.
+     * @param loader loader of committed orders by ids, with coffee lists.
+     * @throws NullParamException when some param is null.
+     */
+    public synchronized void refresh(List<Long> idList, Function<List<Long>, List<Order>> loader) {
+        if (idList == null || loader == null)
+            throw new NullParamException();
+        if (!loaded || idList.isEmpty())
+            return;
+
+        List<Order> orderList = loader.apply(idList);
+        for (Long id : idList) {
+            removeKey(id);
+        }
+        for (Order order : orderList) {
+            put(order);
+        }
+    }
+
+    /**
+     * Replace whole index by queue loaded from db. Queue is loaded while index is locked,
+     * so no write can be lost between loading and replacing.
+     *
+     * @param loader loader of not completed orders, with coffee lists.
+     * @return loaded queue.
+     * @throws NullParamException when loader is null or it returns null.
+     */
+    public synchronized List<Order> reload(Supplier<List<Order>> loader) {
+        if (loader == null)
+            throw new NullParamException();
+
+        List<Order> orderList = loader.get();
+        if (orderList == null)
+            throw new NullParamException();
+
+        queue.clear();
+        keyById.clear();
+        for (Order order : orderList) {
+            QueueKey key = QueueKey.of(order);
+            queue.put(key, order);
+            keyById.put(order.getId(), key);
+        }
+        loaded = true;
+        return orderList;
+    }
+
+    /**
+     * Get ids of queued orders, which match filter.
+     *
+     * @param filter order filter.
+     * @return list of ids, oldest created - first.
+     * @throws NullParamException when filter is null.
+     */
+    public List<Long> getIdList(Predicate<Order> filter) {
+        if (filter == null)
+            throw new NullParamException();
+
+        return queue.values().stream()
+                .filter(filter)
+                .map(Order::getId)
+                .toList();
+    }
+
+    /**
+     * Check, that index was loaded from db at least once.
+     *
+     * @return true when index can serve queue.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Get number of orders in queue.
+     *
+     * @return size of queue.
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Get whole queue, oldest created - first.
+     *
+     * @return list of not completed orders.
+     */
+    public List<Order> getQueue() {
+        return new ArrayList<>(queue.values());
+    }
+
+    /**
+     * Get queue limited, oldest created - first.
+     *
+     * @param limit number of maximum objects in list.
+     * @return list of not completed orders.
+     * @throws NoValidLimitException when limit is less than one.
+     */
+    public List<Order> getQueue(int limit) {
+        if (limit <= 0)
+            throw new NoValidLimitException(limit);
+
+        List<Order> orderList = new ArrayList<>(Math.min(limit, queue.size()));
+        Iterator<Order> iterator = queue.values().iterator();
+        while (iterator.hasNext() && orderList.size() < limit) {
+            orderList.add(iterator.next());
+        }
+        return orderList;
+    }
+}
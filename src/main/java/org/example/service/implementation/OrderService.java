@@ -1,12 +1,17 @@
 package org.example.service.implementation;
 
+import org.example.entity.Barista;
 import org.example.entity.Coffee;
 import org.example.entity.Order;
 import org.example.entity.exception.*;
 import org.example.repository.exception.KeyNotPresentException;
 import org.example.service.IOrderService;
+import org.example.service.dto.BatchResult;
+import org.example.service.dto.EntityEvent;
 import org.example.service.dto.IOrderCreateDTO;
 import org.example.service.dto.IOrderUpdateDTO;
+import org.example.service.dto.OrderCompletion;
+import org.example.service.dto.OrderEvent;
 import org.example.service.exception.NoValidLimitException;
 import org.example.service.exception.NoValidPageException;
 import org.example.service.exception.OrderAlreadyCompletedException;
@@ -17,22 +22,50 @@ import org.example.service.gateway.OrderRepository;
 import org.example.service.mapper.OrderDtoToOrderMapper;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
 
 public class OrderService implements IOrderService {
+    public static final int MAX_BATCH_SIZE = 1000;
+    private final BaristaRepository baristaRepository;
     private final OrderRepository orderRepository;
     private final CoffeeRepository coffeeRepository;
     private final OrderDtoToOrderMapper mapper;
+    private final OrderQueueIndex queueIndex;
 
 
     public OrderService(BaristaRepository baristaRepository, CoffeeRepository coffeeRepository, OrderRepository orderRepository) {
         if (baristaRepository == null || orderRepository == null || coffeeRepository == null)
             throw new NullParamException();
 
+        this.baristaRepository = baristaRepository;
         this.orderRepository = orderRepository;
         this.coffeeRepository = coffeeRepository;
         this.mapper = new OrderDtoToOrderMapper(baristaRepository, coffeeRepository);
+        this.queueIndex = null;
+    }
+
+    /**
+     * Create service, which serves 'order' queue from in-memory index.
+     * Index is refreshed by writes of this service and by applied events of other instances,
+     * it has to be loaded by reconcileQueue, until then queue is read from db.
+     *
+     * @param baristaRepository barista repository.
+     * @param coffeeRepository  coffee repository.
+     * @param orderRepository   order repository.
+     * @param queueIndex        index of not completed orders.
+     * @throws NullParamException when some param is null.
+     */
+    public OrderService(BaristaRepository baristaRepository, CoffeeRepository coffeeRepository, OrderRepository orderRepository,
+                        OrderQueueIndex queueIndex) {
+        if (baristaRepository == null || orderRepository == null || coffeeRepository == null || queueIndex == null)
+            throw new NullParamException();
+
+        this.baristaRepository = baristaRepository;
+        this.orderRepository = orderRepository;
+        this.coffeeRepository = coffeeRepository;
+        this.mapper = new OrderDtoToOrderMapper(baristaRepository, coffeeRepository);
+        this.queueIndex = queueIndex;
     }
 
     /**
@@ -50,14 +83,120 @@ public class OrderService implements IOrderService {
 
         Order order = mapper.map(orderDTO);
 
+        order.setPrice(calculatePrice(order));
+        order.setCreated(LocalDateTime.now());
+
+        Order createdOrder = this.orderRepository.create(order);
+        refreshIndex(List.of(createdOrder.getId()));
+        return createdOrder;
+    }
+
+    /**
+     * Create many 'order's in db by one transaction.
+     * Baristas and coffee's of all items are found by two queries. Item with null fields or
+     * with not existing barista or coffee is rejected, other items are created by one multi-row insert.
+     *
+     * @param orderDTOList list of IOrderCreateDTO objects. Can't contain more than MAX_BATCH_SIZE items.
+     * @return results in the same order as items. Error of rejected item is NullParamException,
+     * BaristaNotFoundException or CoffeeNotFoundException.
+     * @throws NullParamException    when orderDTOList is null.
+     * @throws NoValidLimitException when orderDTOList contains more than MAX_BATCH_SIZE items.
+     */
+    @Override
+    public List<BatchResult<Order>> createAll(List<? extends IOrderCreateDTO> orderDTOList) {
+        if (orderDTOList == null)
+            throw new NullParamException();
+        if (orderDTOList.size() > MAX_BATCH_SIZE)
+            throw new NoValidLimitException(orderDTOList.size());
+
+        Set<Long> baristaIdSet = new LinkedHashSet<>();
+        Set<Long> coffeeIdSet = new LinkedHashSet<>();
+        for (IOrderCreateDTO orderDTO : orderDTOList) {
+            if (isComplete(orderDTO)) {
+                baristaIdSet.add(orderDTO.baristaId());
+                coffeeIdSet.addAll(orderDTO.coffeeIdList());
+            }
+        }
+        Map<Long, Barista> baristaMap = baristaRepository.findExisting(new ArrayList<>(baristaIdSet));
+        Map<Long, Coffee> coffeeMap = coffeeRepository.findExisting(new ArrayList<>(coffeeIdSet));
+
+        List<BatchResult<Order>> resultList = new ArrayList<>(orderDTOList.size());
+        List<Integer> createdIndexList = new ArrayList<>();
+        List<Order> createdOrderList = new ArrayList<>();
+        LocalDateTime created = LocalDateTime.now();
+        for (IOrderCreateDTO orderDTO : orderDTOList) {
+            try {
+                Order order = toOrder(orderDTO, baristaMap, coffeeMap);
+                order.setPrice(calculatePrice(order));
+                order.setCreated(created);
+
+                createdIndexList.add(resultList.size());
+                createdOrderList.add(order);
+                resultList.add(null);
+            } catch (NullParamException | BaristaNotFoundException | CoffeeNotFoundException e) {
+                resultList.add(BatchResult.failure(e));
+            }
+        }
+
+        List<Order> savedOrderList = orderRepository.createAll(createdOrderList);
+        for (int i = 0; i < savedOrderList.size(); i++) {
+            resultList.set(createdIndexList.get(i), BatchResult.success(savedOrderList.get(i)));
+        }
+        refreshIndex(savedOrderList.stream()
+                .map(Order::getId)
+                .toList());
+        return resultList;
+    }
+
+    private static boolean isComplete(IOrderCreateDTO orderDTO) {
+        return orderDTO != null
+                && orderDTO.baristaId() != null
+                && orderDTO.coffeeIdList() != null
+                && orderDTO.coffeeIdList().stream().noneMatch(Objects::isNull);
+    }
+
+    /**
+     * Mapping IOrderCreateDTO to Order by already found baristas and coffee's.
+     *
+     * @param orderDTO   object with IOrderCreateDTO type.
+     * @param baristaMap found baristas by id.
+     * @param coffeeMap  found coffee's by id.
+     * @return Order object, with not specified id!
+     * @throws NullParamException       when orderDTO or fields of orderDTO is null.
+     * @throws BaristaNotFoundException when barista from orderDTO is not found.
+     * @throws CoffeeNotFoundException  when coffee from orderDTO is not found.
+     */
+    private static Order toOrder(IOrderCreateDTO orderDTO, Map<Long, Barista> baristaMap, Map<Long, Coffee> coffeeMap) {
+        if (!isComplete(orderDTO))
+            throw new NullParamException();
+
+        Barista barista = baristaMap.get(orderDTO.baristaId());
+        if (barista == null)
+            throw new BaristaNotFoundException(orderDTO.baristaId());
+
+        List<Coffee> coffeeList = new ArrayList<>(orderDTO.coffeeIdList().size());
+        for (Long coffeeId : orderDTO.coffeeIdList()) {
+            Coffee coffee = coffeeMap.get(coffeeId);
+            if (coffee == null)
+                throw new CoffeeNotFoundException(coffeeId);
+
+            coffeeList.add(coffee);
+        }
+        return new Order(barista, coffeeList);
+    }
+
+    /**
+     * Calculate order's price: sum of coffee's prices with barista's tip.
+     *
+     * @param order order with barista and coffee list.
+     * @return price of order.
+     */
+    private static Double calculatePrice(Order order) {
         Double price = order.getCoffeeList().stream()
                 .map(Coffee::getPrice)
                 .reduce(0.0, Double::sum, Double::sum);
 
-        order.setPrice(price * (1.0 + order.getBarista().getTipSize()));
-        order.setCreated(LocalDateTime.now());
-
-        return this.orderRepository.create(order);
+        return price * (1.0 + order.getBarista().getTipSize());
     }
 
     /**
@@ -79,12 +218,11 @@ public class OrderService implements IOrderService {
 
         Order order = mapper.map(orderDTO);
 
-        Double price = order.getCoffeeList().stream()
-                .map(Coffee::getPrice)
-                .reduce(0.0, Double::sum, Double::sum);
-        order.setPrice(price * (1.0 + order.getBarista().getTipSize()));
+        order.setPrice(calculatePrice(order));
 
-        return this.orderRepository.update(order);
+        Order updatedOrder = this.orderRepository.update(order);
+        refreshIndex(List.of(updatedOrder.getId()));
+        return updatedOrder;
     }
 
     /**
@@ -107,30 +245,61 @@ public class OrderService implements IOrderService {
             throw new OrderHasReferencesException(id);
 
         this.orderRepository.delete(id);
+        refreshIndex(List.of(id));
     }
 
     /**
      * Get 'order' queue. Oldest created, but not completed
-     * order - first, youngest - last.
+     * order - first, youngest - last. Served from queue index, when it is loaded.
      *
      * @return list of filtered and sorted orders.
      */
     @Override
     public List<Order> getOrderQueue() {
-        List<Order> orderList = this.orderRepository.findAll();
-        orderList = orderList.stream()
-                .filter(order -> order.getCompleted() == null)
-                .sorted(Comparator.comparing(Order::getCreated))
-                .toList();
-        for (Order order : orderList) {
-            order.setCoffeeList(coffeeRepository.findByOrderId(order.getId()));
-        }
+        if (queueIndex != null && queueIndex.isLoaded())
+            return queueIndex.getQueue();
+
+        List<Order> orderList = this.orderRepository.findQueue();
+        loadCoffeeLists(orderList);
         return orderList;
     }
 
+    /**
+     * Get 'order' queue limited. Oldest created, but not completed
+     * order - first, youngest - last. Served from queue index, when it is loaded.
+     *
+     * @param limit number maximum represented objects.
+     * @return list of filtered and sorted orders. Maximum number object in list equals limit.
+     * @throws NoValidLimitException when limit is less than one.
+     */
+    @Override
+    public List<Order> getOrderQueue(int limit) {
+        if (limit <= 0)
+            throw new NoValidLimitException(limit);
+        if (queueIndex != null && queueIndex.isLoaded())
+            return queueIndex.getQueue(limit);
+
+        List<Order> orderList = this.orderRepository.findQueue(limit);
+        loadCoffeeLists(orderList);
+        return orderList;
+    }
+
+    /**
+     * Load 'order' queue from db, bypassing queue index. Loaded queue also replaces index.
+     *
+     * @return list of filtered and sorted orders.
+     */
+    @Override
+    public List<Order> loadOrderQueue() {
+        if (queueIndex != null)
+            return queueIndex.reload(this::findQueueWithCoffee);
+
+        return findQueueWithCoffee();
+    }
+
     /**
      * Complete 'order' with specified 'id'.
-     * Specifying 'completed' field in 'order'.
+     * Specifying 'completed' field in 'order' by one conditional write, coffee of order are got by their ids.
      *
      * @param id completing order's id.
      * @return completed order.
@@ -146,17 +315,87 @@ public class OrderService implements IOrderService {
         if (id < 0)
             throw new NoValidIdException(id);
 
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException(id));
+        OrderCompletion completion = orderRepository.complete(id, LocalDateTime.now());
+        Order order = completion.order();
+        order.setCoffeeList(coffeeRepository.findById(completion.coffeeIdList()));
 
-        if (order.getCompleted() != null)
-            throw new OrderAlreadyCompletedException(order);
+        refreshIndex(List.of(id));
+        return order;
+    }
 
-        order.setCompleted(LocalDateTime.now());
-        order = this.orderRepository.update(order);
+    /**
+     * Load 'order' queue from db to index, if service has index.
+     * Queue is loaded while index is locked, so reconciliation always succeeds, whatever writes
+     * happen meanwhile. Reconciliation brings changes, which events of other application instances missed.
+     *
+     * @return true when index is replaced, false when service has no index.
+     */
+    public boolean reconcileQueue() {
+        if (queueIndex == null)
+            return false;
 
-        order.setCoffeeList(coffeeRepository.findByOrderId(order.getId()));
-        return order;
+        queueIndex.reload(this::findQueueWithCoffee);
+        return true;
+    }
+
+    /**
+     * Apply change of 'order', made by this or other application instance, to queue index.
+     * Order is loaded from db, so index gets its committed state. RELOADED event reloads whole queue.
+     *
+     * @param event order event.
+     * @throws NullParamException when event is null.
+     */
+    public void applyOrderEvent(OrderEvent event) {
+        if (event == null)
+            throw new NullParamException();
+
+        if (event.type() == OrderEvent.Type.RELOADED)
+            reconcileQueue();
+        else refreshIndex(List.of(event.orderId()));
+    }
+
+    /**
+     * Apply change of 'barista' or 'coffee' to queue index: queued orders, which contain it, are loaded from db again.
+     * Entity caches have to be invalidated before, otherwise orders get cached entity.
+     *
+     * @param event entity event.
+     * @throws NullParamException when event is null.
+     */
+    public void applyEntityEvent(EntityEvent event) {
+        if (event == null)
+            throw new NullParamException();
+        if (queueIndex == null)
+            return;
+
+        List<Long> orderIdList = switch (event.type()) {
+            case BARISTA -> queueIndex.getIdList(order -> order.getBarista() != null
+                    && Objects.equals(order.getBarista().getId(), event.id()));
+            case COFFEE -> queueIndex.getIdList(order -> order.getCoffeeList().stream()
+                    .anyMatch(coffee -> Objects.equals(coffee.getId(), event.id())));
+        };
+        refreshIndex(orderIdList);
+    }
+
+    /**
+     * Load committed state of orders to queue index, if service has index.
+     *
+     * @param idList ids of changed orders.
+     */
+    private void refreshIndex(List<Long> idList) {
+        if (queueIndex != null)
+            queueIndex.refresh(idList, this::findByIdWithCoffee);
+    }
+
+    private List<Order> findQueueWithCoffee() {
+        List<Order> orderList = this.orderRepository.findQueue();
+        loadCoffeeLists(orderList);
+        return orderList;
+    }
+
+    private List<Order> findByIdWithCoffee(List<Long> idList) {
+        List<Order> orderList = this.orderRepository.findById(idList);
+        loadCoffeeLists(orderList);
+        return orderList;
     }
 
     /**
@@ -167,12 +406,31 @@ public class OrderService implements IOrderService {
     @Override
     public List<Order> findAll() {
         List<Order> orderList = this.orderRepository.findAll();
-        for (Order order : orderList) {
-            order.setCoffeeList(coffeeRepository.findByOrderId(order.getId()));
-        }
+        loadCoffeeLists(orderList);
         return orderList;
     }
 
+    /**
+     * Find all 'order' chunk by chunk. Coffee's of every chunk are found by one query.
+     *
+     * @param chunkSize     maximum number of 'order' in one chunk.
+     * @param chunkConsumer consumer of chunks.
+     * @throws NullParamException    when chunkConsumer is null.
+     * @throws NoValidLimitException when chunkSize is less than one.
+     */
+    @Override
+    public void findAll(int chunkSize, Consumer<List<Order>> chunkConsumer) {
+        if (chunkConsumer == null)
+            throw new NullParamException();
+        if (chunkSize <= 0)
+            throw new NoValidLimitException(chunkSize);
+
+        this.orderRepository.findAll(chunkSize, orderList -> {
+            loadCoffeeLists(orderList);
+            chunkConsumer.accept(orderList);
+        });
+    }
+
     /**
      * Find 'order' by specified id.
      *
@@ -214,10 +472,48 @@ public class OrderService implements IOrderService {
             throw new NoValidLimitException(limit);
 
         List<Order> orderList = this.orderRepository.findAllByPage(page, limit);
-        for (Order order : orderList) {
-            order.setCoffeeList(coffeeRepository.findByOrderId(order.getId()));
-        }
+        loadCoffeeLists(orderList);
         return orderList;
     }
 
+    /**
+     * Found orders with id greater than specified one, ordered by id and limited.
+     *
+     * @param afterId id of the last object of previous page. Null - from the first one.
+     * @param limit   number of maximum objects in list.
+     * @return list of order objects.
+     * @throws NoValidIdException    when afterId is less than zero.
+     * @throws NoValidLimitException when limit is less than one.
+     */
+    @Override
+    public List<Order> findAllAfter(Long afterId, int limit) {
+        if (afterId != null && afterId < 0)
+            throw new NoValidIdException(afterId);
+        if (limit <= 0)
+            throw new NoValidLimitException(limit);
+
+        List<Order> orderList = this.orderRepository.findAllAfter(afterId, limit);
+        loadCoffeeLists(orderList);
+        return orderList;
+    }
+
+    /**
+     * Set coffee lists to all specified orders.
+     * Coffee's of all orders are found by one query.
+     *
+     * @param orderList orders to fill.
+     */
+    private void loadCoffeeLists(List<Order> orderList) {
+        if (orderList.isEmpty())
+            return;
+
+        List<Long> orderIdList = orderList.stream()
+                .map(Order::getId)
+                .toList();
+        Map<Long, List<Coffee>> coffeeMap = coffeeRepository.findByOrderIds(orderIdList);
+
+        for (Order order : orderList) {
+            order.setCoffeeList(coffeeMap.getOrDefault(order.getId(), new ArrayList<>()));
+        }
+    }
 }
@@ -20,9 +20,12 @@ import org.example.servlet.dto.BaristaUpdateDTO;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 public class BaristaServlet extends SimpleServlet {
     private static final Logger LOGGER = Logger.getLogger(BaristaServlet.class.getName());
@@ -36,9 +39,43 @@ public class BaristaServlet extends SimpleServlet {
     private static final String BAD_PARAMS = "Bad params: %s";
     private static final String SOME_DATA_BASE_EXCEPTION = "Some database error: %s";
 
-    private static final String SPECIFIED_BARISTA_REGEX = "/\\d+/?"; //regex путь соответствующий "/[цифры]/" или "/[цифры]"
+    private static final Set<EntityVersions.Table> READ_TABLES = EnumSet.of(EntityVersions.Table.BARISTA, EntityVersions.Table.ORDER);
+    private static final Set<EntityVersions.Table> WRITTEN_TABLES = EnumSet.of(EntityVersions.Table.BARISTA, EntityVersions.Table.ORDER);
+    private static final PathRouter<BaristaRoute> ROUTER = new PathRouter<>(BaristaRoute.class);
+
+    /**
+     * Routes of barista's servlet. Trailing slash is optional for all of them.
+     */
+    private enum BaristaRoute implements PathRouter.Route {
+        BARISTAS("/"),
+        BARISTA("/{id}");
+
+        private final String template;
+
+        BaristaRoute(String template) {
+            this.template = template;
+        }
+
+        @Override
+        public String template() {
+            return template;
+        }
+    }
 
     public BaristaServlet(IBaristaService baristaService) {
+        this(baristaService, new EntityVersions());
+    }
+
+    /**
+     * Create servlet with conditional GET by shared version counters.
+     * GET responses contain baristas with their orders. Deleting of barista also changes its orders.
+     *
+     * @param baristaService barista service.
+     * @param versions       version counters shared by all servlets.
+     * @throws NullParamException when some param is null.
+     */
+    public BaristaServlet(IBaristaService baristaService, EntityVersions versions) {
+        super(versions, READ_TABLES, WRITTEN_TABLES);
         if (baristaService == null)
             throw new NullParamException();
 
@@ -50,22 +87,26 @@ public class BaristaServlet extends SimpleServlet {
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         try {
             String pathInfo = req.getPathInfo();
-            resp.setContentType("text/html");
+            PathRouter.Match<BaristaRoute> route = ROUTER.match(pathInfo);
 
-            if (pathInfo == null || pathInfo.equals("/")) {
+            if (route.is(BaristaRoute.BARISTAS)) {
                 Map<String, String[]> params = req.getParameterMap();
                 if (params.containsKey("page") && params.containsKey("limit")) {
                     int page = Integer.parseInt(params.get("page")[0]);
                     int limit = Integer.parseInt(params.get("limit")[0]);
 
                     findAllByPage(page, limit, resp);
+                } else if (params.containsKey("limit")) {
+                    int limit = Integer.parseInt(params.get("limit")[0]);
+                    Long afterId = params.containsKey("after") ? decodeCursor(params.get("after")[0]) : null;
+
+                    findAllAfter(afterId, limit, resp);
                 } else {
                     findAll(resp);
                 }
 
-            } else if (pathInfo.matches(SPECIFIED_BARISTA_REGEX)) {//regex путь соответствующий "/[цифры]/" или "/[цифры]"
-                Long id = Long.parseLong(pathInfo.split("/")[1]);
-                findById(id, resp);
+            } else if (route.is(BaristaRoute.BARISTA)) {
+                findById(route.id(), resp);
 
             } else {
                 String message = String.format(BAD_PATH, pathInfo);
@@ -101,15 +142,11 @@ public class BaristaServlet extends SimpleServlet {
      * @param response used to send response.
      */
     private void findAll(HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
-        List<BaristaPublicDTO> baristaDtoList = baristaService.findAll().stream()
-                .map(BaristaPublicDTO::new)
-                .toList();
-
-        String json = arrToJson(baristaDtoList, mapper);
-
-        printWriter.write(json);
+        PrintWriter printWriter = jsonWriter(response);
+        Stream<BaristaPublicDTO> baristaDtoStream = baristaService.findAll().stream()
+                .map(BaristaPublicDTO::new);
         response.setStatus(HttpServletResponse.SC_OK);
+        writeJsonArray(baristaDtoStream, mapper, printWriter);
         response.flushBuffer();
     }
 
@@ -122,16 +159,34 @@ public class BaristaServlet extends SimpleServlet {
      * @param response used to send response.
      */
     private void findAllByPage(int page, int limit, HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
-        List<BaristaPublicDTO> baristaDtoList = baristaService.findAllByPage(page, limit)
+        PrintWriter printWriter = jsonWriter(response);
+        Stream<BaristaPublicDTO> baristaDtoStream = baristaService.findAllByPage(page, limit)
                 .stream()
-                .map(BaristaPublicDTO::new)
-                .toList();
-
-        String json = arrToJson(baristaDtoList, mapper);
+                .map(BaristaPublicDTO::new);
+        response.setStatus(HttpServletResponse.SC_OK);
+        writeJsonArray(baristaDtoStream, mapper, printWriter);
+        response.flushBuffer();
+    }
 
-        printWriter.write(json);
+    /**
+     * Send to response barista objects with id greater than specified one using the service.
+     * When page is full, cursor to the next page is set to X-Next-Cursor header.
+     * Set status OK.
+     *
+     * @param afterId  id decoded from cursor of previous page. Null - from the first one.
+     * @param limit    maximum objects in page.
+     * @param response used to send response.
+     */
+    private void findAllAfter(Long afterId, int limit, HttpServletResponse response) throws IOException {
+        List<Barista> baristaList = baristaService.findAllAfter(afterId, limit);
+        if (baristaList.size() == limit)
+            response.setHeader(NEXT_CURSOR_HEADER, encodeCursor(baristaList.get(limit - 1).getId()));
+
+        PrintWriter printWriter = jsonWriter(response);
+        Stream<BaristaPublicDTO> baristaDtoStream = baristaList.stream()
+                .map(BaristaPublicDTO::new);
         response.setStatus(HttpServletResponse.SC_OK);
+        writeJsonArray(baristaDtoStream, mapper, printWriter);
         response.flushBuffer();
     }
 
@@ -143,7 +198,7 @@ public class BaristaServlet extends SimpleServlet {
      * @param response used to send response.
      */
     private void findById(Long id, HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
+        PrintWriter printWriter = jsonWriter(response);
         Barista barista = baristaService.findById(id);
         String json = mapper.toJson(new BaristaPublicDTO(barista));
 
@@ -158,7 +213,7 @@ public class BaristaServlet extends SimpleServlet {
             String pathInfo = req.getPathInfo();
             req.setCharacterEncoding("UTF-8");
 
-            if (pathInfo == null || pathInfo.matches("/")) {//regex путь соответствующий "/" или ""
+            if (ROUTER.match(pathInfo).is(BaristaRoute.BARISTAS)) {
                 create(req, resp);
             } else {
                 String message = String.format(BAD_PATH, pathInfo);
@@ -189,7 +244,7 @@ public class BaristaServlet extends SimpleServlet {
      * @param response outgoing data.
      */
     private void create(HttpServletRequest request, HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
+        PrintWriter printWriter = jsonWriter(response);
         BaristaCreateDTO baristaDTO = mapper.fromJson(request.getReader(), BaristaCreateDTO.class);
         Barista barista = baristaService.create(baristaDTO);
 
@@ -203,9 +258,9 @@ public class BaristaServlet extends SimpleServlet {
     protected void doPut(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         try {
             String pathInfo = req.getPathInfo();
-            if (pathInfo != null && pathInfo.matches(SPECIFIED_BARISTA_REGEX)) {//regex путь соответствующий "/[цифры]/" или "/[цифры]"
-                Long id = Long.parseLong(pathInfo.split("/")[1]);
-                update(id, req);
+            PathRouter.Match<BaristaRoute> route = ROUTER.match(pathInfo);
+            if (route.is(BaristaRoute.BARISTA)) {
+                update(route.id(), req);
                 resp.setStatus(HttpServletResponse.SC_OK);
                 resp.flushBuffer();
 
@@ -253,9 +308,9 @@ public class BaristaServlet extends SimpleServlet {
     protected void doDelete(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         try {
             String pathInfo = req.getPathInfo();
-            if (pathInfo != null && pathInfo.matches(SPECIFIED_BARISTA_REGEX)) {//regex путь соответствующий "/[цифры]/" или "/[цифры]"
-                Long id = Long.parseLong(pathInfo.split("/")[1]);
-                delete(id);
+            PathRouter.Match<BaristaRoute> route = ROUTER.match(pathInfo);
+            if (route.is(BaristaRoute.BARISTA)) {
+                delete(route.id());
                 resp.setStatus(HttpServletResponse.SC_OK);
                 resp.flushBuffer();
 
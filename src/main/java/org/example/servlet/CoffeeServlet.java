@@ -21,9 +21,12 @@ import org.example.servlet.dto.CoffeeUpdateDTO;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 public class CoffeeServlet extends SimpleServlet {
     private static final Logger LOGGER = Logger.getLogger(CoffeeServlet.class.getName());
@@ -38,12 +41,47 @@ public class CoffeeServlet extends SimpleServlet {
     public static final String HAS_REF = "Has references: %s";
     private static final String SOME_DATA_BASE_EXCEPTION = "Some database error: %s";
 
-    private static final String SPECIFIED_COFFEE_REGEX = "/\\d+/?"; //regex путь соответствующий "/[цифры]/" или "/[цифры]"
+    private static final Set<EntityVersions.Table> READ_TABLES = EnumSet.of(EntityVersions.Table.COFFEE, EntityVersions.Table.ORDER);
+    private static final Set<EntityVersions.Table> WRITTEN_TABLES = EnumSet.of(EntityVersions.Table.COFFEE, EntityVersions.Table.ORDER);
+    private static final PathRouter<CoffeeRoute> ROUTER = new PathRouter<>(CoffeeRoute.class);
+
+    /**
+     * Routes of coffee's servlet. Trailing slash is optional for all of them.
+     */
+    private enum CoffeeRoute implements PathRouter.Route {
+        COFFEES("/"),
+        COFFEE("/{id}");
+
+        private final String template;
+
+        CoffeeRoute(String template) {
+            this.template = template;
+        }
+
+        @Override
+        public String template() {
+            return template;
+        }
+    }
 
 
     public CoffeeServlet(ICoffeeService coffeeService) {
+        this(coffeeService, new EntityVersions());
+    }
+
+    /**
+     * Create servlet with conditional GET by shared version counters.
+     * GET responses contain coffee's with their orders. Writes of coffee also change its references to orders.
+     *
+     * @param coffeeService coffee service.
+     * @param versions      version counters shared by all servlets.
+     * @throws NullParamException when some param is null.
+     */
+    public CoffeeServlet(ICoffeeService coffeeService, EntityVersions versions) {
+        super(versions, READ_TABLES, WRITTEN_TABLES);
         if (coffeeService == null)
             throw new NullParamException();
+
         this.coffeeService = coffeeService;
     }
 
@@ -53,7 +91,9 @@ public class CoffeeServlet extends SimpleServlet {
         try {
             String pathInfo = req.getPathInfo();
 
-            if (pathInfo == null || pathInfo.equals("/")) {
+            PathRouter.Match<CoffeeRoute> route = ROUTER.match(pathInfo);
+
+            if (route.is(CoffeeRoute.COFFEES)) {
 
                 Map<String, String[]> params = req.getParameterMap();
                 if (params.containsKey("page") && params.containsKey("limit")) {
@@ -61,13 +101,17 @@ public class CoffeeServlet extends SimpleServlet {
                     int limit = Integer.parseInt(params.get("limit")[0]);
 
                     findAllByPage(page, limit, resp);
+                } else if (params.containsKey("limit")) {
+                    int limit = Integer.parseInt(params.get("limit")[0]);
+                    Long afterId = params.containsKey("after") ? decodeCursor(params.get("after")[0]) : null;
+
+                    findAllAfter(afterId, limit, resp);
                 } else {
                     findAll(resp);
                 }
 
-            } else if (pathInfo.matches(SPECIFIED_COFFEE_REGEX)) { //regex путь соответствующий "/[цифры]/" или "/[цифры]"
-                Long id = Long.parseLong(pathInfo.split("/")[1]);
-                findById(id, resp);
+            } else if (route.is(CoffeeRoute.COFFEE)) {
+                findById(route.id(), resp);
 
             } else {
                 String message = String.format(BAD_PATH, pathInfo);
@@ -104,15 +148,12 @@ public class CoffeeServlet extends SimpleServlet {
      * @param response used to send response.
      */
     private void findAll(HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
+        PrintWriter printWriter = jsonWriter(response);
 
-        List<CoffeePublicDTO> coffeeDtoList = coffeeService.findAll().stream()
-                .map(CoffeePublicDTO::new)
-                .toList();
-        String json = arrToJson(coffeeDtoList, mapper);
-
-        printWriter.write(json);
+        Stream<CoffeePublicDTO> coffeeDtoStream = coffeeService.findAll().stream()
+                .map(CoffeePublicDTO::new);
         response.setStatus(HttpServletResponse.SC_OK);
+        writeJsonArray(coffeeDtoStream, mapper, printWriter);
         response.flushBuffer();
     }
 
@@ -125,7 +166,7 @@ public class CoffeeServlet extends SimpleServlet {
      * @throws IOException
      */
     private void findById(Long id, HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
+        PrintWriter printWriter = jsonWriter(response);
 
         Coffee coffee = coffeeService.findById(id);
         String json = mapper.toJson(new CoffeePublicDTO(coffee));
@@ -136,16 +177,35 @@ public class CoffeeServlet extends SimpleServlet {
     }
 
     private void findAllByPage(int page, int limit, HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
+        PrintWriter printWriter = jsonWriter(response);
 
-        List<CoffeePublicDTO> coffeeDtoList = coffeeService.findAllByPage(page, limit)
+        Stream<CoffeePublicDTO> coffeeDtoStream = coffeeService.findAllByPage(page, limit)
                 .stream()
-                .map(CoffeePublicDTO::new)
-                .toList();
-        String json = arrToJson(coffeeDtoList, mapper);
+                .map(CoffeePublicDTO::new);
+        response.setStatus(HttpServletResponse.SC_OK);
+        writeJsonArray(coffeeDtoStream, mapper, printWriter);
+        response.flushBuffer();
+    }
 
-        printWriter.write(json);
+    /**
+     * Send to response coffee objects with id greater than specified one using the service.
+     * When page is full, cursor to the next page is set to X-Next-Cursor header.
+     * Set status OK.
+     *
+     * @param afterId  id decoded from cursor of previous page. Null - from the first one.
+     * @param limit    maximum objects in page.
+     * @param response used to send response.
+     */
+    private void findAllAfter(Long afterId, int limit, HttpServletResponse response) throws IOException {
+        List<Coffee> coffeeList = coffeeService.findAllAfter(afterId, limit);
+        if (coffeeList.size() == limit)
+            response.setHeader(NEXT_CURSOR_HEADER, encodeCursor(coffeeList.get(limit - 1).getId()));
+
+        PrintWriter printWriter = jsonWriter(response);
+        Stream<CoffeePublicDTO> coffeeDtoStream = coffeeList.stream()
+                .map(CoffeePublicDTO::new);
         response.setStatus(HttpServletResponse.SC_OK);
+        writeJsonArray(coffeeDtoStream, mapper, printWriter);
         response.flushBuffer();
     }
 
@@ -154,7 +214,7 @@ public class CoffeeServlet extends SimpleServlet {
         try {
             String pathInfo = req.getPathInfo();
 
-            if (pathInfo == null || pathInfo.matches("/")) {//regex путь соответствующий "/[цифры]/" или "/[цифры]"
+            if (ROUTER.match(pathInfo).is(CoffeeRoute.COFFEES)) {
                 create(req, resp);
 
             } else {
@@ -180,7 +240,7 @@ public class CoffeeServlet extends SimpleServlet {
     }
 
     private void create(HttpServletRequest request, HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
+        PrintWriter printWriter = jsonWriter(response);
         CoffeeCreateDTO coffeeDTO = mapper.fromJson(request.getReader(), CoffeeCreateDTO.class);
 
         Coffee coffee = coffeeService.create(coffeeDTO);
@@ -196,9 +256,10 @@ public class CoffeeServlet extends SimpleServlet {
         try {
             String pathInfo = req.getPathInfo();
 
-            if (pathInfo != null && pathInfo.matches(SPECIFIED_COFFEE_REGEX)) {//regex путь соответствующий "/[цифры]/" или "/[цифры]"
-                Long id = Long.parseLong(pathInfo.split("/")[1]);
-                update(id, req);
+            PathRouter.Match<CoffeeRoute> route = ROUTER.match(pathInfo);
+
+            if (route.is(CoffeeRoute.COFFEE)) {
+                update(route.id(), req);
                 resp.setStatus(HttpServletResponse.SC_OK);
 
             } else {
@@ -240,9 +301,10 @@ public class CoffeeServlet extends SimpleServlet {
         try {
             String pathInfo = req.getPathInfo();
 
-            if (pathInfo != null && pathInfo.matches(SPECIFIED_COFFEE_REGEX)) {//regex путь соответствующий "/[цифры]/" или "/[цифры]"
-                Long id = Long.parseLong(pathInfo.split("/")[1]);
-                delete(id);
+            PathRouter.Match<CoffeeRoute> route = ROUTER.match(pathInfo);
+
+            if (route.is(CoffeeRoute.COFFEE)) {
+                delete(route.id());
                 resp.setStatus(HttpServletResponse.SC_OK);
 
             } else {
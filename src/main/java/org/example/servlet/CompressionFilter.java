@@ -0,0 +1,595 @@
+package org.example.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.example.db.metrics.MetricsExporter;
+import org.example.service.exception.NoValidLimitException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses response bodies with gzip or deflate, negotiated by Accept-Encoding.
+ * Body is buffered until it reaches minSize: smaller bodies are sent as is, with Content-Length,
+ * bigger ones are compressed while they are written, whole body is never held in memory.
+ * Only successful responses with text, json or xml content and without own Content-Encoding are compressed.
+ * Compressed representation gets its own ETag: name of coding is appended to tag set by servlet
+ * and is removed from If-None-Match before request reaches servlet.
+ */
+public class CompressionFilter extends HttpFilter implements MetricsExporter {
+    private static final Logger LOGGER = Logger.getLogger(CompressionFilter.class.getName());
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String ETAG = "ETag";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final int minSize;
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder inputBytes = new LongAdder();
+    private final LongAdder outputBytes = new LongAdder();
+
+    /**
+     * Content coding, supported by filter.
+     */
+    enum Coding {
+        GZIP("gzip") {
+            @Override
+            OutputStream wrap(OutputStream out) throws IOException {
+                return new GZIPOutputStream(out, BUFFER_SIZE, true);
+            }
+        },
+        DEFLATE("deflate") {
+            @Override
+            OutputStream wrap(OutputStream out) {
+                return new DeflaterOutputStream(out, true);
+            }
+        };
+
+        private final String token;
+
+        Coding(String token) {
+            this.token = token;
+        }
+
+        /**
+         * Wrap stream, so everything written is compressed. Flush of wrapper flushes compressed data.
+         */
+        abstract OutputStream wrap(OutputStream out) throws IOException;
+
+        String getToken() {
+            return token;
+        }
+    }
+
+    /**
+     * Create filter.
+     *
+     * @param minSize minimum size of body in bytes to compress it.
+     * @throws NoValidLimitException when minSize is negative.
+     */
+    public CompressionFilter(int minSize) {
+        if (minSize < 0)
+            throw new NoValidLimitException(minSize);
+
+        this.minSize = minSize;
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse res, FilterChain chain) throws IOException, ServletException {
+        res.addHeader("Vary", ACCEPT_ENCODING);
+        Coding coding = negotiate(req.getHeader(ACCEPT_ENCODING));
+        if (coding == null || "HEAD".equals(req.getMethod())) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        CompressedResponse response = new CompressedResponse(res, coding);
+        CompressedRequest request = new CompressedRequest(req, response);
+        chain.doFilter(request, response);
+        if (!request.isAsyncStarted())
+            response.finish();
+    }
+
+    /**
+     * Choose coding by Accept-Encoding header. Gzip is preferred, when both codings have equal weight.
+     *
+     * @param acceptEncoding value of header, may be null.
+     * @return chosen coding, or null when response should not be compressed.
+     */
+    static Coding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank())
+            return null;
+
+        double anyWeight = 0;
+        double[] weights = {-1, -1};
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String token = parts[0].trim().toLowerCase(Locale.ROOT);
+            double weight = weight(parts);
+            if (token.equals("*"))
+                anyWeight = weight;
+            for (Coding coding : Coding.values()) {
+                if (token.equals(coding.getToken()) || token.equals("x-" + coding.getToken()))
+                    weights[coding.ordinal()] = weight;
+            }
+        }
+
+        Coding chosen = null;
+        double chosenWeight = 0;
+        for (Coding coding : Coding.values()) {
+            double weight = weights[coding.ordinal()] < 0 ? anyWeight : weights[coding.ordinal()];
+            if (weight > chosenWeight) {
+                chosen = coding;
+                chosenWeight = weight;
+            }
+        }
+        return chosen;
+    }
+
+    private static double weight(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Check, that content of specified type is worth compressing.
+     *
+     * @param contentType value of Content-Type, may be null.
+     * @return true for text, json and xml, except event stream.
+     */
+    static boolean isCompressible(String contentType) {
+        if (contentType == null)
+            return false;
+
+        String mediaType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        if (mediaType.equals("text/event-stream"))
+            return false;
+        return mediaType.startsWith("text/")
+                || mediaType.endsWith("/json") || mediaType.endsWith("+json")
+                || mediaType.endsWith("/xml") || mediaType.endsWith("+xml");
+    }
+
+    @Override
+    public void export(Writer writer) throws IOException {
+        writer.write("# HELP http_compressed_responses_total Responses sent with content coding.\n"
+                + "# TYPE http_compressed_responses_total counter\n"
+                + "http_compressed_responses_total " + compressedResponses.sum() + "\n"
+                + "# HELP http_compression_input_bytes_total Bytes of compressed responses before compression.\n"
+                + "# TYPE http_compression_input_bytes_total counter\n"
+                + "http_compression_input_bytes_total " + inputBytes.sum() + "\n"
+                + "# HELP http_compression_output_bytes_total Bytes of compressed responses after compression.\n"
+                + "# TYPE http_compression_output_bytes_total counter\n"
+                + "http_compression_output_bytes_total " + outputBytes.sum() + "\n");
+    }
+
+    /**
+     * Request, that removes coding from tags of If-None-Match and finishes compressed body on async complete.
+     */
+    private static class CompressedRequest extends HttpServletRequestWrapper {
+        private final CompressedResponse response;
+
+        CompressedRequest(HttpServletRequest request, CompressedResponse response) {
+            super(request);
+            this.response = response;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            if (value == null || !IF_NONE_MATCH.equalsIgnoreCase(name))
+                return value;
+            return response.untag(value);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (!IF_NONE_MATCH.equalsIgnoreCase(name))
+                return super.getHeaders(name);
+            return Collections.enumeration(Collections.list(super.getHeaders(name)).stream()
+                    .map(response::untag)
+                    .toList());
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            return new CompletingAsyncContext(super.startAsync(), response);
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+            return new CompletingAsyncContext(super.startAsync(servletRequest, servletResponse), response);
+        }
+    }
+
+    /**
+     * Async context, that finishes compressed body before completing response.
+     */
+    private static class CompletingAsyncContext implements AsyncContext {
+        private final AsyncContext asyncContext;
+        private final CompressedResponse response;
+
+        CompletingAsyncContext(AsyncContext asyncContext, CompressedResponse response) {
+            this.asyncContext = asyncContext;
+            this.response = response;
+        }
+
+        @Override
+        public void complete() {
+            try {
+                response.finish();
+            } catch (IOException e) {
+                LOGGER.severe(e.getMessage());
+            } finally {
+                asyncContext.complete();
+            }
+        }
+
+        @Override
+        public ServletRequest getRequest() {
+            return asyncContext.getRequest();
+        }
+
+        @Override
+        public ServletResponse getResponse() {
+            return asyncContext.getResponse();
+        }
+
+        @Override
+        public boolean hasOriginalRequestAndResponse() {
+            return asyncContext.hasOriginalRequestAndResponse();
+        }
+
+        @Override
+        public void dispatch() {
+            asyncContext.dispatch();
+        }
+
+        @Override
+        public void dispatch(String path) {
+            asyncContext.dispatch(path);
+        }
+
+        @Override
+        public void dispatch(ServletContext context, String path) {
+            asyncContext.dispatch(context, path);
+        }
+
+        @Override
+        public void start(Runnable run) {
+            asyncContext.start(run);
+        }
+
+        @Override
+        public void addListener(AsyncListener listener) {
+            asyncContext.addListener(listener);
+        }
+
+        @Override
+        public void addListener(AsyncListener listener, ServletRequest servletRequest, ServletResponse servletResponse) {
+            asyncContext.addListener(listener, servletRequest, servletResponse);
+        }
+
+        @Override
+        public <T extends AsyncListener> T createListener(Class<T> clazz) throws ServletException {
+            return asyncContext.createListener(clazz);
+        }
+
+        @Override
+        public void setTimeout(long timeout) {
+            asyncContext.setTimeout(timeout);
+        }
+
+        @Override
+        public long getTimeout() {
+            return asyncContext.getTimeout();
+        }
+    }
+
+    /**
+     * Response, that buffers body up to minSize and then chooses between compressed and identity output.
+     */
+    private class CompressedResponse extends HttpServletResponseWrapper {
+        private final Coding coding;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream out;
+        private CountingOutputStream counter;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+        private long contentLength = -1;
+        private long written;
+        private boolean compressed;
+        private boolean bypassed;
+        private boolean finished;
+
+        CompressedResponse(HttpServletResponse response, Coding coding) {
+            super(response);
+            this.coding = coding;
+        }
+
+        /**
+         * Append coding to entity tag: "tag" becomes "tag-gzip".
+         */
+        private String tag(String etag) {
+            if (!etag.endsWith("\""))
+                return etag;
+            return etag.substring(0, etag.length() - 1) + "-" + coding.getToken() + "\"";
+        }
+
+        /**
+         * Remove coding from every tag of If-None-Match header.
+         */
+        private String untag(String header) {
+            String suffix = "-" + coding.getToken() + "\"";
+            StringJoiner joiner = new StringJoiner(", ");
+            for (String tag : header.split(",")) {
+                String trimmed = tag.trim();
+                if (trimmed.endsWith(suffix))
+                    trimmed = trimmed.substring(0, trimmed.length() - suffix.length()) + "\"";
+                joiner.add(trimmed);
+            }
+            return joiner.toString();
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, value != null && ETAG.equalsIgnoreCase(name) ? tag(value) : value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, value != null && ETAG.equalsIgnoreCase(name) ? tag(value) : value);
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (out != null && !compressed)
+                super.setContentLengthLong(len);
+            else
+                contentLength = len;
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            bypassed = true;
+            buffer.reset();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            bypassed = true;
+            buffer.reset();
+            super.sendError(sc);
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return out != null || super.isCommitted();
+        }
+
+        @Override
+        public void reset() {
+            resetBuffer();
+            super.reset();
+            super.addHeader("Vary", ACCEPT_ENCODING);
+            contentLength = -1;
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (out != null)
+                throw new IllegalStateException("Response body is already sent");
+            buffer.reset();
+            super.resetBuffer();
+        }
+
+        /**
+         * Send buffered body. Body, that has not reached minSize yet, is kept in buffer:
+         * response is not committed, so it can still get its Content-Length when finished.
+         */
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null)
+                writer.flush();
+            if (!bypassed) {
+                if (out == null && buffer.size() < minSize)
+                    return;
+                start();
+                out.flush();
+            }
+            super.flushBuffer();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null)
+                throw new IllegalStateException("getWriter() has already been called");
+            if (stream == null)
+                stream = new BufferingOutputStream();
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer != null)
+                return writer;
+            if (stream != null)
+                throw new IllegalStateException("getOutputStream() has already been called");
+
+            stream = new BufferingOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(stream, getCharacterEncoding()));
+            return writer;
+        }
+
+        private void write(byte[] bytes, int off, int len) throws IOException {
+            if (bypassed || finished)
+                return;
+
+            written += len;
+            if (out != null) {
+                out.write(bytes, off, len);
+                return;
+            }
+            buffer.write(bytes, off, len);
+            if (buffer.size() >= minSize)
+                start();
+        }
+
+        /**
+         * Choose output and send buffered bytes to it. Response is compressed only when body reached minSize.
+         */
+        private void start() throws IOException {
+            if (out != null)
+                return;
+
+            compressed = buffer.size() >= minSize
+                    && buffer.size() > 0
+                    && getStatus() == HttpServletResponse.SC_OK
+                    && !containsHeader(CONTENT_ENCODING)
+                    && isCompressible(getContentType());
+            if (compressed) {
+                super.setHeader(CONTENT_ENCODING, coding.getToken());
+                counter = new CountingOutputStream(super.getOutputStream());
+                out = coding.wrap(counter);
+            } else {
+                if (contentLength >= 0)
+                    super.setContentLengthLong(contentLength);
+                out = super.getOutputStream();
+            }
+            buffer.writeTo(out);
+            buffer.reset();
+        }
+
+        /**
+         * Send the rest of body. Body, that never reached minSize, is sent as is, with its length.
+         */
+        void finish() throws IOException {
+            if (finished)
+                return;
+            if (writer != null)
+                writer.flush();
+            finished = true;
+            if (bypassed)
+                return;
+
+            if (out == null) {
+                if (stream == null)
+                    return;
+                if (contentLength < 0)
+                    contentLength = buffer.size();
+                start();
+            }
+            if (compressed) {
+                out.close();
+                compressedResponses.increment();
+                inputBytes.add(written);
+                outputBytes.add(counter.getCount());
+            } else {
+                out.flush();
+            }
+        }
+
+        /**
+         * Stream, that passes everything to response's buffering.
+         */
+        private class BufferingOutputStream extends ServletOutputStream {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                CompressedResponse.this.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (out != null)
+                    out.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                finish();
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new IllegalStateException("Non-blocking output is not supported by compressed response");
+            }
+        }
+    }
+
+    /**
+     * Stream, that counts bytes written to container.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.servlet;
+
+import org.example.entity.exception.NullParamException;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Version counters of entity tables, used to build ETag and Last-Modified of responses.
+ * Every write bumps versions of tables it changes, so responses read from them get new tag.
+ * Counters are kept in memory of one application instance: tag contains start time of instance,
+ * so tags of previous run never match. Writes made by other instances are seen through db notifications,
+ * which bump versions too. While notifications can be lost, versions are not synced and must not be used
+ * as validators.
+ * Change times are rounded up to the next whole second, because Last-Modified has no finer precision:
+ * write made in the same second as earlier response still gets later time.
+ */
+public class EntityVersions {
+    private final LongSupplier clock;
+    private final BooleanSupplier synced;
+    private final String epoch;
+    private final AtomicLongArray versions = new AtomicLongArray(Table.values().length);
+    private final AtomicLongArray modified = new AtomicLongArray(Table.values().length);
+
+    /**
+     * Entity table. ORDER also covers references between orders and coffee.
+     */
+    public enum Table {
+        BARISTA,
+        COFFEE,
+        ORDER
+    }
+
+    /**
+     * Create versions, that are always synced. Fits single application instance.
+     */
+    public EntityVersions() {
+        this(() -> true);
+    }
+
+    /**
+     * Create versions, that are synced with other instances only while specified condition is true.
+     *
+     * @param synced true while no change made by other instance can be missed, like while notifications are listened.
+     * @throws NullParamException when synced is null.
+     */
+    public EntityVersions(BooleanSupplier synced) {
+        this(System::currentTimeMillis, synced);
+    }
+
+    EntityVersions(LongSupplier clock, BooleanSupplier synced) {
+        if (clock == null || synced == null)
+            throw new NullParamException();
+
+        this.clock = clock;
+        this.synced = synced;
+        this.epoch = Long.toString(clock.getAsLong(), Character.MAX_RADIX);
+        long changed = nextSecond(clock.getAsLong());
+        for (int i = 0; i < modified.length(); i++) {
+            modified.set(i, changed);
+        }
+    }
+
+    /**
+     * Mark tables as changed.
+     *
+     * @param tables changed tables.
+     * @throws NullParamException when tables is null.
+     */
+    public void bump(Set<Table> tables) {
+        if (tables == null)
+            throw new NullParamException();
+
+        long changed = nextSecond(clock.getAsLong());
+        for (Table table : tables) {
+            versions.incrementAndGet(table.ordinal());
+            modified.accumulateAndGet(table.ordinal(), changed, Math::max);
+        }
+    }
+
+    /**
+     * Mark all tables as changed, like when changes could be missed.
+     */
+    public void bumpAll() {
+        bump(EnumSet.allOf(Table.class));
+    }
+
+    /**
+     * Check that versions reflect all changes, including ones made by other instances.
+     *
+     * @return true when versions can be used as validators.
+     */
+    public boolean isSynced() {
+        return synced.getAsBoolean();
+    }
+
+    /**
+     * Get current version of table.
+     *
+     * @param table entity table.
+     * @return number of bumps of table.
+     */
+    public long getVersion(Table table) {
+        return versions.get(table.ordinal());
+    }
+
+    /**
+     * Build strong ETag of response read from specified tables.
+     *
+     * @param tables tables response is read from.
+     * @return quoted entity tag.
+     * @throws NullParamException when tables is null.
+     */
+    public String etag(Set<Table> tables) {
+        if (tables == null)
+            throw new NullParamException();
+
+        StringBuilder tag = new StringBuilder().append('"').append(epoch);
+        for (Table table : Table.values()) {
+            tag.append('-');
+            if (tables.contains(table))
+                tag.append(Long.toString(versions.get(table.ordinal()), Character.MAX_RADIX));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Get time of the last change of specified tables.
+     *
+     * @param tables tables response is read from.
+     * @return time in milliseconds, whole second after the change.
+     * Start time of instance when tables were not changed since.
+     * @throws NullParamException when tables is null.
+     */
+    public long lastModified(Set<Table> tables) {
+        if (tables == null)
+            throw new NullParamException();
+
+        long lastModified = 0;
+        for (Table table : tables) {
+            lastModified = Math.max(lastModified, modified.get(table.ordinal()));
+        }
+        return lastModified;
+    }
+
+    /**
+     * Check that time of change is already past, so it can be sent as Last-Modified.
+     * Until then, another write can get the same time, and If-Modified-Since with it would hide that write.
+     *
+     * @param lastModified time of change.
+     * @return true when the time is not in future.
+     */
+    public boolean isPast(long lastModified) {
+        return lastModified <= clock.getAsLong();
+    }
+
+    private static long nextSecond(long millis) {
+        return millis / 1000 * 1000 + 1000;
+    }
+}
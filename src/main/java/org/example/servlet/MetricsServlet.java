@@ -0,0 +1,47 @@
+package org.example.servlet;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.db.metrics.MetricsExporter;
+import org.example.entity.exception.NullParamException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Send metrics of application in Prometheus text format.
+ */
+public class MetricsServlet extends HttpServlet {
+    private static final Logger LOGGER = Logger.getLogger(MetricsServlet.class.getName());
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final transient List<MetricsExporter> exporters;
+
+    public MetricsServlet(List<MetricsExporter> exporters) {
+        if (exporters == null || exporters.contains(null))
+            throw new NullParamException();
+
+        this.exporters = List.copyOf(exporters);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        try {
+            StringWriter metrics = new StringWriter();
+            for (MetricsExporter exporter : exporters) {
+                exporter.export(metrics);
+            }
+
+            resp.setContentType(CONTENT_TYPE);
+            resp.getWriter().write(metrics.toString());
+            resp.setStatus(HttpServletResponse.SC_OK);
+            resp.flushBuffer();
+
+        } catch (IOException e) {
+            LOGGER.severe(e.getMessage());
+        }
+    }
+}
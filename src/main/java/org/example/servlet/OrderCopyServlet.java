@@ -0,0 +1,168 @@
+package org.example.servlet;
+
+import com.google.gson.Gson;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.entity.exception.NullParamException;
+import org.example.repository.exception.DataBaseException;
+import org.example.service.IOrderCopyService;
+import org.example.service.gateway.CopyFormat;
+import org.example.service.gateway.CopyTable;
+import org.example.servlet.dto.CopyResultDTO;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Admin servlet for bulk export and import of order tables.
+ * GET streams table from db to response body, POST streams request body to table.
+ * Format is selected by 'format' param: csv (default) or binary.
+ */
+public class OrderCopyServlet extends SimpleServlet {
+    private static final Logger LOGGER = Logger.getLogger(OrderCopyServlet.class.getName());
+    private final transient IOrderCopyService orderCopyService;
+    private final transient Gson mapper = new Gson();
+
+    private static final String BAD_PATH = "Bad path! Path '%s' is not processing!";
+    private static final String BAD_PARAMS = "Bad params: %s";
+    private static final String SOME_DATA_BASE_EXCEPTION = "Some database error: %s";
+    private static final String FORMAT_PARAM = "format";
+
+    private static final Set<EntityVersions.Table> READ_TABLES = EnumSet.of(EntityVersions.Table.ORDER);
+    private static final Set<EntityVersions.Table> WRITTEN_TABLES = EnumSet.of(EntityVersions.Table.ORDER);
+    private static final PathRouter<CopyRoute> ROUTER = new PathRouter<>(CopyRoute.class);
+
+    /**
+     * Routes of copy servlet, one for every table. Trailing slash is optional for all of them.
+     */
+    private enum CopyRoute implements PathRouter.Route {
+        ORDERS("/orders", CopyTable.ORDER),
+        ORDER_COFFEE("/order_coffee", CopyTable.ORDER_COFFEE);
+
+        private final String template;
+        private final CopyTable table;
+
+        CopyRoute(String template, CopyTable table) {
+            this.template = template;
+            this.table = table;
+        }
+
+        @Override
+        public String template() {
+            return template;
+        }
+    }
+
+    public OrderCopyServlet(IOrderCopyService orderCopyService) {
+        this(orderCopyService, new EntityVersions());
+    }
+
+    /**
+     * Create servlet with conditional GET by shared version counters.
+     * Import changes orders and their references to coffee.
+     *
+     * @param orderCopyService order copy service.
+     * @param versions         version counters shared by all servlets.
+     * @throws NullParamException when some param is null.
+     */
+    public OrderCopyServlet(IOrderCopyService orderCopyService, EntityVersions versions) {
+        super(versions, READ_TABLES, WRITTEN_TABLES);
+        if (orderCopyService == null)
+            throw new NullParamException();
+
+        this.orderCopyService = orderCopyService;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        try {
+            String pathInfo = req.getPathInfo();
+            CopyRoute route = ROUTER.match(pathInfo).route();
+
+            if (route != null) {
+                CopyFormat format = parseFormat(req.getParameter(FORMAT_PARAM));
+                resp.setContentType(format.contentType());
+                resp.setStatus(HttpServletResponse.SC_OK);
+
+                long rows = orderCopyService.exportTable(route.table, format, resp.getOutputStream());
+                resp.flushBuffer();
+                LOGGER.info(String.format("Exported %d rows of %s", rows, route.table));
+
+            } else {
+                String message = String.format(BAD_PATH, pathInfo);
+                LOGGER.info(message);
+                resp.sendError(HttpServletResponse.SC_BAD_REQUEST, message);
+            }
+        } catch (IllegalArgumentException e) {
+            String message = String.format(BAD_PARAMS, e.getMessage());
+            LOGGER.info(message);
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, message);
+
+        } catch (DataBaseException e) {
+            String message = String.format(SOME_DATA_BASE_EXCEPTION, e.getMessage());
+            LOGGER.severe(message);
+            if (!resp.isCommitted())
+                resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, message);
+
+        } catch (IOException e) {
+            LOGGER.severe(e.getMessage());
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        try {
+            String pathInfo = req.getPathInfo();
+            CopyRoute route = ROUTER.match(pathInfo).route();
+
+            if (route != null) {
+                CopyFormat format = parseFormat(req.getParameter(FORMAT_PARAM));
+
+                long rows = orderCopyService.importTable(route.table, format, req.getInputStream());
+
+                String json = mapper.toJson(new CopyResultDTO(route.table.name(), rows));
+                resp.setContentType("application/json");
+                resp.setStatus(HttpServletResponse.SC_OK);
+                resp.getWriter().write(json);
+                resp.flushBuffer();
+
+            } else {
+                String message = String.format(BAD_PATH, pathInfo);
+                LOGGER.info(message);
+                resp.sendError(HttpServletResponse.SC_BAD_REQUEST, message);
+            }
+        } catch (IllegalArgumentException e) {
+            String message = String.format(BAD_PARAMS, e.getMessage());
+            LOGGER.info(message);
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, message);
+
+        } catch (DataBaseException e) {
+            String message = String.format(SOME_DATA_BASE_EXCEPTION, e.getMessage());
+            LOGGER.severe(message);
+            resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, message);
+
+        } catch (IOException e) {
+            LOGGER.severe(e.getMessage());
+        }
+    }
+
+    /**
+     * Parse format param.
+     *
+     * @param format format name, case-insensitive. Null - csv.
+     * @return copy format.
+     * @throws IllegalArgumentException when format is not supported.
+     */
+    private static CopyFormat parseFormat(String format) {
+        if (format == null || format.isEmpty())
+            return CopyFormat.CSV;
+        try {
+            return CopyFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Format '" + format + "' is not supported!");
+        }
+    }
+}
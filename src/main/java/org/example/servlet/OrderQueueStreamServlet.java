@@ -0,0 +1,217 @@
+package org.example.servlet;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.db.metrics.MetricsExporter;
+import org.example.entity.exception.NullParamException;
+import org.example.service.IOrderQueueFeed;
+import org.example.service.dto.OrderQueueDelta;
+import org.example.servlet.adapter.LocalDateTimeAdapter;
+import org.example.servlet.dto.OrderPublicDTO;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Server-sent events stream of 'order' queue.
+ * Client gets "snapshot" event with the whole queue and then "added", "updated", "completed"
+ * and "removed" events with one order each. Every change is serialized once for all clients.
+ * Every client has bounded buffer of events, written to it by own virtual thread,
+ * so slow client never delays others. Client, which buffer is overflowed, is disconnected
+ * and gets fresh snapshot after reconnect.
+ * Servlet has to be registered with async support.
+ */
+public class OrderQueueStreamServlet extends HttpServlet implements MetricsExporter {
+    private static final Logger LOGGER = Logger.getLogger(OrderQueueStreamServlet.class.getName());
+    private static final int BUFFER_CAPACITY = 256;
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final long RETRY_MILLIS = 3000;
+    private static final String HEARTBEAT = ": heartbeat\n\n";
+
+    private final transient IOrderQueueFeed feed;
+    private final transient Gson mapper = new GsonBuilder()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+            .create();
+    private final transient ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final transient AtomicReference<EncodedDelta> lastEncoded = new AtomicReference<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final transient LongAdder overflowed = new LongAdder();
+
+    private record EncodedDelta(OrderQueueDelta delta, String event) {
+    }
+
+    public OrderQueueStreamServlet(IOrderQueueFeed feed) {
+        if (feed == null)
+            throw new NullParamException();
+
+        this.feed = feed;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (!req.isAsyncSupported()) {
+            LOGGER.severe("Queue stream is registered without async support");
+            resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return;
+        }
+
+        resp.setContentType("text/event-stream");
+        resp.setCharacterEncoding("UTF-8");
+        resp.setHeader("Cache-Control", "no-cache");
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.getWriter().write("retry: " + RETRY_MILLIS + "\n\n");
+        resp.flushBuffer();
+
+        AsyncContext asyncContext = req.startAsync();
+        asyncContext.setTimeout(0);
+
+        StreamClient client = new StreamClient(asyncContext, resp.getWriter());
+        asyncContext.addListener(client);
+        client.subscribe();
+        executor.execute(client::run);
+    }
+
+    /**
+     * Format change of queue to server-sent event.
+     * Same change, passed to all clients one after another, is serialized once.
+     *
+     * @param delta change of queue.
+     * @return event text, ended by empty line.
+     */
+    String encode(OrderQueueDelta delta) {
+        EncodedDelta last = lastEncoded.get();
+        if (last != null && last.delta() == delta)
+            return last.event();
+
+        Object data = delta.type() == OrderQueueDelta.Type.SNAPSHOT
+                ? delta.orderList().stream().map(OrderPublicDTO::new).toList()
+                : new OrderPublicDTO(delta.orderList().get(0));
+        String event = "event: " + delta.type().name().toLowerCase(Locale.ROOT) + "\n"
+                + "data: " + mapper.toJson(data) + "\n\n";
+
+        lastEncoded.set(new EncodedDelta(delta, event));
+        return event;
+    }
+
+    @Override
+    public void export(Writer writer) throws IOException {
+        writer.write("# HELP order_queue_stream_connections Clients connected to order queue stream.\n"
+                + "# TYPE order_queue_stream_connections gauge\n"
+                + "order_queue_stream_connections " + connections.get() + "\n"
+                + "# HELP order_queue_stream_overflowed_total Clients disconnected for overflowed buffer.\n"
+                + "# TYPE order_queue_stream_overflowed_total counter\n"
+                + "order_queue_stream_overflowed_total " + overflowed.sum() + "\n");
+    }
+
+    /**
+     * Disconnect all clients.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        super.destroy();
+    }
+
+    /**
+     * One client of stream: buffer of its events and writer of them.
+     */
+    private class StreamClient implements AsyncListener {
+        private final AsyncContext asyncContext;
+        private final PrintWriter writer;
+        private final BlockingQueue<String> buffer = new ArrayBlockingQueue<>(BUFFER_CAPACITY);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile IOrderQueueFeed.Subscription subscription;
+
+        StreamClient(AsyncContext asyncContext, PrintWriter writer) {
+            this.asyncContext = asyncContext;
+            this.writer = writer;
+            connections.incrementAndGet();
+        }
+
+        void subscribe() {
+            subscription = feed.subscribe(this::offer);
+            if (closed.get())
+                subscription.close();
+        }
+
+        /**
+         * Called by feed's thread, never blocks.
+         */
+        void offer(OrderQueueDelta delta) {
+            if (closed.get())
+                return;
+            if (!buffer.offer(encode(delta))) {
+                overflowed.increment();
+                close();
+            }
+        }
+
+        /**
+         * Write buffered events until client is disconnected. Heartbeat reveals disconnected idle clients.
+         */
+        void run() {
+            try {
+                while (!closed.get()) {
+                    String event = buffer.poll(HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+                    writer.write(event != null ? event : HEARTBEAT);
+                    writer.flush();
+                    if (writer.checkError())
+                        break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+                try {
+                    asyncContext.complete();
+                } catch (IllegalStateException e) {
+                    // already completed by container
+                }
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true))
+                return;
+
+            connections.decrementAndGet();
+            if (subscription != null)
+                subscription.close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // nothing to do on restart
+        }
+    }
+}
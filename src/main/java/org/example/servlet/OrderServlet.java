@@ -4,28 +4,37 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonWriter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.example.entity.Order;
 import org.example.entity.exception.*;
 import org.example.repository.exception.DataBaseException;
 import org.example.service.IOrderService;
+import org.example.service.dto.BatchResult;
 import org.example.service.exception.NoValidLimitException;
 import org.example.service.exception.NoValidPageException;
 import org.example.service.exception.OrderAlreadyCompletedException;
 import org.example.service.exception.OrderHasReferencesException;
 import org.example.servlet.adapter.LocalDateTimeAdapter;
+import org.example.servlet.dto.OrderBatchResultDTO;
 import org.example.servlet.dto.OrderCreateDTO;
 import org.example.servlet.dto.OrderPublicDTO;
 import org.example.servlet.dto.OrderUpdateDTO;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class OrderServlet extends SimpleServlet {
 
@@ -39,14 +48,50 @@ public class OrderServlet extends SimpleServlet {
     private static final String NOT_FOUND = "Not found: %s";
     private static final String HAS_REF = "Has references: %s";
     private static final String BAD_PARAMS = "Bad params: %s";
+    private static final int STREAM_CHUNK_SIZE = 500;
     private static final String SOME_DATA_BASE_EXCEPTION = "Some database error: %s";
     private static final String ALREADY_EXIST = "Already exist: %s";
 
-    private static final String ORDER_QUEUE = "/queue/?"; // regex match "/queue" or "/queue/"
-    private static final String SPECIFIED_ORDER_REGEX = "/\\d+/?"; //regex путь соответствующий "/[цифры]/" или "/[цифры]"
-    private static final String SPECIFIED_ORDER_COMPLETE_REGEX = "/\\d+/complete/?"; //regex match "/[digits]/complete" or "/[digits]/complete/"
+    private static final Set<EntityVersions.Table> READ_TABLES = EnumSet.allOf(EntityVersions.Table.class);
+    private static final Set<EntityVersions.Table> WRITTEN_TABLES = EnumSet.of(EntityVersions.Table.ORDER);
+    private static final PathRouter<OrderRoute> ROUTER = new PathRouter<>(OrderRoute.class);
+
+    /**
+     * Routes of order's servlet. Trailing slash is optional for all of them.
+     */
+    private enum OrderRoute implements PathRouter.Route {
+        ORDERS("/"),
+        QUEUE("/queue"),
+        BATCH("/batch"),
+        ORDER("/{id}"),
+        ORDER_COMPLETE("/{id}/complete");
+
+        private final String template;
+
+        OrderRoute(String template) {
+            this.template = template;
+        }
+
+        @Override
+        public String template() {
+            return template;
+        }
+    }
 
     public OrderServlet(IOrderService orderService) {
+        this(orderService, new EntityVersions());
+    }
+
+    /**
+     * Create servlet with conditional GET by shared version counters.
+     * GET responses contain orders with their baristas and coffee's.
+     *
+     * @param orderService order service.
+     * @param versions     version counters shared by all servlets.
+     * @throws NullParamException when some param is null.
+     */
+    public OrderServlet(IOrderService orderService, EntityVersions versions) {
+        super(versions, READ_TABLES, WRITTEN_TABLES);
         if (orderService == null)
             throw new NullParamException();
 
@@ -57,24 +102,34 @@ public class OrderServlet extends SimpleServlet {
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         try {
             String pathInfo = req.getPathInfo();
-            resp.setContentType("text/html");
+            PathRouter.Match<OrderRoute> route = ROUTER.match(pathInfo);
 
-            if (pathInfo == null || pathInfo.equals("/")) {
+            if (route.is(OrderRoute.ORDERS)) {
                 Map<String, String[]> params = req.getParameterMap();
                 if (params.containsKey("page") && params.containsKey("limit")) {
                     int page = Integer.parseInt(params.get("page")[0]);
                     int limit = Integer.parseInt(params.get("limit")[0]);
                     findAllByPage(page, limit, resp);
+                } else if (params.containsKey("limit")) {
+                    int limit = Integer.parseInt(params.get("limit")[0]);
+                    Long afterId = params.containsKey("after") ? decodeCursor(params.get("after")[0]) : null;
+
+                    findAllAfter(afterId, limit, resp);
                 } else {
                     findAll(resp);
                 }
 
-            } else if (pathInfo.matches(ORDER_QUEUE)) { // regex match "/queue" or "/queue/"
-                getQueue(resp);
+            } else if (route.is(OrderRoute.QUEUE)) {
+                Map<String, String[]> params = req.getParameterMap();
+                if (params.containsKey("limit")) {
+                    int limit = Integer.parseInt(params.get("limit")[0]);
+                    getQueue(limit, resp);
+                } else {
+                    getQueue(resp);
+                }
 
-            } else if (pathInfo.matches(SPECIFIED_ORDER_REGEX)) {//regex match "/[цифры]/" or "/[цифры]"
-                Long id = Long.parseLong(pathInfo.split("/")[1]);
-                findById(id, resp);
+            } else if (route.is(OrderRoute.ORDER)) {
+                findById(route.id(), resp);
 
             } else {
                 String message = String.format(BAD_PATH, pathInfo);
@@ -95,50 +150,97 @@ public class OrderServlet extends SimpleServlet {
         } catch (DataBaseException e) {
             String message = String.format(SOME_DATA_BASE_EXCEPTION, e.getMessage());
             LOGGER.severe(message);
-            resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, message);
+            if (!resp.isCommitted())
+                resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, message);
 
         } catch (IOException e) {
             LOGGER.severe(e.getMessage());
         }
     }
 
+    /**
+     * Send all orders, streaming them chunk by chunk from db cursor to response.
+     * Response is flushed after every chunk, so client gets first orders before whole table is read.
+     * When db fails after the first flush, error can't be sent anymore and json array is left not closed.
+     * Set status OK.
+     *
+     * @param response used to send response.
+     */
     private void findAll(HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
-        List<OrderPublicDTO> orderList = orderService.findAll().stream()
-                .map(OrderPublicDTO::new)
-                .toList();
-
-        String json = arrToJson(orderList, mapper);
-        printWriter.write(json);
+        PrintWriter printWriter = jsonWriter(response);
         response.setStatus(HttpServletResponse.SC_OK);
+
+        JsonWriter jsonWriter = mapper.newJsonWriter(printWriter);
+        jsonWriter.beginArray();
+        try {
+            orderService.findAll(STREAM_CHUNK_SIZE, orderList -> {
+                try {
+                    writeJsonItems(orderList.stream().map(OrderPublicDTO::new), mapper, jsonWriter);
+                    jsonWriter.flush();
+                    response.flushBuffer();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        jsonWriter.endArray();
+        jsonWriter.flush();
         response.flushBuffer();
     }
 
     private void findAllByPage(int page, int limit, HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
-        List<OrderPublicDTO> orderList = orderService.findAllByPage(page, limit).stream()
-                .map(OrderPublicDTO::new)
-                .toList();
+        PrintWriter printWriter = jsonWriter(response);
+        Stream<OrderPublicDTO> orderDtoStream = orderService.findAllByPage(page, limit).stream()
+                .map(OrderPublicDTO::new);
+        response.setStatus(HttpServletResponse.SC_OK);
+        writeJsonArray(orderDtoStream, mapper, printWriter);
+        response.flushBuffer();
+    }
 
-        String json = arrToJson(orderList, mapper);
-        printWriter.write(json);
+    /**
+     * Send to response order objects with id greater than specified one using the service.
+     * When page is full, cursor to the next page is set to X-Next-Cursor header.
+     * Set status OK.
+     *
+     * @param afterId  id decoded from cursor of previous page. Null - from the first one.
+     * @param limit    maximum objects in page.
+     * @param response used to send response.
+     */
+    private void findAllAfter(Long afterId, int limit, HttpServletResponse response) throws IOException {
+        List<Order> orderList = orderService.findAllAfter(afterId, limit);
+        if (orderList.size() == limit)
+            response.setHeader(NEXT_CURSOR_HEADER, encodeCursor(orderList.get(limit - 1).getId()));
+
+        PrintWriter printWriter = jsonWriter(response);
+        Stream<OrderPublicDTO> orderDtoStream = orderList.stream()
+                .map(OrderPublicDTO::new);
         response.setStatus(HttpServletResponse.SC_OK);
+        writeJsonArray(orderDtoStream, mapper, printWriter);
         response.flushBuffer();
     }
 
     private void getQueue(HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
-        List<OrderPublicDTO> orderDtoList = orderService.getOrderQueue().stream()
-                .map(OrderPublicDTO::new)
-                .toList();
-        String json = arrToJson(orderDtoList, mapper);
-        printWriter.write(json);
+        PrintWriter printWriter = jsonWriter(response);
+        Stream<OrderPublicDTO> orderDtoStream = orderService.getOrderQueue().stream()
+                .map(OrderPublicDTO::new);
         response.setStatus(HttpServletResponse.SC_OK);
+        writeJsonArray(orderDtoStream, mapper, printWriter);
+        response.flushBuffer();
+    }
+
+    private void getQueue(int limit, HttpServletResponse response) throws IOException {
+        PrintWriter printWriter = jsonWriter(response);
+        Stream<OrderPublicDTO> orderDtoStream = orderService.getOrderQueue(limit).stream()
+                .map(OrderPublicDTO::new);
+        response.setStatus(HttpServletResponse.SC_OK);
+        writeJsonArray(orderDtoStream, mapper, printWriter);
         response.flushBuffer();
     }
 
     private void findById(Long id, HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
+        PrintWriter printWriter = jsonWriter(response);
         Order order = orderService.findById(id);
         String json = mapper.toJson(new OrderPublicDTO(order));
         printWriter.write(json);
@@ -152,9 +254,14 @@ public class OrderServlet extends SimpleServlet {
             String pathInfo = req.getPathInfo();
             req.setCharacterEncoding("UTF-8");
 
-            if (pathInfo == null || pathInfo.matches("/?")) {//regex путь соответствующий "/[цифры]/" или "/[цифры]"
+            PathRouter.Match<OrderRoute> route = ROUTER.match(pathInfo);
+
+            if (route.is(OrderRoute.ORDERS)) {
                 create(req, resp);
 
+            } else if (route.is(OrderRoute.BATCH)) {
+                createAll(req, resp);
+
             } else {
                 String message = String.format(BAD_PATH, pathInfo);
                 LOGGER.info(message);
@@ -162,7 +269,7 @@ public class OrderServlet extends SimpleServlet {
             }
         } catch (NoValidIdException | NoValidPriceException | NoValidNameException | NullParamException |
                  JsonMappingException | JsonSyntaxException | CoffeeNotFoundException |
-                 BaristaNotFoundException e) {
+                 BaristaNotFoundException | NoValidLimitException e) {
             String message = String.format(BAD_PARAMS, e.getMessage());
             LOGGER.info(message);
             resp.sendError(HttpServletResponse.SC_BAD_REQUEST, message);
@@ -178,7 +285,7 @@ public class OrderServlet extends SimpleServlet {
     }
 
     private void create(HttpServletRequest request, HttpServletResponse response) throws IOException {
-        PrintWriter printWriter = response.getWriter();
+        PrintWriter printWriter = jsonWriter(response);
         OrderCreateDTO orderDTO = mapper.fromJson(request.getReader(), OrderCreateDTO.class);
 
         Order order = orderService.create(orderDTO);
@@ -189,23 +296,45 @@ public class OrderServlet extends SimpleServlet {
         response.flushBuffer();
     }
 
+    /**
+     * Create orders from json array of OrderCreateDTO using the service and send result of every item back.
+     * Set status CREATED when all orders are created, otherwise OK - statuses of items are in results.
+     *
+     * @param request  income data with json array of OrderCreateDTO.
+     * @param response outgoing data with json array of OrderBatchResultDTO.
+     */
+    private void createAll(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        OrderCreateDTO[] orderDTOArray = mapper.fromJson(request.getReader(), OrderCreateDTO[].class);
+        if (orderDTOArray == null)
+            throw new NullParamException();
+
+        List<BatchResult<Order>> resultList = orderService.createAll(Arrays.asList(orderDTOArray));
+        boolean allCreated = resultList.stream().allMatch(BatchResult::isSuccess);
+
+        PrintWriter printWriter = jsonWriter(response);
+        Stream<OrderBatchResultDTO> resultDtoStream = IntStream.range(0, resultList.size())
+                .mapToObj(i -> new OrderBatchResultDTO(i, resultList.get(i)));
+        response.setStatus(allCreated ? HttpServletResponse.SC_CREATED : HttpServletResponse.SC_OK);
+        writeJsonArray(resultDtoStream, mapper, printWriter);
+        response.flushBuffer();
+    }
+
     @Override
     protected void doPut(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         try {
             String pathInfo = req.getPathInfo();
             req.setCharacterEncoding("UTF-8");
+            PathRouter.Match<OrderRoute> route = ROUTER.match(pathInfo);
 
-            if (pathInfo == null || pathInfo.equals("/")) {
+            if (route.is(OrderRoute.ORDERS)) {
                 resp.sendError(HttpServletResponse.SC_BAD_REQUEST, String.format(BAD_PATH, pathInfo));
 
-            } else if (pathInfo.matches(SPECIFIED_ORDER_REGEX)) {//regex match "/[цифры]/" or "/[цифры]"
-                Long id = Long.parseLong(pathInfo.split("/")[1]);
-                update(id, req);
+            } else if (route.is(OrderRoute.ORDER)) {
+                update(route.id(), req);
                 resp.setStatus(HttpServletResponse.SC_OK);
 
-            } else if (pathInfo.matches(SPECIFIED_ORDER_COMPLETE_REGEX)) { //regex match "/[digits]/complete" or "/[digits]/complete/"
-                Long id = Long.parseLong(pathInfo.split("/")[1]);
-                complete(id);
+            } else if (route.is(OrderRoute.ORDER_COMPLETE)) {
+                complete(route.id());
                 resp.setStatus(HttpServletResponse.SC_OK);
 
             } else {
@@ -261,10 +390,10 @@ public class OrderServlet extends SimpleServlet {
     protected void doDelete(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         try {
             String pathInfo = req.getPathInfo();
+            PathRouter.Match<OrderRoute> route = ROUTER.match(pathInfo);
 
-            if (pathInfo != null && pathInfo.matches(SPECIFIED_ORDER_REGEX)) {//regex путь соответствующий "/[цифры]/" или "/[цифры]"
-                Long id = Long.parseLong(pathInfo.split("/")[1]);
-                delete(id);
+            if (route.is(OrderRoute.ORDER)) {
+                delete(route.id());
                 resp.setStatus(HttpServletResponse.SC_OK);
 
             } else {
@@ -0,0 +1,161 @@
+package org.example.servlet;
+
+import org.example.entity.exception.NullParamException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Router from request's path info to one of routes declared by enum.
+ * Route templates are parsed once, when router is created. Path is matched segment by segment,
+ * without regex and without splitting it to array. Trailing slash is optional.
+ * Template segments: literal (like "queue") or "{id}" - not empty sequence of ascii digits.
+ *
+ * @param <R> enum with routes of one servlet.
+ */
+public final class PathRouter<R extends Enum<R> & PathRouter.Route> {
+    private static final String ID_SEGMENT = "{id}";
+    private static final long NOT_MATCHED = Long.MIN_VALUE;
+    private static final Match<?> NO_MATCH = new Match<>(null, -1L);
+
+    private final R[] routes;
+    private final String[][] segments;
+
+    /**
+     * Route of servlet with its path template.
+     */
+    public interface Route {
+
+        /**
+         * Path template, like "/", "/{id}" or "/{id}/complete".
+         *
+         * @return path template.
+         */
+        String template();
+    }
+
+    /**
+     * Matched route with id, parsed from "{id}" segment.
+     *
+     * @param route matched route. Null when no route is matched.
+     * @param id    parsed id. -1 when route has no "{id}" segment.
+     */
+    public record Match<R>(R route, long id) {
+
+        /**
+         * Check, that path is matched to specified route.
+         *
+         * @param route expected route.
+         * @return true when path is matched to specified route.
+         */
+        public boolean is(R route) {
+            return this.route == route;
+        }
+    }
+
+    /**
+     * Create router from all constants of route enum.
+     * Routes are tried in declaration order.
+     *
+     * @param routeClass enum with routes.
+     * @throws NullParamException       when routeClass is null.
+     * @throws IllegalArgumentException when some template is not started by '/'.
+     */
+    public PathRouter(Class<R> routeClass) {
+        if (routeClass == null)
+            throw new NullParamException();
+
+        this.routes = routeClass.getEnumConstants();
+        this.segments = new String[routes.length][];
+        for (int i = 0; i < routes.length; i++) {
+            segments[i] = parseTemplate(routes[i].template());
+        }
+    }
+
+    /**
+     * Match path info of request to route.
+     *
+     * @param pathInfo path info of request. Null is matched like "/".
+     * @return match with route and id. Route of match is null, when no route is matched.
+     * @throws NumberFormatException when "{id}" segment is matched, but id is too big.
+     */
+    @SuppressWarnings("unchecked")
+    public Match<R> match(String pathInfo) {
+        String path = pathInfo == null ? "" : pathInfo;
+        int length = path.length();
+        if (length > 0 && path.charAt(length - 1) == '/')
+            length--;
+
+        for (int i = 0; i < routes.length; i++) {
+            long id = matchSegments(segments[i], path, length);
+            if (id != NOT_MATCHED)
+                return new Match<>(routes[i], id);
+        }
+        return (Match<R>) NO_MATCH;
+    }
+
+    /**
+     * Match path to segments of one template.
+     *
+     * @param templateSegments parsed template.
+     * @param path             path info.
+     * @param length           length of path without trailing slash.
+     * @return parsed id, -1 when template has no id, or NOT_MATCHED.
+     */
+    private static long matchSegments(String[] templateSegments, String path, int length) {
+        long id = -1L;
+        int position = 0;
+        for (String segment : templateSegments) {
+            if (position >= length || path.charAt(position) != '/')
+                return NOT_MATCHED;
+            position++;
+
+            int end = path.indexOf('/', position);
+            if (end == -1 || end > length)
+                end = length;
+
+            if (segment == ID_SEGMENT) {
+                if (!isDigits(path, position, end))
+                    return NOT_MATCHED;
+                id = Long.parseLong(path, position, end, 10);
+            } else if (end - position != segment.length()
+                    || !path.regionMatches(position, segment, 0, segment.length())) {
+                return NOT_MATCHED;
+            }
+            position = end;
+        }
+        return position == length ? id : NOT_MATCHED;
+    }
+
+    private static boolean isDigits(String path, int start, int end) {
+        if (start == end)
+            return false;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9')
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parse template to segments. "{id}" segment is replaced by ID_SEGMENT constant,
+     * so it is compared by reference while matching.
+     *
+     * @param template path template.
+     * @return segments of template. Empty for "/".
+     * @throws IllegalArgumentException when template is not started by '/'.
+     */
+    private static String[] parseTemplate(String template) {
+        if (template == null || !template.startsWith("/"))
+            throw new IllegalArgumentException("Route template '" + template + "' has to start with '/'!");
+
+        List<String> segmentList = new ArrayList<>();
+        for (String segment : template.split("/")) {
+            if (segment.isEmpty())
+                continue;
+            segmentList.add(segment.equals(ID_SEGMENT) ? ID_SEGMENT : segment);
+        }
+        return segmentList.toArray(new String[0]);
+    }
+}
@@ -1,54 +1,268 @@
 package org.example.servlet;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterRegistration;
+import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.ServletRegistration;
 import jakarta.servlet.annotation.WebListener;
+import jakarta.servlet.http.HttpServlet;
 import org.example.db.ConfigLoader;
-import org.example.db.ConnectionManager;
 import org.example.db.ConnectionManagerImp;
+import org.example.db.NotificationListener;
+import org.example.db.exception.MigrationException;
+import org.example.db.migration.SchemaMigrator;
+import org.example.db.metrics.MetricsExporter;
 import org.example.repository.BaristaRepositoryImp;
 import org.example.repository.CoffeeRepositoryImp;
+import org.example.repository.OrderCopyRepositoryImp;
 import org.example.repository.OrderRepositoryImp;
+import org.example.repository.cache.CacheMetrics;
+import org.example.repository.cache.CachedBaristaRepository;
+import org.example.repository.cache.CachedCoffeeRepository;
 import org.example.repository.exception.DataBaseException;
-import org.example.service.gateway.BaristaRepository;
-import org.example.service.gateway.CoffeeRepository;
+import org.example.service.dto.EntityEvent;
+import org.example.service.dto.OrderEvent;
 import org.example.service.gateway.OrderRepository;
 import org.example.service.implementation.BaristaService;
 import org.example.service.implementation.CoffeeService;
+import org.example.service.implementation.OrderCopyService;
+import org.example.service.implementation.OrderQueueFeed;
+import org.example.service.implementation.OrderQueueIndex;
 import org.example.service.implementation.OrderService;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 @WebListener
 public class ServletInitializer implements ServletContextListener {
     private static final Logger LOGGER = Logger.getLogger(ServletInitializer.class.getName());
+    private static final String BARISTA_CACHE_SIZE = "cache.barista.maximumSize";
+    private static final String BARISTA_CACHE_TTL = "cache.barista.ttlSeconds";
+    private static final String COFFEE_CACHE_SIZE = "cache.coffee.maximumSize";
+    private static final String COFFEE_CACHE_TTL = "cache.coffee.ttlSeconds";
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+    private static final long DEFAULT_CACHE_TTL_SECONDS = 60;
+    private static final String VIRTUAL_THREADS = "servlet.virtualThreads";
+    private static final String VIRTUAL_THREADS_ACQUIRE_TIMEOUT = "servlet.virtualThreads.acquireTimeoutMillis";
+    private static final String ADMIN_COPY = "admin.copy.enabled";
+    private static final String QUEUE_STREAM = "orders.queueStream.enabled";
+    private static final String QUEUE_INDEX = "orders.queueIndex.enabled";
+    private static final String QUEUE_INDEX_RECONCILE = "orders.queueIndex.reconcileSeconds";
+    private static final long DEFAULT_QUEUE_INDEX_RECONCILE_SECONDS = 60;
+    private static final String MIGRATIONS = "db.migrations.enabled";
+    private static final String COMPRESSION = "compression.enabled";
+    private static final String COMPRESSION_MIN_SIZE = "compression.minSize";
+    private static final int DEFAULT_COMPRESSION_MIN_SIZE = 1024;
+
+    private VirtualThreadDispatcher dispatcher;
+    private NotificationListener orderEventListener;
+    private NotificationListener entityEventListener;
+    private ScheduledExecutorService queueReconciler;
 
     @Override
     public void contextInitialized(ServletContextEvent sce) {
         ConfigLoader configLoader = new ConfigLoader("/db.properties");
-        ConnectionManager connectionManager = new ConnectionManagerImp(configLoader);
+        ConnectionManagerImp connectionManager = new ConnectionManagerImp(configLoader);
+        if (configLoader.getBooleanProperty(MIGRATIONS, true))
+            migrate(connectionManager);
+
         try {
-            BaristaRepository baristaRepository = new BaristaRepositoryImp(connectionManager);
-            CoffeeRepository coffeeRepository = new CoffeeRepositoryImp(connectionManager);
-            OrderRepository orderRepository = new OrderRepositoryImp(connectionManager);
+            CachedBaristaRepository baristaRepository = new CachedBaristaRepository(
+                    new BaristaRepositoryImp(connectionManager),
+                    configLoader.getIntProperty(BARISTA_CACHE_SIZE, DEFAULT_CACHE_SIZE),
+                    Duration.ofSeconds(configLoader.getLongProperty(BARISTA_CACHE_TTL, DEFAULT_CACHE_TTL_SECONDS)));
+            CachedCoffeeRepository coffeeRepository = new CachedCoffeeRepository(
+                    new CoffeeRepositoryImp(connectionManager),
+                    configLoader.getIntProperty(COFFEE_CACHE_SIZE, DEFAULT_CACHE_SIZE),
+                    Duration.ofSeconds(configLoader.getLongProperty(COFFEE_CACHE_TTL, DEFAULT_CACHE_TTL_SECONDS)));
+            OrderRepository orderRepository = new OrderRepositoryImp(connectionManager, baristaRepository);
+
+            List<MetricsExporter> exporterList = new ArrayList<>(List.of(
+                    connectionManager.getMetricsExporter(),
+                    new CacheMetrics(List.of(baristaRepository.getCache(), coffeeRepository.getCache()))));
 
             BaristaService baristaService = new BaristaService(baristaRepository, orderRepository);
             CoffeeService coffeeService = new CoffeeService(orderRepository, coffeeRepository);
-            OrderService orderService = new OrderService(baristaRepository, coffeeRepository, orderRepository);
+            OrderService orderService;
+            boolean queueIndexEnabled = configLoader.getBooleanProperty(QUEUE_INDEX, true);
+            if (queueIndexEnabled) {
+                OrderQueueIndex queueIndex = new OrderQueueIndex();
+                orderService = new OrderService(baristaRepository, coffeeRepository, orderRepository, queueIndex);
+                exporterList.add(writer -> writer.write("# HELP order_queue_index_size Orders in in-memory queue index.\n"
+                        + "# TYPE order_queue_index_size gauge\n"
+                        + "order_queue_index_size " + queueIndex.size() + "\n"));
+                scheduleQueueReconciliation(orderService,
+                        configLoader.getLongProperty(QUEUE_INDEX_RECONCILE, DEFAULT_QUEUE_INDEX_RECONCILE_SECONDS));
+            } else {
+                orderService = new OrderService(baristaRepository, coffeeRepository, orderRepository);
+            }
+
+            EntityVersions entityVersions = new EntityVersions(this::isListening);
+            BaristaServlet baristaServlet = new BaristaServlet(baristaService, entityVersions);
+            CoffeeServlet coffeeServlet = new CoffeeServlet(coffeeService, entityVersions);
+            OrderServlet orderServlet = new OrderServlet(orderService, entityVersions);
+
+            if (configLoader.getBooleanProperty(VIRTUAL_THREADS, false)) {
+                dispatcher = new VirtualThreadDispatcher(
+                        connectionManager.getMaximumPoolSize(),
+                        Duration.ofMillis(configLoader.getLongProperty(VIRTUAL_THREADS_ACQUIRE_TIMEOUT, connectionManager.getConnectionTimeout())));
+                exporterList.add(dispatcher);
+            }
+
+            ServletContext servletContext = sce.getServletContext();
+            register(servletContext, "BaristaServlet", baristaServlet, "/barista/*");
+            register(servletContext, "CoffeeServlet", coffeeServlet, "/coffee/*");
+            register(servletContext, "OrderServlet", orderServlet, "/orders/*");
 
-            BaristaServlet baristaServlet = new BaristaServlet(baristaService);
-            CoffeeServlet coffeeServlet = new CoffeeServlet(coffeeService);
-            OrderServlet orderServlet = new OrderServlet(orderService);
+            List<String> compressedServlets = new ArrayList<>(List.of("BaristaServlet", "CoffeeServlet", "OrderServlet"));
 
-            sce.getServletContext().addServlet("BaristaServlet", baristaServlet).addMapping("/barista/*");
-            sce.getServletContext().addServlet("CoffeeServlet", coffeeServlet).addMapping("/coffee/*");
-            sce.getServletContext().addServlet("OrderServlet", orderServlet).addMapping("/orders/*");
+            if (configLoader.getBooleanProperty(ADMIN_COPY, false)) {
+                OrderCopyService orderCopyService = new OrderCopyService(new OrderCopyRepositoryImp(connectionManager));
+                register(servletContext, "OrderCopyServlet", new OrderCopyServlet(orderCopyService, entityVersions), "/admin/copy/*");
+                compressedServlets.add("OrderCopyServlet");
+            }
+
+            if (configLoader.getBooleanProperty(COMPRESSION, true)) {
+                CompressionFilter compressionFilter = new CompressionFilter(
+                        configLoader.getIntProperty(COMPRESSION_MIN_SIZE, DEFAULT_COMPRESSION_MIN_SIZE));
+                FilterRegistration.Dynamic registration = servletContext.addFilter("CompressionFilter", compressionFilter);
+                registration.setAsyncSupported(true);
+                registration.addMappingForServletNames(EnumSet.of(DispatcherType.REQUEST), false,
+                        compressedServlets.toArray(String[]::new));
+                exporterList.add(compressionFilter);
+            }
+
+            OrderQueueFeed orderQueueFeed = null;
+            if (configLoader.getBooleanProperty(QUEUE_STREAM, true)) {
+                orderQueueFeed = new OrderQueueFeed(orderService);
+                OrderQueueStreamServlet orderQueueStreamServlet = new OrderQueueStreamServlet(orderQueueFeed);
+                ServletRegistration.Dynamic registration = servletContext.addServlet("OrderQueueStreamServlet", orderQueueStreamServlet);
+                registration.setAsyncSupported(true);
+                registration.addMapping("/orders/queue/stream");
+                exporterList.add(orderQueueStreamServlet);
+            }
+
+            OrderQueueFeed feed = orderQueueFeed;
+            orderEventListener = new NotificationListener(
+                    connectionManager::openDedicatedConnection,
+                    OrderEvent.CHANNEL,
+                    payload -> {
+                        OrderEvent event = OrderEvent.parse(payload);
+                        entityVersions.bump(EnumSet.of(EntityVersions.Table.ORDER));
+                        if (feed != null)
+                            feed.onEvent(event);
+                        if (queueIndexEnabled && (feed == null || event.type() != OrderEvent.Type.RELOADED))
+                            orderService.applyOrderEvent(event);
+                    },
+                    () -> {
+                        entityVersions.bumpAll();
+                        if (feed != null)
+                            feed.reload();
+                        else if (queueIndexEnabled)
+                            orderService.reconcileQueue();
+                    });
+            entityEventListener = new NotificationListener(
+                    connectionManager::openDedicatedConnection,
+                    EntityEvent.CHANNEL,
+                    payload -> {
+                        EntityEvent event = EntityEvent.parse(payload);
+                        switch (event.type()) {
+                            case BARISTA -> baristaRepository.getCache().invalidate(event.id());
+                            case COFFEE -> coffeeRepository.getCache().invalidate(event.id());
+                        }
+                        entityVersions.bump(EnumSet.of(EntityVersions.Table.valueOf(event.type().name())));
+                        orderService.applyEntityEvent(event);
+                    },
+                    () -> {
+                        baristaRepository.getCache().invalidateAll();
+                        coffeeRepository.getCache().invalidateAll();
+                        entityVersions.bumpAll();
+                        orderService.reconcileQueue();
+                    });
+            exporterList.add(orderEventListener);
+            exporterList.add(entityEventListener);
+            orderEventListener.start();
+            entityEventListener.start();
+
+            MetricsServlet metricsServlet = new MetricsServlet(exporterList);
+            servletContext.addServlet("MetricsServlet", metricsServlet).addMapping("/metrics");
 
         } catch (DataBaseException e) {
             LOGGER.severe(e.getMessage());
         }
+    }
 
+    /**
+     * Check that notifications of changes made by other instances are received.
+     */
+    private boolean isListening() {
+        return orderEventListener != null && orderEventListener.isListening()
+                && entityEventListener != null && entityEventListener.isListening();
+    }
 
+    /**
+     * Apply schema migrations. Failed migration fails deployment: application must not serve requests
+     * by schema, which is not the one it expects.
+     */
+    private static void migrate(ConnectionManagerImp connectionManager) {
+        try {
+            int applied = new SchemaMigrator(connectionManager).migrate();
+            LOGGER.info(() -> "Schema migrations applied: " + applied);
+        } catch (DataBaseException | MigrationException e) {
+            LOGGER.severe(e.getMessage());
+            throw new IllegalStateException("Schema migrations are failed: " + e.getMessage(), e);
+        }
     }
 
+    /**
+     * Load queue index at once and then reconcile it with db periodically, in background.
+     * Order and entity events keep index current, reconciliation brings changes of events lost meanwhile.
+     */
+    private void scheduleQueueReconciliation(OrderService orderService, long periodSeconds) {
+        queueReconciler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("order-queue-reconciler")
+                .daemon()
+                .factory());
+        queueReconciler.scheduleWithFixedDelay(() -> {
+            try {
+                orderService.reconcileQueue();
+            } catch (RuntimeException e) {
+                LOGGER.severe(e.getMessage());
+            }
+        }, 0, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Register servlet. When virtual threads mode is enabled, servlet's requests are executed by dispatcher.
+     */
+    private void register(ServletContext servletContext, String name, HttpServlet servlet, String mapping) {
+        if (dispatcher == null) {
+            servletContext.addServlet(name, servlet).addMapping(mapping);
+            return;
+        }
+
+        ServletRegistration.Dynamic registration = servletContext.addServlet(name, dispatcher.wrap(servlet));
+        registration.setAsyncSupported(true);
+        registration.addMapping(mapping);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (queueReconciler != null)
+            queueReconciler.shutdownNow();
+        if (orderEventListener != null)
+            orderEventListener.close();
+        if (entityEventListener != null)
+            entityEventListener.close();
+        if (dispatcher != null)
+            dispatcher.close();
+    }
 }
@@ -1,18 +1,213 @@
 package org.example.servlet;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.entity.exception.NullParamException;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public abstract class SimpleServlet extends HttpServlet {
+    protected static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    protected static final String JSON_CONTENT_TYPE = "application/json;charset=UTF-8";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
 
-    protected <T> String arrToJson(List<T> arr, Gson mapper) {
-        return "{" +
-                arr.stream()
-                        .map(mapper::toJson)
-                        .collect(Collectors.joining(", ")) +
-                "}";
+    private final transient EntityVersions versions;
+    private final transient Set<EntityVersions.Table> readTables;
+    private final transient Set<EntityVersions.Table> writtenTables;
+
+    /**
+     * Create servlet without conditional requests handling.
+     */
+    protected SimpleServlet() {
+        this.versions = null;
+        this.readTables = EnumSet.noneOf(EntityVersions.Table.class);
+        this.writtenTables = EnumSet.noneOf(EntityVersions.Table.class);
+    }
+
+    /**
+     * Create servlet with conditional GET. Responses to GET get ETag and Last-Modified
+     * built from versions of readTables. Request with matching If-None-Match or If-Modified-Since
+     * is answered with 304 before any service call. Every other request bumps versions of writtenTables.
+     * Last-Modified is omitted while the second of the last change is not over,
+     * and no validator is sent while versions are not synced with other instances.
+     *
+     * @param versions      version counters shared by all servlets.
+     * @param readTables    tables, GET responses are read from.
+     * @param writtenTables tables, that other requests can change.
+     * @throws NullParamException when some param is null.
+     */
+    protected SimpleServlet(EntityVersions versions, Set<EntityVersions.Table> readTables, Set<EntityVersions.Table> writtenTables) {
+        if (versions == null || readTables == null || writtenTables == null)
+            throw new NullParamException();
+
+        this.versions = versions;
+        this.readTables = EnumSet.copyOf(readTables);
+        this.writtenTables = EnumSet.copyOf(writtenTables);
+    }
+
+    /**
+     * Answer not modified GET without processing, tag other GET responses and bump versions on writes.
+     * Versions are bumped before and after write: GET that is processed concurrently with write
+     * gets tag, which is outdated by the second bump, so it's never confirmed by 304 later.
+     */
+    @Override
+    protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        if (versions == null) {
+            super.service(req, resp);
+            return;
+        }
+
+        String method = req.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            versions.bump(writtenTables);
+            try {
+                super.service(req, resp);
+            } finally {
+                versions.bump(writtenTables);
+            }
+            return;
+        }
+
+        if (!versions.isSynced()) {
+            super.service(req, resp);
+            return;
+        }
+
+        String etag = versions.etag(readTables);
+        long lastModified = versions.lastModified(readTables);
+        resp.setHeader("ETag", etag);
+        if (versions.isPast(lastModified))
+            resp.setDateHeader("Last-Modified", lastModified);
+        resp.setHeader("Cache-Control", "no-cache");
+
+        if (isNotModified(req, etag, lastModified)) {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        super.service(req, resp);
+    }
+
+    /**
+     * Evaluate conditional headers. If-None-Match has precedence, If-Modified-Since is used only without it.
+     */
+    private static boolean isNotModified(HttpServletRequest req, String etag, long lastModified) {
+        String ifNoneMatch = req.getHeader(IF_NONE_MATCH);
+        if (ifNoneMatch != null)
+            return matchesAny(ifNoneMatch, etag);
+
+        try {
+            long ifModifiedSince = req.getDateHeader(IF_MODIFIED_SINCE);
+            return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Weak comparison of entity tags, as required for If-None-Match.
+     *
+     * @param header value of If-None-Match: "*" or comma separated tags.
+     * @param etag   current tag.
+     * @return true when some tag of header is equal to current one.
+     */
+    static boolean matchesAny(String header, String etag) {
+        for (String tag : header.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*"))
+                return true;
+            if (trimmed.startsWith("W/"))
+                trimmed = trimmed.substring(2);
+            if (trimmed.equals(etag))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Set json content type and get writer of response.
+     *
+     * @param response response with json body.
+     * @return response writer, encoding UTF-8.
+     * @throws IOException when writer can't be obtained.
+     */
+    protected PrintWriter jsonWriter(HttpServletResponse response) throws IOException {
+        response.setContentType(JSON_CONTENT_TYPE);
+        return response.getWriter();
+    }
+
+    /**
+     * Write objects as json array straight to writer, one by one.
+     * Whole array is never built in memory.
+     *
+     * @param items  objects to write.
+     * @param mapper gson used to serialize every object.
+     * @param writer response writer. It is flushed, but not closed.
+     * @throws IOException when writing is failed.
+     */
+    protected <T> void writeJsonArray(Stream<T> items, Gson mapper, Writer writer) throws IOException {
+        JsonWriter jsonWriter = mapper.newJsonWriter(writer);
+        jsonWriter.beginArray();
+        writeJsonItems(items, mapper, jsonWriter);
+        jsonWriter.endArray();
+        jsonWriter.flush();
+    }
+
+    /**
+     * Write objects as elements of json array, that is already begun by jsonWriter.
+     *
+     * @param items      objects to write.
+     * @param mapper     gson used to serialize every object.
+     * @param jsonWriter writer with begun array.
+     * @throws IOException when writing is failed.
+     */
+    protected <T> void writeJsonItems(Stream<T> items, Gson mapper, JsonWriter jsonWriter) throws IOException {
+        Iterator<T> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            T item = iterator.next();
+            mapper.toJson(item, item.getClass(), jsonWriter);
+        }
+    }
+
+    /**
+     * Encode id of the last object of page to opaque cursor.
+     *
+     * @param lastId id of the last object of page.
+     * @return cursor that can be sent in 'after' param to get next page.
+     */
+    protected String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode cursor received in 'after' param.
+     *
+     * @param cursor opaque cursor from previous page.
+     * @return id after which page starts. Null when cursor is not specified.
+     * @throws NumberFormatException when cursor is not valid.
+     */
+    protected Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty())
+            return null;
+        try {
+            byte[] decoded = Base64.getUrlDecoder().decode(cursor);
+            return Long.parseLong(new String(decoded, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new NumberFormatException("Cursor '" + cursor + "' is not valid!");
+        }
     }
 }
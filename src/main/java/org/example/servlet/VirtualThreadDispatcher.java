@@ -0,0 +1,166 @@
+package org.example.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.db.metrics.MetricsExporter;
+import org.example.entity.exception.NullParamException;
+import org.example.service.exception.NoValidLimitException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Executes servlets' requests on virtual threads.
+ * Container's thread only starts async processing, blocking service and db work is done by virtual thread.
+ * Number of concurrently executed requests is limited by permits, usually equal to connection pool size,
+ * so parked requests wait for permit instead of waiting in connection pool.
+ * Request that can't get permit in time is answered with status 503.
+ */
+public class VirtualThreadDispatcher implements MetricsExporter, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreadDispatcher.class.getName());
+    private static final String BUSY = "Server is busy, try again later";
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long acquireTimeoutNanos;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Create dispatcher.
+     *
+     * @param maxConcurrency maximum number of concurrently executed requests.
+     * @param acquireTimeout maximum time request waits for permit.
+     * @throws NoValidLimitException when maxConcurrency is less than one.
+     * @throws NullParamException    when acquireTimeout is null.
+     */
+    public VirtualThreadDispatcher(int maxConcurrency, Duration acquireTimeout) {
+        if (maxConcurrency <= 0)
+            throw new NoValidLimitException(maxConcurrency);
+        if (acquireTimeout == null)
+            throw new NullParamException();
+
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Wrap servlet, so its requests are executed by this dispatcher.
+     * Wrapper has to be registered with async support.
+     *
+     * @param servlet wrapped servlet.
+     * @return servlet executing requests on virtual threads.
+     * @throws NullParamException when servlet is null.
+     */
+    public HttpServlet wrap(HttpServlet servlet) {
+        if (servlet == null)
+            throw new NullParamException();
+
+        return new DispatchingServlet(servlet, this);
+    }
+
+    /**
+     * Execute request of servlet on virtual thread.
+     */
+    void dispatch(HttpServlet servlet, HttpServletRequest req, HttpServletResponse resp) {
+        AsyncContext asyncContext = req.startAsync();
+        asyncContext.setTimeout(0);
+
+        executor.execute(() -> {
+            try {
+                if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    rejected.increment();
+                    resp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, BUSY);
+                    return;
+                }
+                try {
+                    servlet.service(req, resp);
+                } finally {
+                    permits.release();
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.severe(e.getMessage());
+            } catch (IOException | ServletException | RuntimeException e) {
+                LOGGER.severe(e.getMessage());
+                sendServerError(resp);
+            } finally {
+                asyncContext.complete();
+            }
+        });
+    }
+
+    private void sendServerError(HttpServletResponse resp) {
+        if (resp.isCommitted())
+            return;
+        try {
+            resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        } catch (IOException e) {
+            LOGGER.severe(e.getMessage());
+        }
+    }
+
+    @Override
+    public void export(Writer writer) throws IOException {
+        writer.write("# HELP servlet_dispatch_inflight Requests executed by virtual threads now.\n"
+                + "# TYPE servlet_dispatch_inflight gauge\n"
+                + "servlet_dispatch_inflight " + (maxConcurrency - permits.availablePermits()) + "\n"
+                + "# HELP servlet_dispatch_waiting Requests waiting for execution permit.\n"
+                + "# TYPE servlet_dispatch_waiting gauge\n"
+                + "servlet_dispatch_waiting " + permits.getQueueLength() + "\n"
+                + "# HELP servlet_dispatch_rejected_total Requests answered with 503 for permit timeout.\n"
+                + "# TYPE servlet_dispatch_rejected_total counter\n"
+                + "servlet_dispatch_rejected_total " + rejected.sum() + "\n");
+    }
+
+    /**
+     * Stop accepting requests and wait for executed ones.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    /**
+     * Servlet, that passes lifecycle to wrapped servlet and its requests to dispatcher.
+     */
+    private static class DispatchingServlet extends HttpServlet {
+        private final transient HttpServlet servlet;
+        private final transient VirtualThreadDispatcher dispatcher;
+
+        DispatchingServlet(HttpServlet servlet, VirtualThreadDispatcher dispatcher) {
+            this.servlet = servlet;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public void init(ServletConfig config) throws ServletException {
+            super.init(config);
+            servlet.init(config);
+        }
+
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp) {
+            dispatcher.dispatch(servlet, req, resp);
+        }
+
+        @Override
+        public void destroy() {
+            servlet.destroy();
+            super.destroy();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.servlet.dto;
+
+/**
+ * Result of bulk import.
+ *
+ * @param table name of imported table.
+ * @param rows  number of imported rows.
+ */
+public record CopyResultDTO(String table,
+                            long rows) {
+}
@@ -0,0 +1,27 @@
+package org.example.servlet.dto;
+
+import org.example.entity.Order;
+import org.example.service.dto.BatchResult;
+
+/**
+ * Result of one item of batch order creation.
+ *
+ * @param index  index of item in request array.
+ * @param status http status of item: 201 when order is created, 400 when item is rejected.
+ * @param order  created order. Null when item is rejected.
+ * @param error  why item is rejected. Null when order is created.
+ */
+public record OrderBatchResultDTO(int index,
+                                  int status,
+                                  OrderPublicDTO order,
+                                  String error) {
+
+    public OrderBatchResultDTO(int index, BatchResult<Order> result) {
+        this(
+                index,
+                result.isSuccess() ? 201 : 400,
+                result.isSuccess() ? new OrderPublicDTO(result.value()) : null,
+                result.isSuccess() ? null : result.error().getMessage()
+        );
+    }
+}
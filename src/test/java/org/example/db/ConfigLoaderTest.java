@@ -0,0 +1,56 @@
+package org.example.db;
+
+import org.example.db.exception.NoValidPropertyException;
+import org.example.db.exception.PropertyNotPresentException;
+import org.example.entity.exception.NullParamException;
+import org.example.repository.exception.DataBaseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConfigLoaderTest {
+    private static final String PATH = "/config_test.properties";
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertDoesNotThrow(() -> new ConfigLoader(PATH));
+        Assertions.assertThrows(NullParamException.class, () -> new ConfigLoader(null));
+        Assertions.assertThrows(DataBaseException.class, () -> new ConfigLoader("/not_existed.properties"));
+    }
+
+    @Test
+    void getPropertyTest() {
+        ConfigLoader configLoader = new ConfigLoader(PATH);
+
+        assertEquals("jdbc:postgresql://localhost:5432/test", configLoader.getProperty("db.url"));
+        assertEquals("default", configLoader.getProperty("db.not.specified", "default"));
+        assertEquals(32, configLoader.getIntProperty("db.pool.maximumPoolSize", 10));
+        assertEquals(10, configLoader.getIntProperty("db.pool.minimumIdle", 10));
+        assertEquals(30000L, configLoader.getLongProperty("db.pool.idleTimeout", 30000L));
+        assertEquals(false, configLoader.getBooleanProperty("db.reWriteBatchedInserts", true));
+    }
+
+    @Test
+    void getPropertyWrongTest() {
+        ConfigLoader configLoader = new ConfigLoader(PATH);
+
+        Assertions.assertThrows(PropertyNotPresentException.class, () -> configLoader.getProperty("db.not.specified"));
+        Assertions.assertThrows(NullParamException.class, () -> configLoader.getProperty(null));
+        Assertions.assertThrows(NoValidPropertyException.class, () -> configLoader.getLongProperty("db.pool.connectionTimeout", 0L));
+        Assertions.assertThrows(NoValidPropertyException.class, () -> configLoader.getIntProperty("db.url", 0));
+        Assertions.assertThrows(NoValidPropertyException.class, () -> configLoader.getBooleanProperty("db.url", true));
+    }
+
+    @Test
+    void systemPropertyOverrideTest() {
+        ConfigLoader configLoader = new ConfigLoader(PATH);
+        System.setProperty("test.overridden", "from-system");
+        try {
+            assertEquals("from-system", configLoader.getProperty("test.overridden"));
+        } finally {
+            System.clearProperty("test.overridden");
+        }
+        assertEquals("from-file", configLoader.getProperty("test.overridden"));
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.db;
+
+import org.example.entity.exception.NullParamException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.*;
+
+class NotificationListenerTest {
+
+    @Test
+    void constructorsTest() {
+        NotificationListener.ConnectionSource source = () -> mock(Connection.class);
+
+        Assertions.assertThrows(NullParamException.class, () -> new NotificationListener(null, "channel", payload -> {
+        }, () -> {
+        }));
+        Assertions.assertThrows(NullParamException.class, () -> new NotificationListener(source, null, payload -> {
+        }, () -> {
+        }));
+        Assertions.assertThrows(NullParamException.class, () -> new NotificationListener(source, "channel", null, () -> {
+        }));
+        Assertions.assertThrows(NullParamException.class, () -> new NotificationListener(source, "channel", payload -> {
+        }, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NotificationListener(source, "drop table; --", payload -> {
+        }, () -> {
+        }));
+    }
+
+    @Test
+    void listenTest() throws Exception {
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        Statement statement = mock(Statement.class);
+        PGNotification first = mock(PGNotification.class);
+        PGNotification second = mock(PGNotification.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(first.getParameter()).thenReturn("first");
+        when(second.getParameter()).thenReturn("second");
+        when(pgConnection.getNotifications(anyInt()))
+                .thenReturn(new PGNotification[]{first, second})
+                .thenReturn(null);
+
+        List<String> payloadList = new CopyOnWriteArrayList<>();
+        CountDownLatch received = new CountDownLatch(2);
+        AtomicInteger listened = new AtomicInteger();
+
+        NotificationListener listener = new NotificationListener(() -> connection, "order_events", payload -> {
+            payloadList.add(payload);
+            received.countDown();
+        }, listened::incrementAndGet);
+        try (listener) {
+            Assertions.assertFalse(listener.isListening());
+            listener.start();
+            Assertions.assertTrue(received.await(1, TimeUnit.SECONDS));
+            Assertions.assertTrue(listener.isListening());
+
+            StringWriter metrics = new StringWriter();
+            listener.export(metrics);
+            Assertions.assertTrue(metrics.toString().contains("db_notifications_received_total{channel=\"order_events\"} 2"));
+        }
+
+        Assertions.assertEquals(List.of("first", "second"), payloadList);
+        Assertions.assertEquals(1, listened.get());
+        Assertions.assertFalse(listener.isListening());
+        verify(statement).execute(contains("LISTEN order_events"));
+        verify(connection, timeout(1000)).close();
+    }
+
+    @Test
+    void consumerFailureTest() throws Exception {
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        PGNotification first = mock(PGNotification.class);
+        PGNotification second = mock(PGNotification.class);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(first.getParameter()).thenReturn("first");
+        when(second.getParameter()).thenReturn("second");
+        when(pgConnection.getNotifications(anyInt()))
+                .thenReturn(new PGNotification[]{first, second})
+                .thenReturn(null);
+        CountDownLatch received = new CountDownLatch(1);
+
+        try (NotificationListener listener = new NotificationListener(() -> connection, "order_events", payload -> {
+            if (payload.equals("first"))
+                throw new IllegalArgumentException(payload);
+            received.countDown();
+        }, () -> {
+        })) {
+            listener.start();
+            Assertions.assertTrue(received.await(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void connectionFailureTest() throws Exception {
+        CountDownLatch attempts = new CountDownLatch(1);
+
+        try (NotificationListener listener = new NotificationListener(() -> {
+            attempts.countDown();
+            throw new SQLException("Connection refused");
+        }, "order_events", payload -> {
+        }, () -> {
+        })) {
+            listener.start();
+            Assertions.assertTrue(attempts.await(1, TimeUnit.SECONDS));
+        }
+    }
+}
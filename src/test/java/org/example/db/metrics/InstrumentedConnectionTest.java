@@ -0,0 +1,105 @@
+package org.example.db.metrics;
+
+import org.example.repository.until.OrderSQL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.postgresql.PGStatement;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstrumentedConnectionTest {
+
+    @Test
+    void executeQueryTest() throws SQLException, IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.registerStatements(OrderSQL.class);
+        Connection connection = Mockito.mock(Connection.class);
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+
+        Mockito.when(connection.prepareStatement(OrderSQL.FIND_ALL.toString()))
+                .thenReturn(preparedStatement);
+        Mockito.when(preparedStatement.executeQuery())
+                .thenReturn(resultSet);
+        Mockito.when(resultSet.next())
+                .thenReturn(true, true, true, false);
+
+        ResultSet result = InstrumentedConnection.wrap(connection, registry)
+                .prepareStatement(OrderSQL.FIND_ALL.toString())
+                .executeQuery();
+        while (result.next()) {
+            result.getLong(1);
+        }
+
+        Mockito.verify(resultSet, Mockito.times(3)).getLong(1);
+        assertFalse(Proxy.isProxyClass(result.getClass()));
+        String metrics = export(registry);
+        assertTrue(metrics.contains("db_query_seconds_count{statement=\"OrderSQL.FIND_ALL\"} 1\n"));
+        assertTrue(metrics.contains("db_query_rows_total{statement=\"OrderSQL.FIND_ALL\"} 3\n"));
+    }
+
+    @Test
+    void executeUpdateWrongTest() throws SQLException, IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.registerStatements(OrderSQL.class);
+        Connection connection = Mockito.mock(Connection.class);
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+
+        Mockito.when(connection.prepareStatement(OrderSQL.DELETE.toString()))
+                .thenReturn(preparedStatement);
+        Mockito.when(preparedStatement.executeUpdate())
+                .thenThrow(new SQLException("error"));
+
+        PreparedStatement result = InstrumentedConnection.wrap(connection, registry)
+                .prepareStatement(OrderSQL.DELETE.toString());
+
+        Assertions.assertThrows(SQLException.class, result::executeUpdate);
+        String metrics = export(registry);
+        assertTrue(metrics.contains("db_query_errors_total{statement=\"OrderSQL.DELETE\"} 1\n"));
+        assertFalse(metrics.contains("statement=\"other\""));
+    }
+
+    @Test
+    void serverPrepareTest() throws SQLException, IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.registerStatements(OrderSQL.class);
+        Connection connection = Mockito.mock(Connection.class);
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        PGStatement pgStatement = Mockito.mock(PGStatement.class);
+
+        Mockito.when(connection.prepareStatement(OrderSQL.FIND_BY_ID.toString()))
+                .thenReturn(preparedStatement);
+        Mockito.when(preparedStatement.isWrapperFor(PGStatement.class))
+                .thenReturn(true);
+        Mockito.when(preparedStatement.unwrap(PGStatement.class))
+                .thenReturn(pgStatement);
+        Mockito.when(pgStatement.isUseServerPrepare())
+                .thenReturn(false, true, true);
+
+        PreparedStatement result = InstrumentedConnection.wrap(connection, registry)
+                .prepareStatement(OrderSQL.FIND_BY_ID.toString());
+        for (int i = 0; i < 3; i++) {
+            result.executeQuery();
+        }
+
+        String metrics = export(registry);
+        assertTrue(metrics.contains("db_statement_cache_hits_total{statement=\"OrderSQL.FIND_BY_ID\"} 2\n"));
+        assertTrue(metrics.contains("db_statement_cache_misses_total{statement=\"OrderSQL.FIND_BY_ID\"} 1\n"));
+    }
+
+    private static String export(MetricsRegistry registry) throws IOException {
+        StringWriter writer = new StringWriter();
+        registry.export(writer);
+        return writer.toString();
+    }
+}
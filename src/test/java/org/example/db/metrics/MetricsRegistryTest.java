@@ -0,0 +1,51 @@
+package org.example.db.metrics;
+
+import org.example.repository.until.CoffeeSQL;
+import org.example.repository.until.OrderSQL;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsRegistryTest {
+
+    @Test
+    void labelOfTest() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.registerStatements(OrderSQL.class);
+
+        assertEquals("OrderSQL.CREATE", registry.labelOf(OrderSQL.CREATE.toString()));
+        assertEquals("OrderSQL.FIND_QUEUE", registry.labelOf(OrderSQL.FIND_QUEUE.toString()));
+        assertEquals(MetricsRegistry.OTHER_STATEMENT, registry.labelOf(CoffeeSQL.CREATE.toString()));
+        assertEquals(MetricsRegistry.OTHER_STATEMENT, registry.labelOf(null));
+    }
+
+    @Test
+    void exportTest() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        StatementMetrics metrics = registry.statement("OrderSQL.CREATE");
+        metrics.recordExecution(TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.recordExecution(TimeUnit.SECONDS.toNanos(10));
+        metrics.recordRows(2);
+        metrics.recordError();
+        registry.recordAcquire(TimeUnit.MICROSECONDS.toNanos(100));
+
+        StringWriter writer = new StringWriter();
+        registry.export(writer);
+        String result = writer.toString();
+
+        assertTrue(result.contains("db_pool_acquire_seconds_bucket{le=\"0.0005\"} 1\n"));
+        assertTrue(result.contains("db_pool_acquire_seconds_count 1\n"));
+        assertTrue(result.contains("db_query_seconds_bucket{statement=\"OrderSQL.CREATE\",le=\"0.0025\"} 0\n"));
+        assertTrue(result.contains("db_query_seconds_bucket{statement=\"OrderSQL.CREATE\",le=\"0.005\"} 1\n"));
+        assertTrue(result.contains("db_query_seconds_bucket{statement=\"OrderSQL.CREATE\",le=\"5\"} 1\n"));
+        assertTrue(result.contains("db_query_seconds_bucket{statement=\"OrderSQL.CREATE\",le=\"+Inf\"} 2\n"));
+        assertTrue(result.contains("db_query_seconds_count{statement=\"OrderSQL.CREATE\"} 2\n"));
+        assertTrue(result.contains("db_query_rows_total{statement=\"OrderSQL.CREATE\"} 2\n"));
+        assertTrue(result.contains("db_query_errors_total{statement=\"OrderSQL.CREATE\"} 1\n"));
+    }
+}
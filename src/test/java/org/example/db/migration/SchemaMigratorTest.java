@@ -0,0 +1,139 @@
+package org.example.db.migration;
+
+import org.example.db.ConnectionManager;
+import org.example.db.exception.MigrationException;
+import org.example.entity.exception.NullParamException;
+import org.example.repository.exception.DataBaseException;
+import org.example.repository.until.MigrationSQL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SchemaMigratorTest {
+    private final ConnectionManager connectionManager = mock(ConnectionManager.class);
+    private final Connection connection = mock(Connection.class);
+    private final Statement statement = mock(Statement.class);
+    private final PreparedStatement lock = mock(PreparedStatement.class);
+    private final PreparedStatement unlock = mock(PreparedStatement.class);
+    private final PreparedStatement findAll = mock(PreparedStatement.class);
+    private final PreparedStatement isInvalidIndex = mock(PreparedStatement.class);
+    private final PreparedStatement create = mock(PreparedStatement.class);
+    private final ResultSet applied = mock(ResultSet.class);
+    private final ResultSet invalidIndex = mock(ResultSet.class);
+    private final ResultSet locked = mock(ResultSet.class);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(connectionManager.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(MigrationSQL.TRY_LOCK.toString())).thenReturn(lock);
+        when(connection.prepareStatement(MigrationSQL.UNLOCK.toString())).thenReturn(unlock);
+        when(connection.prepareStatement(MigrationSQL.FIND_ALL.toString())).thenReturn(findAll);
+        when(connection.prepareStatement(MigrationSQL.IS_INVALID_INDEX.toString())).thenReturn(isInvalidIndex);
+        when(connection.prepareStatement(MigrationSQL.CREATE.toString())).thenReturn(create);
+        when(findAll.executeQuery()).thenReturn(applied);
+        when(isInvalidIndex.executeQuery()).thenReturn(invalidIndex);
+        when(lock.executeQuery()).thenReturn(locked);
+        when(locked.next()).thenReturn(true);
+        when(locked.getBoolean(1)).thenReturn(true);
+    }
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertThrows(NullParamException.class, () -> new SchemaMigrator(null));
+        Assertions.assertThrows(NullParamException.class, () -> new SchemaMigrator(connectionManager, null));
+    }
+
+    @Test
+    void migrationsTest() {
+        Migration[] migrations = Migration.values();
+        for (int i = 1; i < migrations.length; i++) {
+            Assertions.assertTrue(migrations[i - 1].getVersion() < migrations[i].getVersion());
+        }
+        for (Migration migration : migrations) {
+            Assertions.assertEquals(migration.getChecksum(), migration.getChecksum());
+            Assertions.assertTrue(migration.toString().contains("CONCURRENTLY IF NOT EXISTS " + migration.getIndex() + " "));
+        }
+    }
+
+    @Test
+    void descriptionTest() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            Assertions.assertEquals("order_queue_index", Migration.ORDER_QUEUE_INDEX.getDescription());
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    void migrateTest() throws SQLException {
+        when(applied.next()).thenReturn(true, false);
+        when(applied.getInt("version")).thenReturn(Migration.ORDER_QUEUE_INDEX.getVersion());
+        when(applied.getLong("checksum")).thenReturn(Migration.ORDER_QUEUE_INDEX.getChecksum());
+        when(invalidIndex.next()).thenReturn(true, false);
+        when(invalidIndex.getBoolean(1)).thenReturn(true);
+
+        Assertions.assertEquals(2, new SchemaMigrator(connectionManager).migrate());
+
+        verify(lock).executeQuery();
+        verify(unlock).execute();
+        verify(statement).execute(MigrationSQL.CREATE_TABLE.toString());
+        verify(statement, never()).execute(Migration.ORDER_QUEUE_INDEX.toString());
+        verify(statement).execute("DROP INDEX CONCURRENTLY IF EXISTS order_barista_idx\n");
+        verify(statement).execute(Migration.ORDER_BARISTA_INDEX.toString());
+        verify(statement).execute(Migration.ORDER_COFFEE_COFFEE_INDEX.toString());
+        verify(create).setInt(1, Migration.ORDER_COFFEE_COFFEE_INDEX.getVersion());
+        verify(create).setLong(3, Migration.ORDER_COFFEE_COFFEE_INDEX.getChecksum());
+        verify(create, times(2)).executeUpdate();
+        verify(connection, never()).setAutoCommit(false);
+        verify(connection).close();
+    }
+
+    @Test
+    void lockPolledTest() throws SQLException {
+        when(locked.getBoolean(1)).thenReturn(false, false, true);
+        SchemaMigrator migrator = new SchemaMigrator(connectionManager, List.of(), 1);
+
+        Assertions.assertEquals(0, migrator.migrate());
+
+        verify(lock, times(3)).executeQuery();
+        verify(lock, times(3)).close();
+        verify(unlock).execute();
+    }
+
+    @Test
+    void changedMigrationTest() throws SQLException {
+        when(applied.next()).thenReturn(true, false);
+        when(applied.getInt("version")).thenReturn(Migration.ORDER_QUEUE_INDEX.getVersion());
+        when(applied.getLong("checksum")).thenReturn(Migration.ORDER_QUEUE_INDEX.getChecksum() + 1);
+        SchemaMigrator migrator = new SchemaMigrator(connectionManager);
+
+        Assertions.assertThrows(MigrationException.class, migrator::migrate);
+
+        verify(unlock).execute();
+        verify(create, never()).executeUpdate();
+    }
+
+    @Test
+    void sqlExceptionTest() throws SQLException {
+        when(statement.execute(anyString())).thenThrow(new SQLException("Permission denied"));
+        SchemaMigrator migrator = new SchemaMigrator(connectionManager, List.of(Migration.ORDER_BARISTA_INDEX));
+
+        Assertions.assertThrows(DataBaseException.class, migrator::migrate);
+
+        verify(unlock).execute();
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.repository.cache;
+
+import org.example.entity.Barista;
+import org.example.entity.exception.BaristaNotFoundException;
+import org.example.entity.exception.NullParamException;
+import org.example.service.gateway.BaristaRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachedBaristaRepositoryTest {
+    BaristaRepository delegate;
+    CachedBaristaRepository baristaRepository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = Mockito.mock(BaristaRepository.class);
+        baristaRepository = new CachedBaristaRepository(delegate, 10, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertThrows(NullParamException.class, () -> new CachedBaristaRepository(null, 10, Duration.ofMinutes(1)));
+        Assertions.assertThrows(NullParamException.class, () -> new CachedBaristaRepository(delegate, 10, null));
+    }
+
+    @Test
+    void findByIdTest() {
+        Barista barista = new Barista(1L, "Name", new ArrayList<>(), 0.1);
+        Mockito.when(delegate.findById(1L))
+                .thenReturn(Optional.of(barista));
+
+        assertEquals("Name", baristaRepository.findById(1L).orElseThrow().getFullName());
+        assertEquals("Name", baristaRepository.findById(1L).orElseThrow().getFullName());
+
+        Mockito.verify(delegate, Mockito.times(1)).findById(1L);
+        assertEquals(1, baristaRepository.getCache().getHits());
+    }
+
+    @Test
+    void findByIdListLoadOnlyMissedTest() {
+        Barista first = new Barista(1L, "first", new ArrayList<>(), 0.1);
+        Barista second = new Barista(2L, "second", new ArrayList<>(), 0.1);
+        Mockito.when(delegate.findById(1L))
+                .thenReturn(Optional.of(first));
+        Mockito.when(delegate.findById(List.of(2L)))
+                .thenReturn(List.of(second));
+        baristaRepository.findById(1L);
+
+        List<Barista> resultList = baristaRepository.findById(List.of(2L, 1L, 2L));
+
+        assertEquals(List.of("second", "first", "second"), resultList.stream().map(Barista::getFullName).toList());
+        Mockito.verify(delegate, Mockito.times(1)).findById(List.of(2L));
+    }
+
+    @Test
+    void findExistingLoadOnlyMissedTest() {
+        Barista first = new Barista(1L, "first", new ArrayList<>(), 0.1);
+        Mockito.when(delegate.findById(1L))
+                .thenReturn(Optional.of(first));
+        Mockito.when(delegate.findExisting(List.of(2L)))
+                .thenReturn(Map.of());
+        baristaRepository.findById(1L);
+
+        Map<Long, Barista> resultMap = baristaRepository.findExisting(List.of(2L, 1L));
+
+        assertEquals(Set.of(1L), resultMap.keySet());
+        Mockito.verify(delegate, Mockito.times(1)).findExisting(List.of(2L));
+        Assertions.assertThrows(NullParamException.class, () -> baristaRepository.findExisting(null));
+    }
+
+    @Test
+    void findByIdListWrongTest() {
+        Mockito.when(delegate.findById(List.of(99L)))
+                .thenThrow(new BaristaNotFoundException(99L));
+
+        Assertions.assertThrows(NullParamException.class, () -> baristaRepository.findById((List<Long>) null));
+        Assertions.assertThrows(BaristaNotFoundException.class, () -> baristaRepository.findById(List.of(99L)));
+    }
+
+    @Test
+    void updateInvalidateTest() {
+        Barista barista = new Barista(1L, "Name", new ArrayList<>(), 0.1);
+        Barista updated = new Barista(1L, "New name", new ArrayList<>(), 0.1);
+        Mockito.when(delegate.findById(1L))
+                .thenReturn(Optional.of(barista), Optional.of(updated));
+        Mockito.when(delegate.update(updated))
+                .thenReturn(updated);
+        baristaRepository.findById(1L);
+
+        baristaRepository.update(updated);
+
+        assertEquals("New name", baristaRepository.findById(1L).orElseThrow().getFullName());
+        Mockito.verify(delegate, Mockito.times(2)).findById(1L);
+    }
+
+    @Test
+    void deleteInvalidateTest() {
+        Barista barista = new Barista(1L, "Name", new ArrayList<>(), 0.1);
+        Mockito.when(delegate.findById(1L))
+                .thenReturn(Optional.of(barista), Optional.empty());
+        baristaRepository.findById(1L);
+
+        baristaRepository.delete(1L);
+
+        assertEquals(Optional.empty(), baristaRepository.findById(1L));
+        Mockito.verify(delegate).delete(1L);
+    }
+}
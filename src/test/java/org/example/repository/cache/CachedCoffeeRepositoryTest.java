@@ -0,0 +1,136 @@
+package org.example.repository.cache;
+
+import org.example.entity.Coffee;
+import org.example.entity.exception.CoffeeNotFoundException;
+import org.example.entity.exception.NullParamException;
+import org.example.service.gateway.CoffeeRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachedCoffeeRepositoryTest {
+    CoffeeRepository delegate;
+    CachedCoffeeRepository coffeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = Mockito.mock(CoffeeRepository.class);
+        coffeeRepository = new CachedCoffeeRepository(delegate, 10, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertThrows(NullParamException.class, () -> new CachedCoffeeRepository(null, 10, Duration.ofMinutes(1)));
+        Assertions.assertThrows(NullParamException.class, () -> new CachedCoffeeRepository(delegate, 10, null));
+    }
+
+    @Test
+    void findByIdTest() {
+        Coffee coffee = new Coffee(1L, "Name", 1.0, new ArrayList<>());
+        Mockito.when(delegate.findById(1L))
+                .thenReturn(Optional.of(coffee));
+
+        assertEquals("Name", coffeeRepository.findById(1L).orElseThrow().getName());
+        assertEquals("Name", coffeeRepository.findById(1L).orElseThrow().getName());
+
+        Mockito.verify(delegate, Mockito.times(1)).findById(1L);
+        assertEquals(1, coffeeRepository.getCache().getHits());
+    }
+
+    @Test
+    void findByIdListLoadOnlyMissedTest() {
+        Coffee first = new Coffee(1L, "first", 1.0, new ArrayList<>());
+        Coffee second = new Coffee(2L, "second", 2.0, new ArrayList<>());
+        Mockito.when(delegate.findById(1L))
+                .thenReturn(Optional.of(first));
+        Mockito.when(delegate.findById(List.of(2L)))
+                .thenReturn(List.of(second));
+        coffeeRepository.findById(1L);
+
+        List<Coffee> resultList = coffeeRepository.findById(List.of(2L, 1L, 2L));
+
+        assertEquals(List.of("second", "first", "second"), resultList.stream().map(Coffee::getName).toList());
+        Mockito.verify(delegate, Mockito.times(1)).findById(List.of(2L));
+    }
+
+    @Test
+    void findExistingLoadOnlyMissedTest() {
+        Coffee first = new Coffee(1L, "first", 1.0, new ArrayList<>());
+        Coffee second = new Coffee(2L, "second", 2.0, new ArrayList<>());
+        Mockito.when(delegate.findById(1L))
+                .thenReturn(Optional.of(first));
+        Mockito.when(delegate.findExisting(List.of(2L, 3L)))
+                .thenReturn(Map.of(2L, second));
+        coffeeRepository.findById(1L);
+
+        Map<Long, Coffee> resultMap = coffeeRepository.findExisting(List.of(2L, 1L, 3L, 2L));
+
+        assertEquals(Set.of(1L, 2L), resultMap.keySet());
+        Mockito.verify(delegate, Mockito.times(1)).findExisting(List.of(2L, 3L));
+
+        assertEquals(Set.of(2L), coffeeRepository.findExisting(List.of(2L)).keySet());
+        Mockito.verify(delegate, Mockito.times(1)).findExisting(Mockito.anyList());
+        Assertions.assertThrows(NullParamException.class, () -> coffeeRepository.findExisting(null));
+    }
+
+    @Test
+    void findByIdListWrongTest() {
+        Mockito.when(delegate.findById(List.of(99L)))
+                .thenThrow(new CoffeeNotFoundException(99L));
+
+        Assertions.assertThrows(NullParamException.class, () -> coffeeRepository.findById((List<Long>) null));
+        Assertions.assertThrows(CoffeeNotFoundException.class, () -> coffeeRepository.findById(List.of(99L)));
+    }
+
+    @Test
+    void updateInvalidateTest() {
+        Coffee coffee = new Coffee(1L, "Name", 1.0, new ArrayList<>());
+        Coffee updated = new Coffee(1L, "New name", 2.0, new ArrayList<>());
+        Mockito.when(delegate.findById(1L))
+                .thenReturn(Optional.of(coffee), Optional.of(updated));
+        Mockito.when(delegate.update(updated))
+                .thenReturn(updated);
+        coffeeRepository.findById(1L);
+
+        coffeeRepository.update(updated);
+
+        assertEquals("New name", coffeeRepository.findById(1L).orElseThrow().getName());
+        Mockito.verify(delegate, Mockito.times(2)).findById(1L);
+    }
+
+    @Test
+    void deleteInvalidateTest() {
+        Coffee coffee = new Coffee(1L, "Name", 1.0, new ArrayList<>());
+        Mockito.when(delegate.findById(1L))
+                .thenReturn(Optional.of(coffee), Optional.empty());
+        coffeeRepository.findById(1L);
+
+        coffeeRepository.delete(1L);
+
+        assertEquals(Optional.empty(), coffeeRepository.findById(1L));
+        Mockito.verify(delegate).delete(1L);
+    }
+
+    @Test
+    void findByOrderIdNotCachedTest() {
+        Coffee coffee = new Coffee(1L, "Name", 1.0, new ArrayList<>());
+        Mockito.when(delegate.findByOrderId(5L))
+                .thenReturn(List.of(coffee));
+        Mockito.when(delegate.findByOrderIds(List.of(5L)))
+                .thenReturn(Map.of(5L, List.of(coffee)));
+
+        assertEquals(List.of(coffee), coffeeRepository.findByOrderId(5L));
+        assertEquals(Map.of(5L, List.of(coffee)), coffeeRepository.findByOrderIds(List.of(5L)));
+        assertEquals(0, coffeeRepository.getCache().size());
+    }
+}
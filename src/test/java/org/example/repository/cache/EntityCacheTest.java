@@ -0,0 +1,119 @@
+package org.example.repository.cache;
+
+import org.example.entity.Coffee;
+import org.example.entity.exception.NullParamException;
+import org.example.service.exception.NoValidLimitException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final UnaryOperator<Coffee> copier = coffee -> new Coffee(coffee.getId(), coffee.getName(), coffee.getPrice(), new ArrayList<>());
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertDoesNotThrow(() -> new EntityCache<>("coffee", 1, Duration.ofSeconds(1), copier));
+        Assertions.assertThrows(NullParamException.class, () -> new EntityCache<>(null, 1, Duration.ofSeconds(1), copier));
+        Assertions.assertThrows(NullParamException.class, () -> new EntityCache<>("coffee", 1, null, copier));
+        Assertions.assertThrows(NullParamException.class, () -> new EntityCache<Coffee>("coffee", 1, Duration.ofSeconds(1), null));
+        Assertions.assertThrows(NoValidLimitException.class, () -> new EntityCache<>("coffee", 0, Duration.ofSeconds(1), copier));
+    }
+
+    @Test
+    void getTest() {
+        EntityCache<Coffee> cache = new EntityCache<>("coffee", 10, Duration.ofSeconds(1), copier, clock::get);
+        Coffee coffee = new Coffee(1L, "name", 1.0, new ArrayList<>());
+
+        assertNull(cache.get(1L));
+        cache.put(1L, coffee);
+        Coffee result = cache.get(1L);
+
+        assertEquals(coffee.getName(), result.getName());
+        assertNotSame(coffee, result);
+        assertNotSame(result, cache.get(1L));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void expireTest() {
+        EntityCache<Coffee> cache = new EntityCache<>("coffee", 10, Duration.ofNanos(100), copier, clock::get);
+        cache.put(1L, new Coffee(1L, "name", 1.0, new ArrayList<>()));
+
+        clock.set(99);
+        assertNotNull(cache.get(1L));
+        clock.set(100);
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictLeastRecentlyUsedTest() {
+        EntityCache<Coffee> cache = new EntityCache<>("coffee", 2, Duration.ofSeconds(1), copier, clock::get);
+        cache.put(1L, new Coffee(1L, "first", 1.0, new ArrayList<>()));
+        cache.put(2L, new Coffee(2L, "second", 1.0, new ArrayList<>()));
+        cache.get(1L);
+        cache.put(3L, new Coffee(3L, "third", 1.0, new ArrayList<>()));
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void invalidateTest() {
+        EntityCache<Coffee> cache = new EntityCache<>("coffee", 2, Duration.ofSeconds(1), copier, clock::get);
+        cache.put(1L, new Coffee(1L, "first", 1.0, new ArrayList<>()));
+
+        cache.invalidate(1L);
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void getOrLoadTest() {
+        EntityCache<Coffee> cache = new EntityCache<>("coffee", 10, Duration.ofSeconds(1), copier, clock::get);
+        Coffee coffee = new Coffee(1L, "name", 1.0, new ArrayList<>());
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(Optional.empty(), cache.getOrLoad(2L, id -> Optional.empty()));
+        assertEquals("name", cache.getOrLoad(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(coffee);
+        }).orElseThrow().getName());
+        assertEquals("name", cache.getOrLoad(1L, id -> fail("Cached coffee is loaded")).orElseThrow().getName());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void getAllTest() {
+        EntityCache<Coffee> cache = new EntityCache<>("coffee", 10, Duration.ofSeconds(1), copier, clock::get);
+        cache.put(1L, new Coffee(1L, "first", 1.0, new ArrayList<>()));
+        List<List<Long>> loadedIdLists = new ArrayList<>();
+
+        Map<Long, Coffee> resultMap = cache.getAll(List.of(2L, 1L, 3L, 2L), idList -> {
+            loadedIdLists.add(idList);
+            return List.of(new Coffee(2L, "second", 2.0, new ArrayList<>()));
+        }, Coffee::getId);
+
+        assertEquals(Set.of(1L, 2L), resultMap.keySet());
+        assertEquals(List.of(List.of(2L, 3L)), loadedIdLists);
+        assertEquals(Set.of(1L, 2L), cache.getAll(List.of(1L, 2L), idList -> fail("Cached coffee is loaded"), Coffee::getId).keySet());
+        Assertions.assertThrows(NullParamException.class, () -> cache.getAll(null, idList -> List.of(), Coffee::getId));
+    }
+}
@@ -26,7 +26,9 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -226,6 +228,34 @@ class CoffeeRepositoryImpTest {
 
     }
 
+    @Test
+    void findByOrderIdsTest() {
+        Coffee insertedCoffee = new Coffee("name", 0.0);
+        Coffee specificCoffee1 = coffeeRepository.create(insertedCoffee);
+        Coffee specificCoffee2 = coffeeRepository.create(insertedCoffee);
+
+        Barista barista = new Barista("Name");
+        barista = baristaRepository.create(barista);
+        Order order1 = new Order(barista, List.of(specificCoffee1, specificCoffee2));
+        Order order2 = new Order(barista, List.of(specificCoffee2));
+        Order order3 = new Order(barista, List.of());
+        order1.setCreated(LocalDateTime.now());
+        order2.setCreated(LocalDateTime.now());
+        order3.setCreated(LocalDateTime.now());
+        Order specificOrder1 = orderRepository.create(order1);
+        Order specificOrder2 = orderRepository.create(order2);
+        Order specificOrder3 = orderRepository.create(order3);
+
+        Map<Long, List<Coffee>> resultCoffeeMap = coffeeRepository.findByOrderIds(
+                List.of(specificOrder1.getId(), specificOrder2.getId(), specificOrder3.getId()));
+
+        assertEquals(Set.of(specificCoffee1, specificCoffee2), Set.copyOf(resultCoffeeMap.get(specificOrder1.getId())));
+        assertEquals(List.of(specificCoffee2), resultCoffeeMap.get(specificOrder2.getId()));
+        assertFalse(resultCoffeeMap.containsKey(specificOrder3.getId()));
+        assertEquals(Map.of(), coffeeRepository.findByOrderIds(List.of()));
+        Assertions.assertThrows(NullParamException.class, () -> coffeeRepository.findByOrderIds(null));
+    }
+
     @Test
     void findByOrderIdWrongTest() {
         Assertions.assertThrows(NullParamException.class, () -> coffeeRepository.findByOrderId(null));
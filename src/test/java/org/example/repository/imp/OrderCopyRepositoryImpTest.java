@@ -0,0 +1,121 @@
+package org.example.repository.imp;
+
+import org.example.db.ConnectionManager;
+import org.example.db.ConnectionManagerImp;
+import org.example.entity.Barista;
+import org.example.entity.Coffee;
+import org.example.entity.Order;
+import org.example.entity.exception.NullParamException;
+import org.example.repository.BaristaRepositoryImp;
+import org.example.repository.CoffeeRepositoryImp;
+import org.example.repository.OrderCopyRepositoryImp;
+import org.example.repository.OrderRepositoryImp;
+import org.example.repository.exception.DataBaseException;
+import org.example.service.gateway.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCopyRepositoryImpTest {
+    static ConnectionManager connectionManager;
+    static OrderCopyRepository orderCopyRepository;
+    static OrderRepository orderRepository;
+    static BaristaRepository baristaRepository;
+    static CoffeeRepository coffeeRepository;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14")
+            .withInitScript("DB_script.sql");
+
+    @BeforeAll
+    static void beforeAll() {
+        postgres.start();
+
+        connectionManager = new ConnectionManagerImp(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        orderCopyRepository = new OrderCopyRepositoryImp(connectionManager);
+        baristaRepository = new BaristaRepositoryImp(connectionManager);
+        orderRepository = new OrderRepositoryImp(connectionManager);
+        coffeeRepository = new CoffeeRepositoryImp(connectionManager);
+    }
+
+    @AfterAll
+    static void afterAll() {
+        postgres.stop();
+    }
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertDoesNotThrow(() -> new OrderCopyRepositoryImp(connectionManager));
+        Assertions.assertThrows(NullParamException.class, () -> new OrderCopyRepositoryImp(null));
+    }
+
+    @Test
+    void copyOutAndInTest() throws IOException, SQLException {
+        Barista barista = baristaRepository.create(new Barista("Name"));
+        Coffee coffee = coffeeRepository.create(new Coffee("Name", 1.0));
+        Order order = orderRepository.create(new Order(barista, List.of(coffee), LocalDateTime.now()));
+
+        for (CopyFormat format : CopyFormat.values()) {
+            ByteArrayOutputStream orders = new ByteArrayOutputStream();
+            ByteArrayOutputStream references = new ByteArrayOutputStream();
+            long orderCount = orderCopyRepository.copyOut(CopyTable.ORDER, format, orders);
+            long referenceCount = orderCopyRepository.copyOut(CopyTable.ORDER_COFFEE, format, references);
+            assertTrue(orderCount > 0);
+            assertTrue(referenceCount > 0);
+
+            try (Connection connection = connectionManager.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DELETE FROM order_coffee; DELETE FROM \"order\";");
+            }
+
+            assertEquals(orderCount, orderCopyRepository.copyIn(CopyTable.ORDER, format, new ByteArrayInputStream(orders.toByteArray())));
+            assertEquals(referenceCount, orderCopyRepository.copyIn(CopyTable.ORDER_COFFEE, format, new ByteArrayInputStream(references.toByteArray())));
+            assertEquals(List.of(order.getId()), orderRepository.findByCoffeeId(coffee.getId()).stream().map(Order::getId).toList());
+        }
+
+        Order created = orderRepository.create(new Order(barista, List.of(), LocalDateTime.now()));
+        assertTrue(created.getId() > order.getId());
+    }
+
+    @Test
+    void copyInRollbackTest() {
+        String csv = """
+                id,barista,created,completed,price
+                1000,0,2024-01-01 08:00:00,,1.0
+                not valid row
+                """;
+        int orderCount = orderRepository.findAll().size();
+
+        Assertions.assertThrows(DataBaseException.class, () -> orderCopyRepository.copyIn(CopyTable.ORDER, CopyFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(orderCount, orderRepository.findAll().size());
+    }
+
+    @Test
+    void copyWrongTest() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyRepository.copyOut(null, CopyFormat.CSV, outputStream));
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyRepository.copyOut(CopyTable.ORDER, null, outputStream));
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyRepository.copyOut(CopyTable.ORDER, CopyFormat.CSV, null));
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyRepository.copyIn(null, CopyFormat.CSV, inputStream));
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyRepository.copyIn(CopyTable.ORDER, CopyFormat.CSV, null));
+    }
+}
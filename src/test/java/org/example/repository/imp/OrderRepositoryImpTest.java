@@ -7,11 +7,16 @@ import org.example.entity.Coffee;
 import org.example.entity.Order;
 import org.example.entity.exception.NoValidIdException;
 import org.example.entity.exception.NullParamException;
+import org.example.entity.exception.OrderNotFoundException;
 import org.example.repository.BaristaRepositoryImp;
 import org.example.repository.CoffeeRepositoryImp;
 import org.example.repository.OrderRepositoryImp;
+import org.example.repository.exception.DataBaseException;
+import org.example.service.dto.OrderCompletion;
+import org.example.service.dto.OrderEvent;
 import org.example.service.exception.NoValidLimitException;
 import org.example.service.exception.NoValidPageException;
+import org.example.service.exception.OrderAlreadyCompletedException;
 import org.example.service.gateway.BaristaRepository;
 import org.example.service.gateway.CoffeeRepository;
 import org.example.service.gateway.OrderRepository;
@@ -19,10 +24,17 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -90,6 +102,76 @@ class OrderRepositoryImpTest {
         Assertions.assertThrows(NullParamException.class, () -> orderRepository.create(order));
     }
 
+    @Test
+    void createRollbackTest() {
+        Barista barista = baristaRepository.create(new Barista("Name"));
+        Coffee notExistedCoffee = new Coffee(Long.MAX_VALUE, "Not existed", 1.0, List.of());
+        Order order = new Order(barista, List.of(notExistedCoffee));
+        order.setCreated(LocalDateTime.now());
+        int orderCount = orderRepository.findAll().size();
+
+        Assertions.assertThrows(DataBaseException.class, () -> orderRepository.create(order));
+        assertEquals(orderCount, orderRepository.findAll().size());
+    }
+
+    @Test
+    void createAllTest() {
+        Barista barista = baristaRepository.create(new Barista("Name"));
+        Coffee coffee = coffeeRepository.create(new Coffee("Name", 1.0));
+        Order first = new Order(barista, List.of(coffee), LocalDateTime.now());
+        Order second = new Order(barista, List.of(), LocalDateTime.now());
+
+        List<Order> resultOrderList = orderRepository.createAll(List.of(first, second));
+
+        assertEquals(2, resultOrderList.size());
+        assertTrue(resultOrderList.get(0).getId() < resultOrderList.get(1).getId());
+        assertEquals(List.of(resultOrderList.get(0).getId()),
+                orderRepository.findByCoffeeId(coffee.getId()).stream().map(Order::getId).toList());
+        assertEquals(List.of(), orderRepository.createAll(List.of()));
+    }
+
+    @Test
+    void createAllRollbackTest() {
+        Barista barista = baristaRepository.create(new Barista("Name"));
+        Coffee notExistedCoffee = new Coffee(Long.MAX_VALUE, "Not existed", 1.0, List.of());
+        Order valid = new Order(barista, List.of(), LocalDateTime.now());
+        Order notValid = new Order(barista, List.of(notExistedCoffee), LocalDateTime.now());
+        int orderCount = orderRepository.findAll().size();
+
+        Assertions.assertThrows(NullParamException.class, () -> orderRepository.createAll(null));
+        Assertions.assertThrows(NullParamException.class, () -> orderRepository.createAll(List.of(new Order(barista, List.of()))));
+        Assertions.assertThrows(DataBaseException.class, () -> orderRepository.createAll(List.of(valid, notValid)));
+        assertEquals(orderCount, orderRepository.findAll().size());
+    }
+
+    @Test
+    void notifyOnCommitTest() throws SQLException {
+        Barista barista = baristaRepository.create(new Barista("Name"));
+
+        try (Connection listenConnection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = listenConnection.createStatement()) {
+            statement.execute("LISTEN " + OrderEvent.CHANNEL);
+            PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+
+            Order order = orderRepository.create(new Order(barista, List.of(), LocalDateTime.now()));
+            order.setCompleted(LocalDateTime.now());
+            orderRepository.update(order);
+            orderRepository.delete(order.getId());
+            Assertions.assertThrows(DataBaseException.class, () -> orderRepository.createAll(List.of(
+                    new Order(barista, List.of(new Coffee(Long.MAX_VALUE, "Not existed", 1.0, List.of())), LocalDateTime.now()))));
+
+            List<String> payloadList = new ArrayList<>();
+            PGNotification[] notifications;
+            while ((notifications = pgConnection.getNotifications(1000)) != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    payloadList.add(notification.getParameter());
+                }
+            }
+
+            assertEquals(List.of("created:" + order.getId(), "updated:" + order.getId(), "deleted:" + order.getId()), payloadList);
+        }
+    }
+
     @Test
     void updateTest() {
         Barista barista = new Barista("Name");
@@ -110,6 +192,24 @@ class OrderRepositoryImpTest {
         assertEquals(List.of(), resultOrder.getCoffeeList());
     }
 
+    @Test
+    void updateReferencesTest() {
+        Barista barista = baristaRepository.create(new Barista("Name"));
+        Coffee kept = coffeeRepository.create(new Coffee("Kept", 1.0));
+        Coffee removed = coffeeRepository.create(new Coffee("Removed", 1.0));
+        Coffee added = coffeeRepository.create(new Coffee("Added", 1.0));
+        Order order = orderRepository.create(new Order(barista, List.of(kept, removed), LocalDateTime.now()));
+
+        order.setCoffeeList(List.of(kept, added));
+        orderRepository.update(order);
+        order.setCompleted(LocalDateTime.now());
+        orderRepository.update(order);
+
+        assertEquals(List.of(order.getId()), orderRepository.findByCoffeeId(kept.getId()).stream().map(Order::getId).toList());
+        assertEquals(List.of(order.getId()), orderRepository.findByCoffeeId(added.getId()).stream().map(Order::getId).toList());
+        assertEquals(List.of(), orderRepository.findByCoffeeId(removed.getId()));
+    }
+
     @Test
     void updateWrongTest() {
         Barista barista = new Barista("Name");
@@ -120,6 +220,38 @@ class OrderRepositoryImpTest {
         Assertions.assertThrows(NoValidIdException.class, () -> orderRepository.update(order));
     }
 
+    @Test
+    void completeTest() {
+        Barista barista = baristaRepository.create(new Barista("Name"));
+        Coffee coffee = coffeeRepository.create(new Coffee("Name", 1.0));
+        Order order = orderRepository.create(new Order(barista, List.of(coffee), LocalDateTime.now()));
+        LocalDateTime completed = LocalDateTime.now().withNano(0);
+
+        OrderCompletion completion = orderRepository.complete(order.getId(), completed);
+
+        assertEquals(order.getId(), completion.order().getId());
+        assertEquals(completed, completion.order().getCompleted());
+        assertEquals(barista, completion.order().getBarista());
+        assertEquals(List.of(coffee.getId()), completion.coffeeIdList());
+        assertEquals(completed, orderRepository.findById(order.getId()).orElseThrow().getCompleted());
+        assertEquals(List.of(order.getId()), orderRepository.findByCoffeeId(coffee.getId()).stream().map(Order::getId).toList());
+    }
+
+    @Test
+    void completeWrongTest() {
+        Barista barista = baristaRepository.create(new Barista("Name"));
+        Order order = orderRepository.create(new Order(barista, List.of(), LocalDateTime.now()));
+        Long orderId = order.getId();
+        LocalDateTime completed = LocalDateTime.now();
+        orderRepository.complete(orderId, completed);
+
+        Assertions.assertThrows(OrderAlreadyCompletedException.class, () -> orderRepository.complete(orderId, completed));
+        Assertions.assertThrows(OrderNotFoundException.class, () -> orderRepository.complete(Long.MAX_VALUE, completed));
+        Assertions.assertThrows(NullParamException.class, () -> orderRepository.complete(null, completed));
+        Assertions.assertThrows(NullParamException.class, () -> orderRepository.complete(orderId, null));
+        Assertions.assertThrows(NoValidIdException.class, () -> orderRepository.complete(-1L, completed));
+    }
+
     @Test
     void deleteTest() {
         Barista barista = new Barista("Name");
@@ -161,6 +293,56 @@ class OrderRepositoryImpTest {
         assertTrue(resultOrderList.size() >= 3);
     }
 
+    @Test
+    void findAllByChunksTest() {
+        Barista barista = baristaRepository.create(new Barista("Name"));
+        Order order = new Order(barista, List.of());
+        order.setCreated(LocalDateTime.now());
+        orderRepository.create(order);
+        orderRepository.create(order);
+        orderRepository.create(order);
+
+        List<Long> expectedIdList = orderRepository.findAll().stream()
+                .map(Order::getId)
+                .sorted()
+                .toList();
+        List<Long> resultIdList = new ArrayList<>();
+        orderRepository.findAll(2, chunk -> {
+            assertTrue(chunk.size() <= 2);
+            chunk.forEach(resultOrder -> resultIdList.add(resultOrder.getId()));
+        });
+
+        assertEquals(expectedIdList, resultIdList);
+        Assertions.assertThrows(NoValidLimitException.class, () -> orderRepository.findAll(0, chunk -> {
+        }));
+    }
+
+    @Test
+    void findQueueTest() {
+        Barista barista = new Barista("Name");
+        barista = baristaRepository.create(barista);
+        Order order = new Order(barista, List.of());
+        order.setCreated(LocalDateTime.now().minusMinutes(10));
+        Order completedOrder = orderRepository.create(order);
+        completedOrder.setCompleted(LocalDateTime.now());
+        orderRepository.update(completedOrder);
+        order.setCreated(LocalDateTime.now().minusMinutes(5));
+        orderRepository.create(order);
+        order.setCreated(LocalDateTime.now().minusMinutes(1));
+        orderRepository.create(order);
+
+        List<Order> resultOrderList = orderRepository.findQueue();
+        List<Order> resultLimitedOrderList = orderRepository.findQueue(1);
+
+        assertTrue(resultOrderList.size() >= 2);
+        assertTrue(resultOrderList.stream().allMatch(resultOrder -> resultOrder.getCompleted() == null));
+        for (int i = 1; i < resultOrderList.size(); i++) {
+            assertFalse(resultOrderList.get(i).getCreated().isBefore(resultOrderList.get(i - 1).getCreated()));
+        }
+        assertEquals(List.of(resultOrderList.get(0)), resultLimitedOrderList);
+        Assertions.assertThrows(NoValidLimitException.class, () -> orderRepository.findQueue(0));
+    }
+
     @Test
     void findByIdTest() {
         Barista barista = new Barista("Name");
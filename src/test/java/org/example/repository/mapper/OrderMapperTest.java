@@ -2,6 +2,7 @@ package org.example.repository.mapper;
 
 import org.example.entity.Barista;
 import org.example.entity.Order;
+import org.example.entity.exception.BaristaNotFoundException;
 import org.example.service.gateway.BaristaRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -10,11 +11,15 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 
 class OrderMapperTest {
     BaristaRepository baristaRepository = Mockito.mock(BaristaRepository.class);
@@ -66,4 +71,100 @@ class OrderMapperTest {
                 .thenReturn(false);
         Mockito.verify(orderMapper, Mockito.times(0)).map(any());
     }
+
+    @Test
+    void mapToListResolveBaristasByOneQueryTest() throws SQLException {
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        LocalDateTime specifiedDateTime = LocalDateTime.now();
+
+        Barista firstBarista = new Barista(1L, "first", List.of(), 0.1);
+        Barista secondBarista = new Barista(2L, "second", List.of(), 0.1);
+
+        Mockito.when(resultSet.next())
+                .thenReturn(true, true, true, false);
+        Mockito.when(resultSet.findColumn("id"))
+                .thenReturn(1);
+        Mockito.when(resultSet.findColumn("price"))
+                .thenReturn(2);
+        Mockito.when(resultSet.findColumn("barista"))
+                .thenReturn(3);
+
+        Mockito.when(resultSet.getLong(1))
+                .thenReturn(10L, 11L, 12L);
+        Mockito.when(resultSet.getTimestamp("created"))
+                .thenReturn(Timestamp.valueOf(specifiedDateTime));
+        Mockito.when(resultSet.getDouble(2))
+                .thenReturn(1.0);
+        Mockito.when(resultSet.getLong(3))
+                .thenReturn(1L, 2L, 1L);
+        Mockito.when(baristaRepository.findById(List.of(1L, 2L)))
+                .thenReturn(List.of(firstBarista, secondBarista));
+
+        List<Order> resultOrderList = orderMapper.mapToList(resultSet);
+
+        assertEquals(3, resultOrderList.size());
+        assertEquals(List.of(10L, 11L, 12L), resultOrderList.stream().map(Order::getId).toList());
+        assertEquals(firstBarista, resultOrderList.get(0).getBarista());
+        assertEquals(secondBarista, resultOrderList.get(1).getBarista());
+        assertEquals(firstBarista, resultOrderList.get(2).getBarista());
+
+        Mockito.verify(baristaRepository, Mockito.times(1)).findById(anyList());
+        Mockito.verify(baristaRepository, Mockito.never()).findById(anyLong());
+    }
+
+    @Test
+    void mapInChunksTest() throws SQLException {
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Barista firstBarista = new Barista(1L, "first", List.of(), 0.1);
+        Barista secondBarista = new Barista(2L, "second", List.of(), 0.1);
+
+        Mockito.when(resultSet.next())
+                .thenReturn(true, true, true, false);
+        Mockito.when(resultSet.findColumn("id"))
+                .thenReturn(1);
+        Mockito.when(resultSet.findColumn("price"))
+                .thenReturn(2);
+        Mockito.when(resultSet.findColumn("barista"))
+                .thenReturn(3);
+
+        Mockito.when(resultSet.getLong(1))
+                .thenReturn(10L, 11L, 12L);
+        Mockito.when(resultSet.getTimestamp("created"))
+                .thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+        Mockito.when(resultSet.getLong(3))
+                .thenReturn(1L, 1L, 2L);
+        Mockito.when(baristaRepository.findById(List.of(1L)))
+                .thenReturn(List.of(firstBarista));
+        Mockito.when(baristaRepository.findById(List.of(2L)))
+                .thenReturn(List.of(secondBarista));
+
+        List<List<Long>> chunkIdList = new ArrayList<>();
+        orderMapper.mapInChunks(resultSet, 2, chunk -> chunkIdList.add(chunk.stream().map(Order::getId).toList()));
+
+        assertEquals(List.of(List.of(10L, 11L), List.of(12L)), chunkIdList);
+        Mockito.verify(baristaRepository, Mockito.times(2)).findById(anyList());
+        Mockito.verify(baristaRepository, Mockito.never()).findById(anyLong());
+    }
+
+    @Test
+    void mapToListWrongTest() throws SQLException {
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+
+        Mockito.when(resultSet.next())
+                .thenReturn(true, false);
+        Mockito.when(resultSet.findColumn("id"))
+                .thenReturn(1);
+        Mockito.when(resultSet.findColumn("price"))
+                .thenReturn(2);
+        Mockito.when(resultSet.findColumn("barista"))
+                .thenReturn(3);
+        Mockito.when(resultSet.getLong(1))
+                .thenReturn(10L);
+        Mockito.when(resultSet.getLong(3))
+                .thenReturn(5L);
+        Mockito.when(baristaRepository.findById(List.of(5L)))
+                .thenReturn(List.of());
+
+        assertThrows(BaristaNotFoundException.class, () -> orderMapper.mapToList(resultSet));
+    }
 }
\ No newline at end of file
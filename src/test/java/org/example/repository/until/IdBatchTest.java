@@ -0,0 +1,83 @@
+package org.example.repository.until;
+
+import org.example.entity.exception.NullParamException;
+import org.example.entity.exception.OrderNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdBatchTest {
+
+    @Test
+    void toListTest() {
+        List<Long> idList = List.of(3L, 1L, 3L, 2L);
+        IdBatch<String> batch = IdBatch.of(idList);
+
+        batch.put(1L, "one");
+        batch.put(2L, "two");
+        batch.put(3L, "three");
+        batch.put(4L, "not requested");
+
+        assertEquals(1, batch.getChunkCount());
+        assertEquals(List.of("three", "one", "three", "two"), batch.toList(idList, OrderNotFoundException::new));
+        assertEquals(Map.of(1L, "one", 2L, "two", 3L, "three"), batch.toMap());
+    }
+
+    @Test
+    void notFoundTest() {
+        List<Long> idList = List.of(1L, 2L);
+        IdBatch<String> batch = IdBatch.of(idList);
+        batch.put(1L, "one");
+
+        Assertions.assertThrows(OrderNotFoundException.class, () -> batch.toList(idList, OrderNotFoundException::new));
+        assertEquals(Map.of(1L, "one"), batch.toMap());
+    }
+
+    @Test
+    void emptyTest() {
+        IdBatch<String> batch = IdBatch.of(List.of());
+
+        assertEquals(0, batch.getChunkCount());
+        assertEquals(List.of(), batch.toList(List.of(), OrderNotFoundException::new));
+        assertEquals(Map.of(), batch.toMap());
+    }
+
+    @Test
+    void wrongParamsTest() {
+        List<Long> idList = new ArrayList<>(List.of(1L));
+        idList.add(null);
+
+        Assertions.assertThrows(NullParamException.class, () -> IdBatch.of(null));
+        Assertions.assertThrows(NullParamException.class, () -> IdBatch.of(idList));
+    }
+
+    @Test
+    void createArrayTest() throws SQLException {
+        List<Long> idList = LongStream.rangeClosed(1, IdBatch.CHUNK_SIZE + 5).map(id -> -id).boxed().toList();
+        IdBatch<String> batch = IdBatch.of(idList);
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        Array array = mock(Array.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.createArrayOf(eq("bigint"), any())).thenReturn(array);
+
+        assertEquals(2, batch.getChunkCount());
+        assertEquals(array, batch.createArray(connection, 1));
+
+        long[] expected = LongStream.rangeClosed(-4, 0).map(id -> id - 1).toArray();
+        verify(pgConnection).createArrayOf(eq("bigint"), argThat(ids -> Arrays.equals((long[]) ids, expected)));
+    }
+}
@@ -210,4 +210,30 @@ class BaristaServiceTest {
         Assertions.assertThrows(NoValidLimitException.class, () -> baristaService.findAllByPage(0, 0));
         Assertions.assertThrows(NoValidLimitException.class, () -> baristaService.findAllByPage(0, -1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllAfterTest() {
+        List<Barista> specifiedBaristaList = new ArrayList<>(List.of(
+                Mockito.mock(Barista.class),
+                Mockito.mock(Barista.class)
+        ));
+
+        Mockito.when(baristaRepository.findAllAfter(null, 2))
+                .thenReturn(specifiedBaristaList);
+        Mockito.when(baristaRepository.findAllAfter(5L, 2))
+                .thenReturn(new ArrayList<>());
+
+        List<Barista> resultBaristaList = baristaService.findAllAfter(null, 2);
+        assertEquals(specifiedBaristaList, resultBaristaList);
+
+        resultBaristaList = baristaService.findAllAfter(5L, 2);
+        assertEquals(List.of(), resultBaristaList);
+    }
+
+    @Test
+    void findAllAfterWrongTest() {
+        Assertions.assertThrows(NoValidIdException.class, () -> baristaService.findAllAfter(-1L, 1));
+        Assertions.assertThrows(NoValidLimitException.class, () -> baristaService.findAllAfter(0L, 0));
+        Assertions.assertThrows(NoValidLimitException.class, () -> baristaService.findAllAfter(null, -1));
+    }
+}
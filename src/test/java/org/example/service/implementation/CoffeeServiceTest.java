@@ -1,6 +1,8 @@
 package org.example.service.implementation;
 
+import org.example.entity.Barista;
 import org.example.entity.Coffee;
+import org.example.entity.Order;
 import org.example.entity.exception.*;
 import org.example.service.exception.NoValidLimitException;
 import org.example.service.exception.NoValidPageException;
@@ -17,8 +19,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -76,6 +80,26 @@ class CoffeeServiceTest {
         assertEquals(specifiedCoffeeList, resultCoffeeList);
     }
 
+    @Test
+    void findAllLoadOrdersByOneQueryTest() {
+        Order firstOrder = new Order(0L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now(), null, 0.0);
+        Order secondOrder = new Order(1L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now(), null, 0.0);
+        Coffee firstCoffee = new Coffee(0L, "first", 1.0, List.of());
+        Coffee secondCoffee = new Coffee(1L, "second", 2.0, List.of());
+
+        Mockito.when(coffeeRepository.findAll())
+                .thenReturn(List.of(firstCoffee, secondCoffee));
+        Mockito.when(orderRepository.findByCoffeeIds(List.of(0L, 1L)))
+                .thenReturn(Map.of(0L, List.of(firstOrder, secondOrder)));
+
+        List<Coffee> resultCoffeeList = coffeeService.findAll();
+
+        assertEquals(List.of(firstOrder, secondOrder), resultCoffeeList.get(0).getOrderList());
+        assertEquals(List.of(), resultCoffeeList.get(1).getOrderList());
+        Mockito.verify(orderRepository, Mockito.times(1)).findByCoffeeIds(Mockito.any());
+        Mockito.verify(orderRepository, Mockito.never()).findByCoffeeId(Mockito.any());
+    }
+
     @Test
     void findByIdTest() {
         Long specifiedId = 1L;
@@ -212,4 +236,30 @@ class CoffeeServiceTest {
         Assertions.assertThrows(NoValidLimitException.class, () -> coffeeService.findAllByPage(0, 0));
         Assertions.assertThrows(NoValidLimitException.class, () -> coffeeService.findAllByPage(0, -1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllAfterTest() {
+        List<Coffee> specifiedCoffeeList = new ArrayList<>(List.of(
+                Mockito.mock(Coffee.class),
+                Mockito.mock(Coffee.class)
+        ));
+
+        Mockito.when(coffeeRepository.findAllAfter(null, 2))
+                .thenReturn(specifiedCoffeeList);
+        Mockito.when(coffeeRepository.findAllAfter(5L, 2))
+                .thenReturn(new ArrayList<>());
+
+        List<Coffee> resultCoffeeList = coffeeService.findAllAfter(null, 2);
+        assertEquals(specifiedCoffeeList, resultCoffeeList);
+
+        resultCoffeeList = coffeeService.findAllAfter(5L, 2);
+        assertEquals(List.of(), resultCoffeeList);
+    }
+
+    @Test
+    void findAllAfterWrongTest() {
+        Assertions.assertThrows(NoValidIdException.class, () -> coffeeService.findAllAfter(-1L, 1));
+        Assertions.assertThrows(NoValidLimitException.class, () -> coffeeService.findAllAfter(0L, 0));
+        Assertions.assertThrows(NoValidLimitException.class, () -> coffeeService.findAllAfter(null, -1));
+    }
+}
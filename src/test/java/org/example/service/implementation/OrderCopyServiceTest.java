@@ -0,0 +1,75 @@
+package org.example.service.implementation;
+
+import org.example.entity.exception.NullParamException;
+import org.example.service.gateway.CopyFormat;
+import org.example.service.gateway.CopyTable;
+import org.example.service.gateway.OrderCopyRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderCopyServiceTest {
+    static AutoCloseable mocks;
+    @Mock
+    OrderCopyRepository orderCopyRepository;
+
+    OrderCopyService orderCopyService;
+
+    @BeforeEach
+    public void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        orderCopyService = new OrderCopyService(orderCopyRepository);
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertDoesNotThrow(() -> new OrderCopyService(orderCopyRepository));
+        Assertions.assertThrows(NullParamException.class, () -> new OrderCopyService(null));
+    }
+
+    @Test
+    void exportTableTest() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Mockito.when(orderCopyRepository.copyOut(CopyTable.ORDER, CopyFormat.CSV, outputStream))
+                .thenReturn(3L);
+
+        assertEquals(3L, orderCopyService.exportTable(CopyTable.ORDER, CopyFormat.CSV, outputStream));
+    }
+
+    @Test
+    void importTableTest() throws IOException {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(new byte[0]);
+        Mockito.when(orderCopyRepository.copyIn(CopyTable.ORDER_COFFEE, CopyFormat.BINARY, inputStream))
+                .thenReturn(5L);
+
+        assertEquals(5L, orderCopyService.importTable(CopyTable.ORDER_COFFEE, CopyFormat.BINARY, inputStream));
+    }
+
+    @Test
+    void wrongTest() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(new byte[0]);
+
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyService.exportTable(null, CopyFormat.CSV, outputStream));
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyService.exportTable(CopyTable.ORDER, null, outputStream));
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyService.exportTable(CopyTable.ORDER, CopyFormat.CSV, null));
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyService.importTable(null, CopyFormat.CSV, inputStream));
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyService.importTable(CopyTable.ORDER, null, inputStream));
+        Assertions.assertThrows(NullParamException.class, () -> orderCopyService.importTable(CopyTable.ORDER, CopyFormat.CSV, null));
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.service.implementation;
+
+import org.example.entity.Barista;
+import org.example.entity.Order;
+import org.example.entity.exception.NullParamException;
+import org.example.entity.exception.OrderNotFoundException;
+import org.example.service.IOrderQueueFeed;
+import org.example.service.IOrderService;
+import org.example.service.dto.OrderEvent;
+import org.example.service.dto.OrderQueueDelta;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderQueueFeedTest {
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Barista barista = new Barista(1L, "Name", List.of(), 0.1);
+
+    IOrderService orderService;
+    OrderQueueFeed orderQueueFeed;
+
+    @BeforeEach
+    void setUp() {
+        orderService = Mockito.mock(IOrderService.class);
+        orderQueueFeed = new OrderQueueFeed(orderService);
+    }
+
+    private Order order(long id, LocalDateTime created, LocalDateTime completed) {
+        return new Order(id, barista, new ArrayList<>(), created, completed, 0.0);
+    }
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertThrows(NullParamException.class, () -> new OrderQueueFeed(null));
+    }
+
+    @Test
+    void subscribeGetsSnapshotTest() {
+        Order older = order(2L, now.minusMinutes(1), null);
+        Order younger = order(1L, now, null);
+        Mockito.when(orderService.loadOrderQueue())
+                .thenReturn(List.of(younger, older));
+        orderQueueFeed.reload();
+
+        List<OrderQueueDelta> deltaList = new ArrayList<>();
+        orderQueueFeed.subscribe(deltaList::add);
+
+        assertEquals(List.of(OrderQueueDelta.snapshot(List.of(older, younger))), deltaList);
+        Assertions.assertThrows(NullParamException.class, () -> orderQueueFeed.subscribe(null));
+    }
+
+    @Test
+    void reloadSeesMissedOrderTest() {
+        Order indexed = order(1L, now.minusMinutes(1), null);
+        Order missed = order(2L, now, null);
+        Mockito.when(orderService.getOrderQueue())
+                .thenReturn(List.of(indexed));
+        Mockito.when(orderService.loadOrderQueue())
+                .thenReturn(List.of(indexed), List.of(indexed, missed));
+        orderQueueFeed.reload();
+        List<OrderQueueDelta> deltaList = new ArrayList<>();
+        orderQueueFeed.subscribe(deltaList::add);
+
+        orderQueueFeed.reload();
+
+        assertEquals(List.of(OrderQueueDelta.snapshot(List.of(indexed)), OrderQueueDelta.snapshot(List.of(indexed, missed))),
+                deltaList);
+        Mockito.verify(orderService, Mockito.never()).getOrderQueue();
+    }
+
+    @Test
+    void reloadedEventTest() {
+        Order imported = order(1L, now, null);
+        Mockito.when(orderService.loadOrderQueue())
+                .thenReturn(List.of(), List.of(imported));
+        orderQueueFeed.reload();
+        List<OrderQueueDelta> deltaList = new ArrayList<>();
+        orderQueueFeed.subscribe(deltaList::add);
+
+        orderQueueFeed.onEvent(OrderEvent.parse(OrderEvent.reloaded().toPayload()));
+
+        assertEquals(List.of(OrderQueueDelta.snapshot(List.of()), OrderQueueDelta.snapshot(List.of(imported))), deltaList);
+        Mockito.verify(orderService, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    void onEventTest() {
+        Mockito.when(orderService.loadOrderQueue())
+                .thenReturn(List.of());
+        orderQueueFeed.reload();
+        List<OrderQueueDelta> deltaList = new ArrayList<>();
+        orderQueueFeed.subscribe(deltaList::add);
+
+        Order created = order(1L, now, null);
+        Order completed = order(1L, now, now.plusMinutes(1));
+        Order other = order(2L, now, null);
+        Mockito.when(orderService.findById(1L))
+                .thenReturn(created, created, completed);
+        Mockito.when(orderService.findById(2L))
+                .thenReturn(other);
+
+        orderQueueFeed.onEvent(new OrderEvent(OrderEvent.Type.CREATED, 1L));
+        orderQueueFeed.onEvent(new OrderEvent(OrderEvent.Type.UPDATED, 1L));
+        orderQueueFeed.onEvent(new OrderEvent(OrderEvent.Type.UPDATED, 1L));
+        orderQueueFeed.onEvent(new OrderEvent(OrderEvent.Type.UPDATED, 1L));
+        orderQueueFeed.onEvent(new OrderEvent(OrderEvent.Type.CREATED, 2L));
+        orderQueueFeed.onEvent(new OrderEvent(OrderEvent.Type.DELETED, 2L));
+
+        assertEquals(List.of(
+                OrderQueueDelta.snapshot(List.of()),
+                OrderQueueDelta.of(OrderQueueDelta.Type.ADDED, created),
+                OrderQueueDelta.of(OrderQueueDelta.Type.UPDATED, created),
+                OrderQueueDelta.of(OrderQueueDelta.Type.COMPLETED, completed),
+                OrderQueueDelta.of(OrderQueueDelta.Type.ADDED, other),
+                OrderQueueDelta.of(OrderQueueDelta.Type.REMOVED, other)
+        ), deltaList);
+        Assertions.assertThrows(NullParamException.class, () -> orderQueueFeed.onEvent(null));
+    }
+
+    @Test
+    void onEventNotFoundTest() {
+        List<OrderQueueDelta> deltaList = new ArrayList<>();
+        orderQueueFeed.subscribe(deltaList::add);
+        Mockito.when(orderService.findById(1L))
+                .thenThrow(new OrderNotFoundException(1L));
+
+        orderQueueFeed.onEvent(new OrderEvent(OrderEvent.Type.UPDATED, 1L));
+
+        assertEquals(List.of(OrderQueueDelta.snapshot(List.of())), deltaList);
+    }
+
+    @Test
+    void unsubscribeTest() {
+        List<OrderQueueDelta> deltaList = new ArrayList<>();
+        IOrderQueueFeed.Subscription subscription = orderQueueFeed.subscribe(deltaList::add);
+        Mockito.when(orderService.findById(1L))
+                .thenReturn(order(1L, now, null));
+
+        subscription.close();
+        orderQueueFeed.onEvent(new OrderEvent(OrderEvent.Type.CREATED, 1L));
+
+        assertEquals(1, deltaList.size());
+        assertEquals(0, orderQueueFeed.getSubscriberCount());
+    }
+
+    @Test
+    void failedSubscriberIsRemovedTest() {
+        List<OrderQueueDelta> deltaList = new ArrayList<>();
+        orderQueueFeed.subscribe(delta -> {
+            if (delta.type() != OrderQueueDelta.Type.SNAPSHOT)
+                throw new IllegalStateException("closed");
+        });
+        orderQueueFeed.subscribe(deltaList::add);
+        Mockito.when(orderService.findById(1L))
+                .thenReturn(order(1L, now, null));
+
+        orderQueueFeed.onEvent(new OrderEvent(OrderEvent.Type.CREATED, 1L));
+
+        assertEquals(2, deltaList.size());
+        assertEquals(1, orderQueueFeed.getSubscriberCount());
+    }
+
+    @Test
+    void orderEventPayloadTest() {
+        OrderEvent event = new OrderEvent(OrderEvent.Type.CREATED, 42L);
+
+        assertEquals("created:42", event.toPayload());
+        assertEquals(event, OrderEvent.parse("created:42"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> OrderEvent.parse("created"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> OrderEvent.parse("moved:42"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> OrderEvent.parse("created:-1"));
+        Assertions.assertThrows(NullParamException.class, () -> OrderEvent.parse(null));
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.service.implementation;
+
+import org.example.entity.Barista;
+import org.example.entity.Order;
+import org.example.entity.exception.NullParamException;
+import org.example.service.exception.NoValidLimitException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderQueueIndexTest {
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Barista barista = new Barista(0L, "Name", new ArrayList<>(), 0.0);
+
+    private Order order(long id, LocalDateTime created, LocalDateTime completed) {
+        return new Order(id, barista, new ArrayList<>(), created, completed, 1.0);
+    }
+
+    @Test
+    void reloadTest() {
+        OrderQueueIndex queueIndex = new OrderQueueIndex();
+        Order first = order(2L, now.minusMinutes(1), null);
+        Order second = order(1L, now, null);
+
+        assertFalse(queueIndex.isLoaded());
+        assertEquals(List.of(second, first), queueIndex.reload(() -> List.of(second, first)));
+
+        assertTrue(queueIndex.isLoaded());
+        assertEquals(List.of(first, second), queueIndex.getQueue());
+        assertEquals(List.of(first), queueIndex.getQueue(1));
+        assertEquals(2, queueIndex.size());
+    }
+
+    @Test
+    void reloadLocksTest() throws InterruptedException {
+        OrderQueueIndex queueIndex = new OrderQueueIndex();
+        Order written = order(1L, now, null);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread reloader = Thread.ofPlatform().start(() -> queueIndex.reload(() -> {
+            loading.countDown();
+            awaitQuietly(release);
+            return List.of();
+        }));
+        loading.await();
+        Thread writer = Thread.ofPlatform().start(() -> queueIndex.refresh(List.of(1L), idList -> List.of(written)));
+        release.countDown();
+        reloader.join();
+        writer.join();
+
+        assertTrue(queueIndex.isLoaded());
+        assertEquals(List.of(written), queueIndex.getQueue());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void refreshTest() {
+        OrderQueueIndex queueIndex = new OrderQueueIndex();
+        Order first = order(1L, now.minusMinutes(2), null);
+        Order second = order(2L, now.minusMinutes(1), null);
+        Order third = order(3L, now, null);
+
+        queueIndex.refresh(List.of(1L), idList -> fail("Not loaded index is refreshed"));
+        assertEquals(List.of(), queueIndex.getQueue());
+
+        queueIndex.reload(() -> List.of(first, second));
+        Order completed = order(1L, first.getCreated(), now);
+        queueIndex.refresh(List.of(1L, 2L, 3L), idList -> List.of(completed, third));
+
+        assertEquals(List.of(third), queueIndex.getQueue());
+        assertEquals(List.of(3L), queueIndex.getIdList(order -> order.getId() == 3L));
+    }
+
+    @Test
+    void putTest() {
+        OrderQueueIndex queueIndex = new OrderQueueIndex();
+        Order first = order(1L, now.minusMinutes(2), null);
+        Order second = order(2L, now.minusMinutes(1), null);
+        queueIndex.reload(() -> List.of(first, second));
+
+        Order moved = order(1L, now, null);
+        queueIndex.put(moved);
+        assertEquals(List.of(second, moved), queueIndex.getQueue());
+
+        queueIndex.put(order(2L, second.getCreated(), now));
+        assertEquals(List.of(moved), queueIndex.getQueue());
+
+        queueIndex.remove(1L);
+        queueIndex.remove(3L);
+        assertEquals(List.of(), queueIndex.getQueue());
+    }
+
+    @Test
+    void wrongParamsTest() {
+        OrderQueueIndex queueIndex = new OrderQueueIndex();
+
+        Assertions.assertThrows(NullParamException.class, () -> queueIndex.put(null));
+        Assertions.assertThrows(NullParamException.class, () -> queueIndex.reload(null));
+        Assertions.assertThrows(NullParamException.class, () -> queueIndex.reload(() -> null));
+        Assertions.assertThrows(NullParamException.class, () -> queueIndex.refresh(null, idList -> List.of()));
+        Assertions.assertThrows(NullParamException.class, () -> queueIndex.refresh(List.of(), null));
+        Assertions.assertThrows(NullParamException.class, () -> queueIndex.getIdList(null));
+        Assertions.assertThrows(NoValidLimitException.class, () -> queueIndex.getQueue(0));
+    }
+}
@@ -4,6 +4,10 @@ import org.example.entity.Barista;
 import org.example.entity.Coffee;
 import org.example.entity.Order;
 import org.example.entity.exception.*;
+import org.example.service.dto.BatchResult;
+import org.example.service.dto.EntityEvent;
+import org.example.service.dto.OrderCompletion;
+import org.example.service.dto.OrderEvent;
 import org.example.service.exception.NoValidLimitException;
 import org.example.service.exception.NoValidPageException;
 import org.example.service.exception.OrderAlreadyCompletedException;
@@ -26,7 +30,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -68,6 +74,7 @@ class OrderServiceTest {
         Assertions.assertThrows(NullParamException.class, () -> new OrderService(null, coffeeRepository, orderRepository));
         Assertions.assertThrows(NullParamException.class, () -> new OrderService(baristaRepository, null, orderRepository));
         Assertions.assertThrows(NullParamException.class, () -> new OrderService(baristaRepository, coffeeRepository, null));
+        Assertions.assertThrows(NullParamException.class, () -> new OrderService(baristaRepository, coffeeRepository, orderRepository, null));
     }
 
     @Test
@@ -93,6 +100,63 @@ class OrderServiceTest {
         assertEquals(specifiedOrderList, resultOrderList);
     }
 
+    @Test
+    void findAllByChunksTest() {
+        Order firstOrder = new Order(0L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now(), null, 0.0);
+        Order secondOrder = new Order(1L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now(), null, 0.0);
+        Coffee coffee = new Coffee(0L, "first", 1.0, List.of());
+
+        Mockito.doAnswer(invocation -> {
+            Consumer<List<Order>> consumer = invocation.getArgument(1);
+            consumer.accept(List.of(firstOrder));
+            consumer.accept(List.of(secondOrder));
+            return null;
+        }).when(orderRepository).findAll(Mockito.eq(1), Mockito.any());
+        Mockito.when(coffeeRepository.findByOrderIds(List.of(0L)))
+                .thenReturn(Map.of(0L, List.of(coffee)));
+        Mockito.when(coffeeRepository.findByOrderIds(List.of(1L)))
+                .thenReturn(Map.of());
+
+        List<List<Order>> resultChunkList = new ArrayList<>();
+        orderService.findAll(1, resultChunkList::add);
+
+        assertEquals(List.of(List.of(firstOrder), List.of(secondOrder)), resultChunkList);
+        assertEquals(List.of(coffee), firstOrder.getCoffeeList());
+        assertEquals(List.of(), secondOrder.getCoffeeList());
+        Mockito.verify(orderRepository, Mockito.never()).findAll();
+    }
+
+    @Test
+    void findAllByChunksWrongTest() {
+        Assertions.assertThrows(NoValidLimitException.class, () -> orderService.findAll(0, list -> {
+        }));
+        Assertions.assertThrows(NullParamException.class, () -> orderService.findAll(1, null));
+    }
+
+    @Test
+    void findAllLoadCoffeeByOneQueryTest() {
+        Coffee firstCoffee = new Coffee(0L, "first", 1.0, List.of());
+        Coffee secondCoffee = new Coffee(1L, "second", 2.0, List.of());
+        Order firstOrder = new Order(0L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now(), null, 0.0);
+        Order secondOrder = new Order(1L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now(), null, 0.0);
+        Order thirdOrder = new Order(2L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now(), null, 0.0);
+
+        Mockito.when(orderRepository.findAll())
+                .thenReturn(List.of(firstOrder, secondOrder, thirdOrder));
+        Mockito.when(coffeeRepository.findByOrderIds(List.of(0L, 1L, 2L)))
+                .thenReturn(Map.of(
+                        0L, List.of(firstCoffee, secondCoffee),
+                        1L, List.of(secondCoffee)));
+
+        List<Order> resultOrderList = orderService.findAll();
+
+        assertEquals(List.of(firstCoffee, secondCoffee), resultOrderList.get(0).getCoffeeList());
+        assertEquals(List.of(secondCoffee), resultOrderList.get(1).getCoffeeList());
+        assertEquals(List.of(), resultOrderList.get(2).getCoffeeList());
+        Mockito.verify(coffeeRepository, Mockito.times(1)).findByOrderIds(any());
+        Mockito.verify(coffeeRepository, Mockito.never()).findByOrderId(any());
+    }
+
     @Test
     void findByIdTest() {
         Long specifiedId = 99L;
@@ -147,13 +211,14 @@ class OrderServiceTest {
                 .sorted(Comparator.comparing(Order::getCreated))
                 .toList();
 
-        Mockito.when(orderRepository.findAll())
-                .thenReturn(specifiedOrderList);
+        Mockito.when(orderRepository.findQueue())
+                .thenReturn(expectedOrderList);
 
         List<Order> resultOrderList = orderService.getOrderQueue();
 
 
         assertEquals(expectedOrderList, resultOrderList);
+        Mockito.verify(orderRepository, Mockito.never()).findAll();
     }
 
     @Test
@@ -182,13 +247,36 @@ class OrderServiceTest {
                 .sorted(Comparator.comparing(Order::getCreated))
                 .toList();
 
-        Mockito.when(orderRepository.findAll())
-                .thenReturn(specifiedOrderList);
+        Mockito.when(orderRepository.findQueue())
+                .thenReturn(expectedOrderList);
 
         List<Order> resultOrderList = orderService.getOrderQueue();
 
 
         assertEquals(expectedOrderList, resultOrderList);
+        Mockito.verify(orderRepository, Mockito.never()).findAll();
+    }
+
+    @Test
+    void getOrderQueueLimitedTest() {
+        List<Order> specifiedOrderList = List.of(
+                new Order(0L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now().minusMinutes(2), null, 0.0),
+                new Order(1L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now().minusMinutes(1), null, 0.0)
+        );
+
+        Mockito.when(orderRepository.findQueue(2))
+                .thenReturn(specifiedOrderList);
+
+        List<Order> resultOrderList = orderService.getOrderQueue(2);
+
+        assertEquals(specifiedOrderList, resultOrderList);
+        Mockito.verify(orderRepository, Mockito.never()).findAll();
+    }
+
+    @Test
+    void getOrderQueueLimitedWrongTest() {
+        Assertions.assertThrows(NoValidLimitException.class, () -> orderService.getOrderQueue(0));
+        Assertions.assertThrows(NoValidLimitException.class, () -> orderService.getOrderQueue(-1));
     }
 
     //create
@@ -240,6 +328,58 @@ class OrderServiceTest {
         Assertions.assertThrows(NullParamException.class, () -> orderService.create(orderDTONull));
     }
 
+    @Test
+    void createAllTest() {
+        Barista barista = new Barista(0L, "name", List.of(), 0.1);
+        Coffee coffee = new Coffee(0L, "name", 2.0, List.of());
+        List<OrderCreateDTO> orderDTOList = List.of(
+                new OrderCreateDTO(0L, List.of(0L, 0L)),
+                new OrderCreateDTO(99L, List.of(0L)),
+                new OrderCreateDTO(0L, List.of(99L)),
+                new OrderCreateDTO(null, List.of()),
+                new OrderCreateDTO(0L, List.of()));
+
+        Mockito.when(baristaRepository.findExisting(List.of(0L, 99L)))
+                .thenReturn(Map.of(0L, barista));
+        Mockito.when(coffeeRepository.findExisting(List.of(0L, 99L)))
+                .thenReturn(Map.of(0L, coffee));
+        Mockito.when(orderRepository.createAll(any()))
+                .thenAnswer(invocation -> {
+                    List<Order> orderList = invocation.getArgument(0);
+                    for (int i = 0; i < orderList.size(); i++) {
+                        orderList.get(i).setId((long) i);
+                    }
+                    return orderList;
+                });
+
+        List<BatchResult<Order>> resultList = orderService.createAll(orderDTOList);
+
+        assertEquals(5, resultList.size());
+        assertTrue(resultList.get(0).isSuccess());
+        assertEquals(0L, resultList.get(0).value().getId());
+        assertEquals(4.0 * 1.1, resultList.get(0).value().getPrice(), 1e-9);
+        assertNotNull(resultList.get(0).value().getCreated());
+        assertInstanceOf(BaristaNotFoundException.class, resultList.get(1).error());
+        assertInstanceOf(CoffeeNotFoundException.class, resultList.get(2).error());
+        assertInstanceOf(NullParamException.class, resultList.get(3).error());
+        assertTrue(resultList.get(4).isSuccess());
+        assertEquals(1L, resultList.get(4).value().getId());
+        Mockito.verify(orderRepository, Mockito.times(1)).createAll(argThat(orderList -> orderList.size() == 2));
+        Mockito.verify(baristaRepository, Mockito.never()).findById(any(Long.class));
+        Mockito.verify(coffeeRepository, Mockito.never()).findById(any(Long.class));
+    }
+
+    @Test
+    void createAllWrongTest() {
+        List<OrderCreateDTO> tooBigList = new ArrayList<>();
+        for (int i = 0; i <= OrderService.MAX_BATCH_SIZE; i++) {
+            tooBigList.add(new OrderCreateDTO(0L, List.of()));
+        }
+
+        Assertions.assertThrows(NullParamException.class, () -> orderService.createAll(null));
+        Assertions.assertThrows(NoValidLimitException.class, () -> orderService.createAll(tooBigList));
+    }
+
     //update
     @Test
     void updateTest() {
@@ -323,34 +463,35 @@ class OrderServiceTest {
     //complete
     @Test
     void completeTest() {
-        Order specifiedOrder = new Order(0L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now().minusMinutes(1), null, 299.0);
+        LocalDateTime completed = LocalDateTime.now();
+        Order specifiedOrder = new Order(0L, Mockito.mock(Barista.class), new ArrayList<>(), completed.minusMinutes(1), completed, 299.0);
+        List<Coffee> coffeeList = List.of(new Coffee(1L, "Latte", 199.0, List.of()));
 
-        Mockito.when(orderRepository.findById(0L))
-                .thenReturn(Optional.of(specifiedOrder));
-        Mockito.when(orderRepository.update(specifiedOrder))
-                .thenReturn(specifiedOrder);
+        Mockito.when(orderRepository.complete(Mockito.eq(0L), any()))
+                .thenReturn(new OrderCompletion(specifiedOrder, List.of(1L)));
+        Mockito.when(coffeeRepository.findById(List.of(1L)))
+                .thenReturn(coffeeList);
 
         Order resultOrder = orderService.completeOrder(0L);
 
         assertNotNull(resultOrder.getCompleted());
-        assertTrue(specifiedOrder.getCreated().isBefore(resultOrder.getCompleted()));
+        assertTrue(resultOrder.getCreated().isBefore(resultOrder.getCompleted()));
+        assertEquals(coffeeList, resultOrder.getCoffeeList());
+        Mockito.verify(orderRepository, Mockito.never()).findById(0L);
+        Mockito.verify(orderRepository, Mockito.never()).update(any());
+        Mockito.verify(coffeeRepository, Mockito.never()).findByOrderId(any());
     }
 
     @Test
     void completeWrongTest() {
-        Order specifiedOrder = new Order(0L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now().minusMinutes(1), null, 299.0);
+        Order specifiedOrder = new Order(0L, Mockito.mock(Barista.class), new ArrayList<>(), LocalDateTime.now().minusMinutes(1), LocalDateTime.now(), 299.0);
 
-        Mockito.when(orderRepository.findById(1L))
-                .thenReturn(Optional.empty());
+        Mockito.doThrow(new OrderAlreadyCompletedException(specifiedOrder))
+                .when(orderRepository).complete(Mockito.eq(0L), any());
+        Mockito.doThrow(new OrderNotFoundException(1L))
+                .when(orderRepository).complete(Mockito.eq(1L), any());
 
-        Mockito.when(orderRepository.findById(0L))
-                .thenReturn(Optional.of(specifiedOrder));
-        Mockito.when(orderRepository.update(specifiedOrder))
-                .thenReturn(specifiedOrder);
-
-        Assertions.assertDoesNotThrow(() -> orderService.completeOrder(0L));
         Assertions.assertThrows(OrderAlreadyCompletedException.class, () -> orderService.completeOrder(0L));
-
         Assertions.assertThrows(OrderNotFoundException.class, () -> orderService.completeOrder(1L));
 
         Assertions.assertThrows(NullParamException.class, () -> orderService.completeOrder(null));
@@ -358,6 +499,132 @@ class OrderServiceTest {
     }
 
 
+    @Test
+    void queueIndexTest() {
+        OrderQueueIndex queueIndex = new OrderQueueIndex();
+        OrderService indexedService = new OrderService(baristaRepository, coffeeRepository, orderRepository, queueIndex);
+        Barista barista = new Barista(0L, "Name", new ArrayList<>(), 0.0);
+        Order queuedOrder = new Order(0L, barista, new ArrayList<>(), LocalDateTime.now().minusMinutes(2), null, 1.0);
+        Order createdOrder = new Order(1L, barista, new ArrayList<>(), LocalDateTime.now(), null, 1.0);
+
+        Mockito.when(orderRepository.findQueue())
+                .thenReturn(new ArrayList<>(List.of(queuedOrder)));
+        Mockito.when(baristaRepository.findById(0L))
+                .thenReturn(Optional.of(barista));
+        Mockito.when(coffeeRepository.findById(List.<Long>of()))
+                .thenReturn(new ArrayList<>());
+        Mockito.when(orderRepository.create(any()))
+                .thenReturn(createdOrder);
+        Order completedOrder = new Order(0L, barista, new ArrayList<>(), queuedOrder.getCreated(), LocalDateTime.now(), 1.0);
+        Mockito.when(orderRepository.complete(Mockito.eq(0L), any()))
+                .thenReturn(new OrderCompletion(completedOrder, List.of()));
+        Mockito.when(orderRepository.findById(List.of(1L)))
+                .thenReturn(new ArrayList<>(List.of(createdOrder)), new ArrayList<>());
+        Mockito.when(orderRepository.findById(List.of(0L)))
+                .thenReturn(new ArrayList<>(List.of(completedOrder)));
+
+        assertTrue(indexedService.reconcileQueue());
+        indexedService.create(new OrderCreateDTO(0L, List.of()));
+        assertEquals(List.of(queuedOrder, createdOrder), indexedService.getOrderQueue());
+
+        indexedService.completeOrder(0L);
+        indexedService.delete(1L);
+        assertEquals(List.of(), indexedService.getOrderQueue(1));
+
+        Mockito.verify(orderRepository, Mockito.times(1)).findQueue();
+        Mockito.verify(orderRepository, Mockito.never()).findQueue(Mockito.anyInt());
+    }
+
+    @Test
+    void applyOrderEventTest() {
+        OrderQueueIndex queueIndex = new OrderQueueIndex();
+        OrderService indexedService = new OrderService(baristaRepository, coffeeRepository, orderRepository, queueIndex);
+        Barista barista = new Barista(0L, "Name", new ArrayList<>(), 0.0);
+        Order queuedOrder = new Order(0L, barista, new ArrayList<>(), LocalDateTime.now().minusMinutes(2), null, 1.0);
+        Order otherOrder = new Order(1L, barista, new ArrayList<>(), LocalDateTime.now(), null, 1.0);
+
+        Mockito.when(orderRepository.findQueue())
+                .thenReturn(new ArrayList<>(List.of(queuedOrder)), new ArrayList<>(List.of(otherOrder)));
+        Mockito.when(orderRepository.findById(List.of(1L)))
+                .thenReturn(new ArrayList<>(List.of(otherOrder)));
+        Mockito.when(orderRepository.findById(List.of(0L)))
+                .thenReturn(new ArrayList<>());
+
+        assertTrue(indexedService.reconcileQueue());
+        indexedService.applyOrderEvent(new OrderEvent(OrderEvent.Type.CREATED, 1L));
+        assertEquals(List.of(queuedOrder, otherOrder), indexedService.getOrderQueue());
+
+        indexedService.applyOrderEvent(new OrderEvent(OrderEvent.Type.DELETED, 0L));
+        assertEquals(List.of(otherOrder), indexedService.getOrderQueue());
+
+        indexedService.applyOrderEvent(OrderEvent.reloaded());
+        Mockito.verify(orderRepository, Mockito.times(2)).findQueue();
+        Assertions.assertThrows(NullParamException.class, () -> indexedService.applyOrderEvent(null));
+    }
+
+    @Test
+    void applyEntityEventTest() {
+        OrderQueueIndex queueIndex = new OrderQueueIndex();
+        OrderService indexedService = new OrderService(baristaRepository, coffeeRepository, orderRepository, queueIndex);
+        Barista barista = new Barista(0L, "Name", new ArrayList<>(), 0.0);
+        Barista renamedBarista = new Barista(0L, "Other", new ArrayList<>(), 0.0);
+        Coffee coffee = new Coffee(5L, "Coffee", 1.0, new ArrayList<>());
+        Order baristaOrder = new Order(0L, barista, new ArrayList<>(), LocalDateTime.now().minusMinutes(2), null, 1.0);
+        Order coffeeOrder = new Order(1L, new Barista(1L, "Name", new ArrayList<>(), 0.0), new ArrayList<>(),
+                LocalDateTime.now(), null, 1.0);
+        Order renamedOrder = new Order(0L, renamedBarista, new ArrayList<>(), baristaOrder.getCreated(), null, 1.0);
+
+        Mockito.when(orderRepository.findQueue())
+                .thenReturn(new ArrayList<>(List.of(baristaOrder, coffeeOrder)));
+        Mockito.when(coffeeRepository.findByOrderIds(List.of(0L, 1L)))
+                .thenReturn(Map.of(1L, new ArrayList<>(List.of(coffee))));
+        Mockito.when(orderRepository.findById(List.of(0L)))
+                .thenReturn(new ArrayList<>(List.of(renamedOrder)));
+
+        assertTrue(indexedService.reconcileQueue());
+        indexedService.applyEntityEvent(new EntityEvent(EntityEvent.Type.BARISTA, 0L));
+        assertEquals(List.of(renamedOrder, coffeeOrder), indexedService.getOrderQueue());
+
+        indexedService.applyEntityEvent(new EntityEvent(EntityEvent.Type.COFFEE, 5L));
+        Mockito.verify(orderRepository).findById(List.of(1L));
+        assertEquals(List.of(renamedOrder), indexedService.getOrderQueue());
+        Assertions.assertThrows(NullParamException.class, () -> indexedService.applyEntityEvent(null));
+    }
+
+    @Test
+    void loadOrderQueueTest() {
+        OrderQueueIndex queueIndex = new OrderQueueIndex();
+        OrderService indexedService = new OrderService(baristaRepository, coffeeRepository, orderRepository, queueIndex);
+        Barista barista = new Barista(0L, "Name", new ArrayList<>(), 0.0);
+        Order indexedOrder = new Order(0L, barista, new ArrayList<>(), LocalDateTime.now().minusMinutes(2), null, 1.0);
+        Order missedOrder = new Order(1L, barista, new ArrayList<>(), LocalDateTime.now(), null, 1.0);
+
+        Mockito.when(orderRepository.findQueue())
+                .thenReturn(new ArrayList<>(List.of(indexedOrder)), new ArrayList<>(List.of(indexedOrder, missedOrder)));
+        Mockito.when(coffeeRepository.findById(List.<Long>of()))
+                .thenReturn(new ArrayList<>());
+
+        assertTrue(indexedService.reconcileQueue());
+        assertEquals(List.of(indexedOrder), indexedService.getOrderQueue());
+
+        assertEquals(List.of(indexedOrder, missedOrder), indexedService.loadOrderQueue());
+        assertEquals(List.of(indexedOrder, missedOrder), indexedService.getOrderQueue());
+        Mockito.verify(orderRepository, Mockito.times(2)).findQueue();
+    }
+
+    @Test
+    void queueIndexNotLoadedTest() {
+        OrderService indexedService = new OrderService(baristaRepository, coffeeRepository, orderRepository, new OrderQueueIndex());
+        List<Order> specifiedOrderList = new ArrayList<>();
+
+        Mockito.when(orderRepository.findQueue())
+                .thenReturn(specifiedOrderList);
+
+        assertEquals(specifiedOrderList, indexedService.getOrderQueue());
+        assertFalse(orderService.reconcileQueue());
+        Mockito.verify(orderRepository, Mockito.times(1)).findQueue();
+    }
+
     @Test
     void findAllByPageTest() {
         List<Order> specifiedOrderListPage0 = new ArrayList<>(List.of(
@@ -391,4 +658,30 @@ class OrderServiceTest {
         Assertions.assertThrows(NoValidLimitException.class, () -> orderService.findAllByPage(0, 0));
         Assertions.assertThrows(NoValidLimitException.class, () -> orderService.findAllByPage(0, -1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllAfterTest() {
+        List<Order> specifiedOrderList = new ArrayList<>(List.of(
+                Mockito.mock(Order.class),
+                Mockito.mock(Order.class)
+        ));
+
+        Mockito.when(orderRepository.findAllAfter(null, 2))
+                .thenReturn(specifiedOrderList);
+        Mockito.when(orderRepository.findAllAfter(5L, 2))
+                .thenReturn(new ArrayList<>());
+
+        List<Order> resultOrderList = orderService.findAllAfter(null, 2);
+        assertEquals(specifiedOrderList, resultOrderList);
+
+        resultOrderList = orderService.findAllAfter(5L, 2);
+        assertEquals(List.of(), resultOrderList);
+    }
+
+    @Test
+    void findAllAfterWrongTest() {
+        Assertions.assertThrows(NoValidIdException.class, () -> orderService.findAllAfter(-1L, 1));
+        Assertions.assertThrows(NoValidLimitException.class, () -> orderService.findAllAfter(0L, 0));
+        Assertions.assertThrows(NoValidLimitException.class, () -> orderService.findAllAfter(null, -1));
+    }
+}
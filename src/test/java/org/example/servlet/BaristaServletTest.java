@@ -15,6 +15,7 @@ import org.example.service.gateway.BaristaRepository;
 import org.example.service.gateway.OrderRepository;
 import org.example.service.implementation.BaristaService;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -74,7 +76,8 @@ class BaristaServletTest {
     void testDoGetFindAll() throws IOException {
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
-        PrintWriter writer = mock(PrintWriter.class);
+        StringWriter body = new StringWriter();
+        PrintWriter writer = new PrintWriter(body);
 
         when(request.getPathInfo())
                 .thenReturn("/");
@@ -83,7 +86,7 @@ class BaristaServletTest {
 
         baristaServlet.doGet(request, response);
 
-        Mockito.verify(writer).write(anyString());
+        assertJsonArray(body.toString());
         Mockito.verify(response).setStatus(HttpServletResponse.SC_OK);
 
     }
@@ -92,7 +95,8 @@ class BaristaServletTest {
     void testDoGetFindAllByPage() throws IOException {
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
-        PrintWriter writer = mock(PrintWriter.class);
+        StringWriter body = new StringWriter();
+        PrintWriter writer = new PrintWriter(body);
 
         when(request.getPathInfo())
                 .thenReturn("/");
@@ -103,7 +107,7 @@ class BaristaServletTest {
 
         baristaServlet.doGet(request, response);
 
-        Mockito.verify(writer).write(anyString());
+        assertJsonArray(body.toString());
         Mockito.verify(response).setStatus(HttpServletResponse.SC_OK);
     }
 
@@ -336,5 +340,7 @@ class BaristaServletTest {
         Mockito.verify(response, times(1)).sendError(eq(HttpServletResponse.SC_NOT_FOUND), any());
     }
 
-
-}
\ No newline at end of file
+    private static void assertJsonArray(String json) {
+        Assertions.assertTrue(json.startsWith("[") && json.endsWith("]"), json);
+    }
+}
@@ -15,6 +15,7 @@ import org.example.service.gateway.CoffeeRepository;
 import org.example.service.gateway.OrderRepository;
 import org.example.service.implementation.CoffeeService;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -74,7 +76,8 @@ class CoffeeServletTest {
     void testDoGetFindAll() throws IOException {
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
-        PrintWriter writer = mock(PrintWriter.class);
+        StringWriter body = new StringWriter();
+        PrintWriter writer = new PrintWriter(body);
 
         when(request.getPathInfo())
                 .thenReturn("/");
@@ -83,7 +86,7 @@ class CoffeeServletTest {
 
         coffeeServlet.doGet(request, response);
 
-        Mockito.verify(writer).write(anyString());
+        assertJsonArray(body.toString());
         Mockito.verify(response).setStatus(HttpServletResponse.SC_OK);
 
     }
@@ -93,7 +96,8 @@ class CoffeeServletTest {
     void testDoGetFindAllByPage() throws IOException {
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
-        PrintWriter writer = mock(PrintWriter.class);
+        StringWriter body = new StringWriter();
+        PrintWriter writer = new PrintWriter(body);
 
         when(request.getPathInfo())
                 .thenReturn("/");
@@ -104,10 +108,46 @@ class CoffeeServletTest {
 
         coffeeServlet.doGet(request, response);
 
-        Mockito.verify(writer).write(anyString());
+        assertJsonArray(body.toString());
         Mockito.verify(response).setStatus(HttpServletResponse.SC_OK);
     }
 
+    @Test
+    void testDoGetFindAllAfter() throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        StringWriter body = new StringWriter();
+        PrintWriter writer = new PrintWriter(body);
+
+        when(request.getPathInfo())
+                .thenReturn("/");
+        when(response.getWriter())
+                .thenReturn(writer);
+        when(request.getParameterMap())
+                .thenReturn(Map.of("limit", new String[]{"3"}));
+
+        coffeeServlet.doGet(request, response);
+
+        assertJsonArray(body.toString());
+        Mockito.verify(response).setStatus(HttpServletResponse.SC_OK);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not-cursor", "bmFtZQ"})
+    void testDoGetFindAllAfterBadReq(String cursor) throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        when(request.getPathInfo())
+                .thenReturn("/");
+        when(request.getParameterMap())
+                .thenReturn(Map.of("after", new String[]{cursor}, "limit", new String[]{"3"}));
+
+        coffeeServlet.doGet(request, response);
+
+        Mockito.verify(response).sendError(eq(HttpServletResponse.SC_BAD_REQUEST), anyString());
+    }
+
     @ParameterizedTest
     @CsvSource(delimiter = ':', value = {"0:0", "-1:1", "0:-1", "name:1", "1:name"})
     void testDoGetFindAllByPageBadReq(String page, String limit) throws IOException {
@@ -384,4 +424,7 @@ class CoffeeServletTest {
         Mockito.verify(response).sendError(eq(HttpServletResponse.SC_NOT_FOUND), any());
     }
 
-}
\ No newline at end of file
+    private static void assertJsonArray(String json) {
+        Assertions.assertTrue(json.startsWith("[") && json.endsWith("]"), json);
+    }
+}
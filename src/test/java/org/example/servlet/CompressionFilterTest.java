@@ -0,0 +1,249 @@
+package org.example.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.service.exception.NoValidLimitException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CompressionFilterTest {
+    private static final String BODY = "[" + "{\"id\":1,\"name\":\"Name\"},".repeat(100) + "{}]";
+
+    private final CompressionFilter filter = new CompressionFilter(1024);
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+    private final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(request.getMethod()).thenReturn("GET");
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_OK);
+        when(response.getContentType()).thenReturn("application/json;charset=UTF-8");
+        when(response.getCharacterEncoding()).thenReturn("UTF-8");
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                sent.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        });
+    }
+
+    private static FilterChain writing(String body) {
+        return (req, resp) -> {
+            resp.getWriter().write(body);
+            resp.getWriter().flush();
+        };
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertThrows(NoValidLimitException.class, () -> new CompressionFilter(-1));
+    }
+
+    @Test
+    void negotiateTest() {
+        Assertions.assertNull(CompressionFilter.negotiate(null));
+        Assertions.assertNull(CompressionFilter.negotiate("identity"));
+        Assertions.assertNull(CompressionFilter.negotiate("gzip;q=0, deflate;q=0"));
+        Assertions.assertNull(CompressionFilter.negotiate("gzip;q=abc"));
+        Assertions.assertEquals(CompressionFilter.Coding.GZIP, CompressionFilter.negotiate("gzip, deflate, br"));
+        Assertions.assertEquals(CompressionFilter.Coding.GZIP, CompressionFilter.negotiate("deflate, gzip"));
+        Assertions.assertEquals(CompressionFilter.Coding.GZIP, CompressionFilter.negotiate("*"));
+        Assertions.assertEquals(CompressionFilter.Coding.GZIP, CompressionFilter.negotiate("x-gzip"));
+        Assertions.assertEquals(CompressionFilter.Coding.DEFLATE, CompressionFilter.negotiate("gzip;q=0.5, deflate"));
+        Assertions.assertEquals(CompressionFilter.Coding.DEFLATE, CompressionFilter.negotiate("*;q=0.1, deflate; Q=0.8"));
+    }
+
+    @Test
+    void isCompressibleTest() {
+        Assertions.assertTrue(CompressionFilter.isCompressible("application/json;charset=UTF-8"));
+        Assertions.assertTrue(CompressionFilter.isCompressible("text/csv"));
+        Assertions.assertTrue(CompressionFilter.isCompressible("application/problem+json"));
+        Assertions.assertFalse(CompressionFilter.isCompressible("text/event-stream"));
+        Assertions.assertFalse(CompressionFilter.isCompressible("application/octet-stream"));
+        Assertions.assertFalse(CompressionFilter.isCompressible(null));
+    }
+
+    @Test
+    void gzipTest() throws Exception {
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip, deflate");
+
+        filter.doFilter(request, response, writing(BODY));
+
+        verify(response).addHeader("Vary", "Accept-Encoding");
+        verify(response).setHeader("Content-Encoding", "gzip");
+        verify(response, never()).setContentLengthLong(anyLong());
+        Assertions.assertEquals(BODY, gunzip(sent.toByteArray()));
+        Assertions.assertTrue(sent.size() < BODY.length() / 4);
+
+        StringWriter metrics = new StringWriter();
+        filter.export(metrics);
+        Assertions.assertTrue(metrics.toString().contains("http_compressed_responses_total 1"));
+        Assertions.assertTrue(metrics.toString().contains("http_compression_input_bytes_total " + BODY.length()));
+        Assertions.assertTrue(metrics.toString().contains("http_compression_output_bytes_total " + sent.size()));
+    }
+
+    @Test
+    void deflateTest() throws Exception {
+        when(request.getHeader("Accept-Encoding")).thenReturn("deflate");
+
+        filter.doFilter(request, response, writing(BODY));
+
+        verify(response).setHeader("Content-Encoding", "deflate");
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(sent.toByteArray()))) {
+            Assertions.assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void smallBodyTest() throws Exception {
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+
+        filter.doFilter(request, response, writing("[]"));
+
+        verify(response, never()).setHeader(eq("Content-Encoding"), any());
+        verify(response).setContentLengthLong(2);
+        Assertions.assertEquals("[]", sent.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void smallBodyFlushedTest() throws Exception {
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+
+        filter.doFilter(request, response, (req, resp) -> {
+            resp.getWriter().write("[]");
+            resp.flushBuffer();
+        });
+
+        verify(response, never()).setHeader(eq("Content-Encoding"), any());
+        verify(response, never()).flushBuffer();
+        verify(response).setContentLengthLong(2);
+        Assertions.assertEquals("[]", sent.toString(StandardCharsets.UTF_8));
+
+        sent.reset();
+        filter.doFilter(request, response, (req, resp) -> {
+            resp.getWriter().write(BODY);
+            resp.flushBuffer();
+        });
+
+        verify(response).setHeader("Content-Encoding", "gzip");
+        verify(response).flushBuffer();
+        Assertions.assertEquals(BODY, gunzip(sent.toByteArray()));
+    }
+
+    @Test
+    void notCompressedTest() throws Exception {
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_CREATED);
+
+        filter.doFilter(request, response, writing(BODY));
+
+        verify(response, never()).setHeader(eq("Content-Encoding"), any());
+        Assertions.assertEquals(BODY, sent.toString(StandardCharsets.UTF_8));
+
+        sent.reset();
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_OK);
+        when(response.getContentType()).thenReturn("application/octet-stream");
+        filter.doFilter(request, response, writing(BODY));
+
+        verify(response, never()).setHeader(eq("Content-Encoding"), any());
+        Assertions.assertEquals(BODY, sent.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void notAcceptedTest() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verify(response).addHeader("Vary", "Accept-Encoding");
+
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        when(request.getMethod()).thenReturn("HEAD");
+        filter.doFilter(request, response, chain);
+
+        verify(chain, times(2)).doFilter(request, response);
+    }
+
+    @Test
+    void sendErrorTest() throws Exception {
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+
+        filter.doFilter(request, response, (req, resp) -> {
+            resp.getWriter().write("partial");
+            ((HttpServletResponse) resp).sendError(HttpServletResponse.SC_NOT_FOUND);
+        });
+
+        verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    void etagTest() throws Exception {
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        when(request.getHeader("If-None-Match")).thenReturn("\"a-1-gzip\", W/\"b-2-gzip\", \"c\"");
+        StringWriter ifNoneMatch = new StringWriter();
+
+        filter.doFilter(request, response, (req, resp) -> {
+            ifNoneMatch.write(((HttpServletRequest) req).getHeader("If-None-Match"));
+            ((HttpServletResponse) resp).setHeader("ETag", "\"a-2\"");
+        });
+
+        Assertions.assertEquals("\"a-1\", W/\"b-2\", \"c\"", ifNoneMatch.toString());
+        verify(response).setHeader("ETag", "\"a-2-gzip\"");
+    }
+
+    @Test
+    void asyncTest() throws Exception {
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        when(request.startAsync()).thenReturn(asyncContext);
+        when(request.isAsyncStarted()).thenReturn(true);
+        AsyncContext[] started = new AsyncContext[1];
+        HttpServletResponse[] wrapped = new HttpServletResponse[1];
+
+        filter.doFilter(request, response, (req, resp) -> {
+            started[0] = req.startAsync();
+            wrapped[0] = (HttpServletResponse) resp;
+        });
+        wrapped[0].getWriter().write(BODY);
+
+        Assertions.assertEquals(0, sent.size());
+        started[0].complete();
+
+        verify(asyncContext).complete();
+        Assertions.assertEquals(BODY, gunzip(sent.toByteArray()));
+    }
+}
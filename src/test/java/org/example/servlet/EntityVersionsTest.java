@@ -0,0 +1,99 @@
+package org.example.servlet;
+
+import org.example.entity.exception.NullParamException;
+import org.example.service.dto.EntityEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityVersionsTest {
+    private final EntityVersions versions = new EntityVersions();
+
+    @Test
+    void bumpTest() {
+        String coffeeTag = versions.etag(EnumSet.of(EntityVersions.Table.COFFEE));
+        String orderTag = versions.etag(EnumSet.of(EntityVersions.Table.ORDER));
+
+        versions.bump(EnumSet.of(EntityVersions.Table.ORDER));
+
+        assertEquals(1, versions.getVersion(EntityVersions.Table.ORDER));
+        assertEquals(0, versions.getVersion(EntityVersions.Table.COFFEE));
+        assertEquals(coffeeTag, versions.etag(EnumSet.of(EntityVersions.Table.COFFEE)));
+        assertNotEquals(orderTag, versions.etag(EnumSet.of(EntityVersions.Table.ORDER)));
+    }
+
+    @Test
+    void etagTest() {
+        String tag = versions.etag(EnumSet.allOf(EntityVersions.Table.class));
+
+        assertTrue(tag.startsWith("\"") && tag.endsWith("\""));
+        assertNotEquals(tag, versions.etag(EnumSet.of(EntityVersions.Table.BARISTA)));
+    }
+
+    @Test
+    void lastModifiedTest() {
+        long before = versions.lastModified(EnumSet.of(EntityVersions.Table.BARISTA));
+
+        versions.bump(EnumSet.of(EntityVersions.Table.BARISTA));
+
+        assertTrue(before > 0);
+        assertTrue(versions.lastModified(EnumSet.of(EntityVersions.Table.BARISTA)) >= before);
+    }
+
+    @Test
+    void lastModifiedSameSecondTest() {
+        long[] now = {10_300};
+        EntityVersions clocked = new EntityVersions(() -> now[0], () -> true);
+        long started = clocked.lastModified(EnumSet.of(EntityVersions.Table.COFFEE));
+
+        now[0] = 10_700;
+        clocked.bump(EnumSet.of(EntityVersions.Table.COFFEE));
+
+        assertEquals(11_000, started);
+        assertEquals(11_000, clocked.lastModified(EnumSet.of(EntityVersions.Table.COFFEE)));
+        assertFalse(clocked.isPast(11_000));
+
+        now[0] = 11_000;
+        assertTrue(clocked.isPast(11_000));
+        clocked.bump(EnumSet.of(EntityVersions.Table.COFFEE));
+        assertEquals(12_000, clocked.lastModified(EnumSet.of(EntityVersions.Table.COFFEE)));
+    }
+
+    @Test
+    void bumpAllTest() {
+        String tag = versions.etag(EnumSet.allOf(EntityVersions.Table.class));
+
+        versions.bumpAll();
+
+        for (EntityVersions.Table table : EntityVersions.Table.values()) {
+            assertEquals(1, versions.getVersion(table));
+        }
+        assertNotEquals(tag, versions.etag(EnumSet.allOf(EntityVersions.Table.class)));
+        assertTrue(versions.isSynced());
+        assertFalse(new EntityVersions(() -> false).isSynced());
+    }
+
+    @Test
+    void entityEventTest() {
+        EntityEvent event = new EntityEvent(EntityEvent.Type.COFFEE, 42);
+
+        assertEquals("coffee:42", event.toPayload());
+        assertEquals(event, EntityEvent.parse("coffee:42"));
+        assertEquals(EntityVersions.Table.COFFEE, EntityVersions.Table.valueOf(event.type().name()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EntityEvent.parse("coffee"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EntityEvent.parse("order:42"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EntityEvent.parse("barista:-1"));
+        Assertions.assertThrows(NullParamException.class, () -> EntityEvent.parse(null));
+    }
+
+    @Test
+    void wrongParamsTest() {
+        Assertions.assertThrows(NullParamException.class, () -> new EntityVersions(null));
+        Assertions.assertThrows(NullParamException.class, () -> versions.bump(null));
+        Assertions.assertThrows(NullParamException.class, () -> versions.etag(null));
+        Assertions.assertThrows(NullParamException.class, () -> versions.lastModified(null));
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.servlet;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.entity.exception.NullParamException;
+import org.example.repository.exception.DataBaseException;
+import org.example.service.IOrderCopyService;
+import org.example.service.gateway.CopyFormat;
+import org.example.service.gateway.CopyTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrderCopyServletTest {
+    private final IOrderCopyService orderCopyService = mock(IOrderCopyService.class);
+    private final OrderCopyServlet orderCopyServlet = new OrderCopyServlet(orderCopyService);
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertThrows(NullParamException.class, () -> new OrderCopyServlet(null));
+    }
+
+    @Test
+    void testDoGetExport() throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        ServletOutputStream outputStream = mock(ServletOutputStream.class);
+
+        when(request.getPathInfo())
+                .thenReturn("/orders");
+        when(request.getParameter("format"))
+                .thenReturn("binary");
+        when(response.getOutputStream())
+                .thenReturn(outputStream);
+
+        orderCopyServlet.doGet(request, response);
+
+        verify(orderCopyService).exportTable(CopyTable.ORDER, CopyFormat.BINARY, outputStream);
+        verify(response).setContentType(CopyFormat.BINARY.contentType());
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+    }
+
+    @Test
+    void testDoPostImport() throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        ServletInputStream inputStream = mock(ServletInputStream.class);
+        StringWriter body = new StringWriter();
+
+        when(request.getPathInfo())
+                .thenReturn("/order_coffee/");
+        when(request.getInputStream())
+                .thenReturn(inputStream);
+        when(response.getWriter())
+                .thenReturn(new PrintWriter(body));
+        when(orderCopyService.importTable(CopyTable.ORDER_COFFEE, CopyFormat.CSV, inputStream))
+                .thenReturn(42L);
+
+        orderCopyServlet.doPost(request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        Assertions.assertEquals("{\"table\":\"ORDER_COFFEE\",\"rows\":42}", body.toString());
+    }
+
+    @Test
+    void testDoPostImportFailed() throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        when(request.getPathInfo())
+                .thenReturn("/orders");
+        when(orderCopyService.importTable(eq(CopyTable.ORDER), eq(CopyFormat.CSV), any()))
+                .thenThrow(new DataBaseException("duplicate key"));
+
+        orderCopyServlet.doPost(request, response);
+
+        verify(response).sendError(eq(HttpServletResponse.SC_INTERNAL_SERVER_ERROR), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/", "/1", "/coffee", "/orders/1"})
+    void testBadPath(String path) throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        when(request.getPathInfo())
+                .thenReturn(path);
+
+        orderCopyServlet.doGet(request, response);
+        orderCopyServlet.doPost(request, response);
+
+        verify(response, times(2)).sendError(eq(HttpServletResponse.SC_BAD_REQUEST), any());
+        verifyNoInteractions(orderCopyService);
+    }
+
+    @Test
+    void testBadFormat() throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        when(request.getPathInfo())
+                .thenReturn("/orders");
+        when(request.getParameter("format"))
+                .thenReturn("xml");
+
+        orderCopyServlet.doGet(request, response);
+
+        verify(response).sendError(eq(HttpServletResponse.SC_BAD_REQUEST), any());
+        verifyNoInteractions(orderCopyService);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.entity.Barista;
+import org.example.entity.Order;
+import org.example.entity.exception.NullParamException;
+import org.example.service.IOrderQueueFeed;
+import org.example.service.dto.OrderQueueDelta;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrderQueueStreamServletTest {
+    private final IOrderQueueFeed feed = mock(IOrderQueueFeed.class);
+    private final OrderQueueStreamServlet servlet = new OrderQueueStreamServlet(feed);
+    private final Order order = new Order(1L, new Barista(1L, "Name", List.of(), 0.1), new ArrayList<>(),
+            LocalDateTime.of(2024, 1, 1, 10, 0), null, 2.0);
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertThrows(NullParamException.class, () -> new OrderQueueStreamServlet(null));
+    }
+
+    @Test
+    void encodeTest() {
+        OrderQueueDelta delta = OrderQueueDelta.of(OrderQueueDelta.Type.ADDED, order);
+
+        String event = servlet.encode(delta);
+
+        Assertions.assertTrue(event.startsWith("event: added\ndata: {\"id\":1,"));
+        Assertions.assertTrue(event.endsWith("}\n\n"));
+        Assertions.assertSame(event, servlet.encode(delta));
+        Assertions.assertTrue(servlet.encode(OrderQueueDelta.snapshot(List.of(order))).startsWith("event: snapshot\ndata: [{"));
+    }
+
+    @Test
+    void testDoGetStream() throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        IOrderQueueFeed.Subscription subscription = mock(IOrderQueueFeed.Subscription.class);
+        StringWriter body = new StringWriter();
+        AtomicReference<Consumer<OrderQueueDelta>> subscriber = new AtomicReference<>();
+
+        when(request.isAsyncSupported()).thenReturn(true);
+        when(request.startAsync()).thenReturn(asyncContext);
+        when(response.getWriter()).thenReturn(new PrintWriter(body));
+        when(feed.subscribe(any())).thenAnswer(invocation -> {
+            subscriber.set(invocation.getArgument(0));
+            subscriber.get().accept(OrderQueueDelta.snapshot(List.of()));
+            return subscription;
+        });
+
+        servlet.doGet(request, response);
+        subscriber.get().accept(OrderQueueDelta.of(OrderQueueDelta.Type.COMPLETED, order));
+
+        verify(response).setContentType("text/event-stream");
+        verify(asyncContext).setTimeout(0);
+        verify(asyncContext).addListener(any());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!body.toString().contains("event: completed") && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        servlet.destroy();
+
+        verify(asyncContext, timeout(1000)).complete();
+        verify(subscription).close();
+        String stream = body.toString();
+        Assertions.assertTrue(stream.startsWith("retry: 3000\n\nevent: snapshot\ndata: []\n\n"));
+        Assertions.assertTrue(stream.contains("event: completed\ndata: {\"id\":1,"));
+    }
+
+    @Test
+    void testDoGetNotAsync() throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        verify(feed, never()).subscribe(any());
+    }
+}
@@ -9,6 +9,7 @@ import org.example.db.ConnectionManager;
 import org.example.db.ConnectionManagerImp;
 import org.example.entity.Barista;
 import org.example.entity.Order;
+import org.example.repository.exception.DataBaseException;
 import org.example.repository.BaristaRepositoryImp;
 import org.example.repository.CoffeeRepositoryImp;
 import org.example.repository.OrderRepositoryImp;
@@ -18,6 +19,7 @@ import org.example.service.gateway.CoffeeRepository;
 import org.example.service.gateway.OrderRepository;
 import org.example.service.implementation.OrderService;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,9 +34,11 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.mock;
@@ -84,7 +88,8 @@ class OrderServletTest {
     void testDoGetFindAll() throws IOException {
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
-        PrintWriter writer = mock(PrintWriter.class);
+        StringWriter body = new StringWriter();
+        PrintWriter writer = new PrintWriter(body);
 
         when(request.getPathInfo())
                 .thenReturn("/");
@@ -93,15 +98,45 @@ class OrderServletTest {
 
         orderServlet.doGet(request, response);
 
-        Mockito.verify(writer).write(anyString());
+        assertJsonArray(body.toString());
         Mockito.verify(response).setStatus(HttpServletResponse.SC_OK);
     }
 
+    @Test
+    void testDoGetFindAllFailedAfterFlush() throws IOException {
+        IOrderService orderService = mock(IOrderService.class);
+        OrderServlet failingServlet = new OrderServlet(orderService);
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        StringWriter body = new StringWriter();
+        PrintWriter writer = new PrintWriter(body);
+        Order order = new Order(1L, new Barista(1L, "Name", List.of(), 0.1), List.of(), LocalDateTime.now(), null, 0.0);
+
+        when(request.getPathInfo())
+                .thenReturn("/");
+        when(response.getWriter())
+                .thenReturn(writer);
+        Mockito.doAnswer(invocation -> {
+            Consumer<List<Order>> chunkConsumer = invocation.getArgument(1);
+            chunkConsumer.accept(List.of(order));
+            when(response.isCommitted())
+                    .thenReturn(true);
+            throw new DataBaseException("cursor is broken");
+        }).when(orderService).findAll(anyInt(), any());
+
+        Assertions.assertDoesNotThrow(() -> failingServlet.doGet(request, response));
+
+        Mockito.verify(response).flushBuffer();
+        Mockito.verify(response, Mockito.never()).sendError(anyInt(), any());
+        Assertions.assertTrue(body.toString().startsWith("[{\"id\":1"));
+    }
+
     @Test
     void testDoGetFindAllByPage() throws IOException {
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
-        PrintWriter writer = mock(PrintWriter.class);
+        StringWriter body = new StringWriter();
+        PrintWriter writer = new PrintWriter(body);
 
         when(request.getPathInfo())
                 .thenReturn("/");
@@ -112,7 +147,7 @@ class OrderServletTest {
 
         orderServlet.doGet(request, response);
 
-        Mockito.verify(writer).write(anyString());
+        assertJsonArray(body.toString());
         Mockito.verify(response).setStatus(HttpServletResponse.SC_OK);
     }
 
@@ -180,7 +215,8 @@ class OrderServletTest {
     void testDoGetQueue() throws IOException {
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
-        PrintWriter writer = mock(PrintWriter.class);
+        StringWriter body = new StringWriter();
+        PrintWriter writer = new PrintWriter(body);
 
         when(request.getPathInfo())
                 .thenReturn("/queue");
@@ -189,7 +225,7 @@ class OrderServletTest {
 
         orderServlet.doGet(request, response);
 
-        Mockito.verify(writer).write(anyString());
+        assertJsonArray(body.toString());
         Mockito.verify(response).setStatus(HttpServletResponse.SC_OK);
     }
 
@@ -220,6 +256,34 @@ class OrderServletTest {
         Mockito.verify(response).setStatus(HttpServletResponse.SC_CREATED);
     }
 
+    @Test
+    void testDoPostCreateBatch() throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        StringWriter body = new StringWriter();
+
+        Barista barista = baristaRepository.create(new Barista("John Doe"));
+        String specifiedJson = String.format("""
+                [
+                    {"baristaId":%d, "coffeeIdList":[]},
+                    {"baristaId":%d, "coffeeIdList":[]}
+                ]""", barista.getId(), Long.MAX_VALUE);
+
+        when(request.getReader())
+                .thenReturn(new BufferedReader(new StringReader(specifiedJson)));
+        when(request.getPathInfo())
+                .thenReturn("/batch");
+        when(response.getWriter())
+                .thenReturn(new PrintWriter(body));
+
+        orderServlet.doPost(request, response);
+
+        Mockito.verify(response).setStatus(HttpServletResponse.SC_OK);
+        assertJsonArray(body.toString());
+        Assertions.assertTrue(body.toString().contains("\"status\":201"));
+        Assertions.assertTrue(body.toString().contains("\"status\":400"));
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"/1", "/1/1", "/name", "/1a"})
     void testDoPostBadRequest(String path) throws IOException {
@@ -405,4 +469,7 @@ class OrderServletTest {
         Mockito.verify(response).sendError(eq(HttpServletResponse.SC_NOT_FOUND), any());
     }
 
-}
\ No newline at end of file
+    private static void assertJsonArray(String json) {
+        Assertions.assertTrue(json.startsWith("[") && json.endsWith("]"), json);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.servlet;
+
+import org.example.entity.exception.NullParamException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PathRouterTest {
+
+    private enum TestRoute implements PathRouter.Route {
+        ROOT("/"),
+        QUEUE("/queue"),
+        ITEM("/{id}"),
+        ITEM_COMPLETE("/{id}/complete");
+
+        private final String template;
+
+        TestRoute(String template) {
+            this.template = template;
+        }
+
+        @Override
+        public String template() {
+            return template;
+        }
+    }
+
+    private enum WrongRoute implements PathRouter.Route {
+        WRONG("queue");
+
+        private final String template;
+
+        WrongRoute(String template) {
+            this.template = template;
+        }
+
+        @Override
+        public String template() {
+            return template;
+        }
+    }
+
+    private final PathRouter<TestRoute> router = new PathRouter<>(TestRoute.class);
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertThrows(NullParamException.class, () -> new PathRouter<TestRoute>(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PathRouter<>(WrongRoute.class));
+    }
+
+    @Test
+    void matchRootTest() {
+        Assertions.assertTrue(router.match(null).is(TestRoute.ROOT));
+        Assertions.assertTrue(router.match("").is(TestRoute.ROOT));
+        Assertions.assertTrue(router.match("/").is(TestRoute.ROOT));
+    }
+
+    @Test
+    void matchLiteralTest() {
+        Assertions.assertTrue(router.match("/queue").is(TestRoute.QUEUE));
+        Assertions.assertTrue(router.match("/queue/").is(TestRoute.QUEUE));
+    }
+
+    @Test
+    void matchIdTest() {
+        PathRouter.Match<TestRoute> match = router.match("/123");
+        Assertions.assertEquals(TestRoute.ITEM, match.route());
+        Assertions.assertEquals(123L, match.id());
+
+        match = router.match("/45/");
+        Assertions.assertEquals(TestRoute.ITEM, match.route());
+        Assertions.assertEquals(45L, match.id());
+
+        match = router.match("/7/complete/");
+        Assertions.assertEquals(TestRoute.ITEM_COMPLETE, match.route());
+        Assertions.assertEquals(7L, match.id());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"//", "/queues", "/que", "/-1", "/1a", "/1//", "/1/completed", "/1/complete/x", "queue", "/٣"})
+    void matchNothingTest(String pathInfo) {
+        PathRouter.Match<TestRoute> match = router.match(pathInfo);
+
+        Assertions.assertNull(match.route());
+        Assertions.assertFalse(match.is(TestRoute.ROOT));
+    }
+
+    @Test
+    void matchTooBigIdTest() {
+        Assertions.assertThrows(NumberFormatException.class, () -> router.match("/99999999999999999999"));
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.servlet;
+
+import com.google.gson.Gson;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.entity.exception.NullParamException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SimpleServletTest {
+    private final SimpleServlet servlet = new SimpleServlet() {
+    };
+    private final Gson mapper = new Gson();
+
+    private record Item(long id, String name) {
+    }
+
+    @Test
+    void writeJsonArrayTest() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        servlet.writeJsonArray(Stream.of(new Item(1, "first"), new Item(2, "second")), mapper, writer);
+
+        assertEquals("[{\"id\":1,\"name\":\"first\"},{\"id\":2,\"name\":\"second\"}]", writer.toString());
+    }
+
+    @Test
+    void writeJsonArrayEmptyTest() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        servlet.writeJsonArray(Stream.empty(), mapper, writer);
+
+        assertEquals("[]", writer.toString());
+    }
+
+    @Test
+    void cursorTest() {
+        String cursor = servlet.encodeCursor(42L);
+
+        assertEquals(42L, servlet.decodeCursor(cursor));
+        assertNull(servlet.decodeCursor(null));
+        assertNull(servlet.decodeCursor(""));
+        Assertions.assertThrows(NumberFormatException.class, () -> servlet.decodeCursor("bmFtZQ"));
+        Assertions.assertThrows(NumberFormatException.class, () -> servlet.decodeCursor("#"));
+    }
+
+    private static class CountingServlet extends SimpleServlet {
+        private final AtomicInteger gets = new AtomicInteger();
+
+        CountingServlet(EntityVersions versions) {
+            super(versions, EnumSet.of(EntityVersions.Table.COFFEE), EnumSet.of(EntityVersions.Table.COFFEE));
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+            gets.incrementAndGet();
+        }
+
+        @Override
+        protected void doPost(HttpServletRequest req, HttpServletResponse resp) {
+            // write
+        }
+    }
+
+    private static HttpServletRequest request(String method, String ifNoneMatch) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getMethod()).thenReturn(method);
+        when(request.getHeader("If-None-Match")).thenReturn(ifNoneMatch);
+        when(request.getDateHeader(anyString())).thenReturn(-1L);
+        return request;
+    }
+
+    @Test
+    void conditionalGetTest() throws ServletException, IOException {
+        AtomicLong clock = new AtomicLong(10_300);
+        EntityVersions versions = new EntityVersions(clock::get, () -> true);
+        CountingServlet countingServlet = new CountingServlet(versions);
+        String etag = versions.etag(EnumSet.of(EntityVersions.Table.COFFEE));
+
+        HttpServletResponse notModified = mock(HttpServletResponse.class);
+        countingServlet.service(request("GET", "W/\"other\", " + etag), notModified);
+        verify(notModified).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(notModified).setHeader("ETag", etag);
+        assertEquals(0, countingServlet.gets.get());
+
+        countingServlet.service(request("POST", null), mock(HttpServletResponse.class));
+        clock.set(12_000);
+
+        HttpServletResponse modified = mock(HttpServletResponse.class);
+        countingServlet.service(request("GET", etag), modified);
+        verify(modified, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(modified).setHeader("ETag", versions.etag(EnumSet.of(EntityVersions.Table.COFFEE)));
+        verify(modified).setDateHeader("Last-Modified", 11_000);
+        assertEquals(1, countingServlet.gets.get());
+        assertEquals(2, versions.getVersion(EntityVersions.Table.COFFEE));
+    }
+
+    @Test
+    void ifModifiedSinceTest() throws ServletException, IOException {
+        EntityVersions versions = new EntityVersions();
+        CountingServlet countingServlet = new CountingServlet(versions);
+        HttpServletRequest request = request("GET", null);
+        when(request.getDateHeader("If-Modified-Since"))
+                .thenReturn(versions.lastModified(EnumSet.of(EntityVersions.Table.COFFEE)));
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        countingServlet.service(request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        assertEquals(0, countingServlet.gets.get());
+    }
+
+    @Test
+    void ifModifiedSinceSameSecondTest() throws ServletException, IOException {
+        AtomicLong clock = new AtomicLong(10_000);
+        EntityVersions versions = new EntityVersions(clock::get, () -> true);
+        CountingServlet countingServlet = new CountingServlet(versions);
+
+        clock.set(11_300);
+        HttpServletResponse first = mock(HttpServletResponse.class);
+        countingServlet.service(request("GET", null), first);
+        verify(first).setDateHeader("Last-Modified", 11_000);
+
+        clock.set(11_700);
+        countingServlet.service(request("POST", null), mock(HttpServletResponse.class));
+
+        HttpServletRequest request = request("GET", null);
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(11_000L);
+        HttpServletResponse second = mock(HttpServletResponse.class);
+        countingServlet.service(request, second);
+
+        verify(second, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(second, never()).setDateHeader(eq("Last-Modified"), anyLong());
+        assertEquals(2, countingServlet.gets.get());
+    }
+
+    @Test
+    void notSyncedTest() throws ServletException, IOException {
+        EntityVersions versions = new EntityVersions(() -> false);
+        CountingServlet countingServlet = new CountingServlet(versions);
+        HttpServletRequest request = request("GET", versions.etag(EnumSet.of(EntityVersions.Table.COFFEE)));
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(Long.MAX_VALUE);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        countingServlet.service(request, response);
+
+        verify(response, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).setHeader(eq("ETag"), anyString());
+        verify(response, never()).setDateHeader(eq("Last-Modified"), anyLong());
+        assertEquals(1, countingServlet.gets.get());
+
+        countingServlet.service(request("POST", null), mock(HttpServletResponse.class));
+        assertEquals(2, versions.getVersion(EntityVersions.Table.COFFEE));
+    }
+
+    @Test
+    void matchesAnyTest() {
+        assertTrue(SimpleServlet.matchesAny("*", "\"a\""));
+        assertTrue(SimpleServlet.matchesAny("\"b\", W/\"a\"", "\"a\""));
+        assertFalse(SimpleServlet.matchesAny("\"b\"", "\"a\""));
+        Assertions.assertThrows(NullParamException.class, () -> new CountingServlet(null));
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.entity.exception.NullParamException;
+import org.example.service.exception.NoValidLimitException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class VirtualThreadDispatcherTest {
+
+    @Test
+    void constructorsTest() {
+        Assertions.assertThrows(NoValidLimitException.class, () -> new VirtualThreadDispatcher(0, Duration.ofSeconds(1)));
+        Assertions.assertThrows(NullParamException.class, () -> new VirtualThreadDispatcher(1, null));
+        try (VirtualThreadDispatcher dispatcher = new VirtualThreadDispatcher(1, Duration.ofSeconds(1))) {
+            Assertions.assertThrows(NullParamException.class, () -> dispatcher.wrap(null));
+        }
+    }
+
+    @Test
+    void dispatchTest() throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(request.startAsync()).thenReturn(asyncContext);
+
+        AtomicBoolean virtual = new AtomicBoolean();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                virtual.set(Thread.currentThread().isVirtual());
+            }
+        };
+
+        try (VirtualThreadDispatcher dispatcher = new VirtualThreadDispatcher(1, Duration.ofSeconds(1))) {
+            dispatcher.dispatch(servlet, request, response);
+        }
+
+        verify(asyncContext).complete();
+        Assertions.assertTrue(virtual.get());
+    }
+
+    @Test
+    void dispatchBusyTest() throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse busyResponse = mock(HttpServletResponse.class);
+        AsyncContext asyncContext = mock(AsyncContext.class);
+        when(request.startAsync()).thenReturn(asyncContext);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServlet blockingServlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        try (VirtualThreadDispatcher dispatcher = new VirtualThreadDispatcher(1, Duration.ofMillis(10))) {
+            dispatcher.dispatch(blockingServlet, request, mock(HttpServletResponse.class));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            dispatcher.dispatch(blockingServlet, request, busyResponse);
+            verify(busyResponse, timeout(5000)).sendError(eq(HttpServletResponse.SC_SERVICE_UNAVAILABLE), anyString());
+            release.countDown();
+        }
+
+        verify(asyncContext, times(2)).complete();
+    }
+}
@@ -26,4 +26,10 @@ CREATE TABLE IF NOT EXISTS order_coffee(
 	coffee_id bigserial not null references coffee("id")
 );
 
-CREATE UNIQUE INDEX unique_order_coffee ON order_coffee (order_id, coffee_id)
\ No newline at end of file
+CREATE UNIQUE INDEX unique_order_coffee ON order_coffee (order_id, coffee_id);
+
+CREATE INDEX order_queue_idx ON "order" (created) WHERE completed IS NULL;
+
+CREATE INDEX order_barista_idx ON "order" (barista);
+
+CREATE INDEX order_coffee_coffee_idx ON order_coffee (coffee_id);